@@ -0,0 +1,63 @@
+#!/usr/bin/env python3
+"""Compare a JMH JSON result file against the stored baseline.
+
+Usage: python3 compare.py [baseline.json] results.json [--threshold PERCENT]
+
+A benchmark counts as a regression when its score is worse than the baseline by more
+than the threshold (default 10%) and the difference is larger than both error margins.
+Exits with status 1 if any benchmark regressed.
+"""
+import argparse
+import json
+import os
+import sys
+
+DEFAULT_BASELINE = os.path.join(os.path.dirname(os.path.abspath(__file__)), "baseline", "baseline.json")
+
+
+def load(path):
+    with open(path) as f:
+        results = {}
+        for run in json.load(f):
+            params = ",".join(f"{k}={v}" for k, v in sorted(run.get("params", {}).items()))
+            key = run["benchmark"].replace("com.resonate.", "") + (f"({params})" if params else "")
+            metric = run["primaryMetric"]
+            results[key] = (run["mode"], metric["score"], metric.get("scoreError") or 0.0, metric["scoreUnit"])
+        return results
+
+
+def main():
+    parser = argparse.ArgumentParser(description=__doc__, formatter_class=argparse.RawDescriptionHelpFormatter)
+    parser.add_argument("files", nargs="+", help="[baseline.json] results.json")
+    parser.add_argument("--threshold", type=float, default=10.0, help="allowed slowdown in percent")
+    args = parser.parse_args()
+
+    baseline_path, results_path = (DEFAULT_BASELINE, args.files[0]) if len(args.files) == 1 else args.files[:2]
+    baseline, results = load(baseline_path), load(results_path)
+
+    regressions = 0
+    print(f"{'benchmark':<90} {'baseline':>14} {'current':>14} {'change':>9}")
+    for key, (mode, score, error, unit) in sorted(results.items()):
+        if key not in baseline:
+            print(f"{key:<90} {'-':>14} {score:>11.3f} {unit:<3} {'new':>8}")
+            continue
+        _, base_score, base_error, _ = baseline[key]
+        # Throughput modes: higher is better. Time modes: lower is better.
+        higher_is_better = mode in ("thrpt",)
+        change = (score - base_score) / base_score * 100
+        worse = -change if higher_is_better else change
+        significant = abs(score - base_score) > max(error, base_error)
+        flag = ""
+        if worse > args.threshold and significant:
+            flag = "  REGRESSION"
+            regressions += 1
+        print(f"{key:<90} {base_score:>14.3f} {score:>14.3f} {change:>+8.1f}%{flag}")
+
+    if regressions:
+        print(f"\n{regressions} benchmark(s) regressed by more than {args.threshold}%")
+        return 1
+    return 0
+
+
+if __name__ == "__main__":
+    sys.exit(main())
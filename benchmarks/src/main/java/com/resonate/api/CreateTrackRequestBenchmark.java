@@ -0,0 +1,38 @@
+package com.resonate.api;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.resonate.api.dto.CreateTrackRequest;
+import com.resonate.benchmark.BenchmarkObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deserialization cost of the request body accepted by POST /api/tracks.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CreateTrackRequestBenchmark {
+
+    private static final byte[] BODY = """
+            {"title":"Track 1","duration":241,"isrc":"USRC12400001",\
+            "filePath":"releases/1/track-1.flac","fileSize":35000000,"audioFileId":42}"""
+            .getBytes(StandardCharsets.UTF_8);
+
+    private ObjectReader reader;
+
+    @Setup
+    public void setUp() {
+        reader = BenchmarkObjectMapper.create().readerFor(CreateTrackRequest.class);
+    }
+
+    @Benchmark
+    public CreateTrackRequest deserialize() throws Exception {
+        return reader.readValue(BODY);
+    }
+}
@@ -0,0 +1,109 @@
+package com.resonate.api;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.resonate.api.dto.CursorPage;
+import com.resonate.api.dto.PageCursor;
+import com.resonate.api.dto.ReleaseSummary;
+import com.resonate.api.dto.TrackSummary;
+import com.resonate.benchmark.BenchmarkObjectMapper;
+import com.resonate.domain.media.AudioFile;
+import com.resonate.domain.model.Release;
+import com.resonate.domain.model.Track;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization cost of one page of the public release listing: the entity graph
+ * (releases with eager tracks and their audio files) against the DTO projection served today.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReleasePageSerializationBenchmark {
+
+    @Param({"20", "100"})
+    int pageSize;
+
+    @Param({"12"})
+    int tracksPerRelease;
+
+    private ObjectWriter writer;
+    private List<Release> releases;
+    private CursorPage<ReleaseSummary> summaries;
+
+    @Setup
+    public void setUp() {
+        writer = BenchmarkObjectMapper.create().writer();
+
+        OffsetDateTime createdAt = OffsetDateTime.of(2024, 5, 1, 12, 0, 0, 0, ZoneOffset.UTC);
+        UUID artistId = UUID.fromString("8f2a6c1e-3b4d-4e5f-9a0b-1c2d3e4f5a6b");
+        releases = new ArrayList<>();
+        List<ReleaseSummary> items = new ArrayList<>();
+        long trackId = 1;
+        for (long r = 1; r <= pageSize; r++) {
+            Release release = Release.builder()
+                    .id(r)
+                    .artistId(artistId)
+                    .title("Release " + r)
+                    .releaseDate(LocalDate.of(2024, 1, 1).plusDays(r))
+                    .upc("0000000000" + r)
+                    .createdAt(createdAt)
+                    .build();
+            ReleaseSummary summary = new ReleaseSummary(release.getId(), artistId, release.getTitle(),
+                    release.getReleaseDate(), release.getUpc(), createdAt);
+
+            for (int t = 1; t <= tracksPerRelease; t++, trackId++) {
+                AudioFile audioFile = AudioFile.builder()
+                        .id(trackId)
+                        .fileIdentifier(UUID.randomUUID() + "-track-" + t + ".flac")
+                        .fileUrl("https://s3.eu-central-003.backblazeb2.com/resonate/track-" + trackId
+                                + ".flac?X-Amz-Algorithm=AWS4-HMAC-SHA256&X-Amz-Signature=" + "a".repeat(64))
+                        .fileSize(35_000_000L)
+                        .checksum("sha256-" + "b".repeat(64))
+                        .createdAt(createdAt)
+                        .build();
+                Track track = Track.builder()
+                        .id(trackId)
+                        .release(release)
+                        .title("Track " + t)
+                        .duration(240)
+                        .isrc("USRC1240000" + t)
+                        .filePath("releases/" + r + "/track-" + t + ".flac")
+                        .fileSize(35_000_000L)
+                        .audioFile(audioFile)
+                        .createdAt(createdAt)
+                        .build();
+                release.getTracks().add(track);
+                summary.getTracks().add(new TrackSummary(r, trackId, track.getTitle(), track.getDuration(),
+                        track.getIsrc(), track.getFilePath(), track.getFileSize(), audioFile.getId(), createdAt, t));
+            }
+            releases.add(release);
+            items.add(summary);
+        }
+
+        summaries = new CursorPage<>();
+        summaries.setItems(items);
+        Release last = releases.get(releases.size() - 1);
+        summaries.setNextCursor(new PageCursor(last.getReleaseDate(), last.getId()).encode());
+    }
+
+    @Benchmark
+    public byte[] entityGraph() throws Exception {
+        return writer.writeValueAsBytes(releases);
+    }
+
+    @Benchmark
+    public byte[] summaryProjection() throws Exception {
+        return writer.writeValueAsBytes(summaries);
+    }
+}
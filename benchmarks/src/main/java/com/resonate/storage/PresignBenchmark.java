@@ -0,0 +1,73 @@
+package com.resonate.storage;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of BackblazeStorageService.generateDownloadUrl with and without the presigned URL cache.
+ * Presigning is local (HMAC signing), so no network or credentials are needed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PresignBenchmark {
+
+    private static final int DISTINCT_KEYS = 1024;
+
+    private BackblazeStorageService cached;
+    private BackblazeStorageService uncached;
+    private String[] keys;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        cached = storageService(true);
+        uncached = storageService(false);
+        keys = new String[DISTINCT_KEYS];
+        for (int i = 0; i < DISTINCT_KEYS; i++) {
+            keys[i] = "3f0c9a2e-5d1b-4c7a-8e6f-" + String.format("%012d", i) + "-master.flac";
+        }
+    }
+
+    @Benchmark
+    public String generateDownloadUrlCached() {
+        return cached.generateDownloadUrl(nextKey());
+    }
+
+    @Benchmark
+    public String generateDownloadUrlUncached() {
+        return uncached.generateDownloadUrl(nextKey());
+    }
+
+    @Benchmark
+    public String presignUploadPart() {
+        return uncached.presignUploadPart(nextKey(), "upload-id", 1);
+    }
+
+    private String nextKey() {
+        next = (next + 1) & (DISTINCT_KEYS - 1);
+        return keys[next];
+    }
+
+    private static BackblazeStorageService storageService(boolean cacheEnabled) {
+        BackblazeStorageService service = new BackblazeStorageService();
+        service.keyId = "0031234567890000000000001";
+        service.applicationKey = "K003benchmarkApplicationKey00000000";
+        service.bucketName = "resonate-benchmark";
+        service.endpoint = "https://s3.eu-central-003.backblazeb2.com";
+        service.downloadSignatureDuration = Duration.ofMinutes(60);
+        service.downloadCacheTtl = Duration.ofMinutes(45);
+        service.downloadCacheMaxSize = 10_000;
+        service.downloadCacheEnabled = cacheEnabled;
+        service.partUrlDuration = Duration.ofMinutes(60);
+        service.registry = new SimpleMeterRegistry();
+        service.initClients();
+        return service;
+    }
+}
@@ -0,0 +1,86 @@
+import { check, fail } from 'k6';
+import { ARTIST_ID, BASE_URL, call, randomBytes, storageCall } from './common.js';
+
+const UPLOAD_ENDPOINTS = { url: 'upload_url', put: 'storage_put', register: 'register_audio' };
+// Seeding requests are kept out of the per-endpoint numbers
+const SEED_ENDPOINTS = { url: 'seed', put: 'seed', register: 'seed' };
+
+/**
+ * Creates the catalogue the scenarios run against: one artist, a few audio files stored in
+ * MinIO, and releases with tracks linked to those files. Runs once, in k6's setup().
+ */
+export function seed({ releases, tracksPerRelease, audioFiles }) {
+    const profile = call('GET', `${BASE_URL}/api/artist-profiles/${ARTIST_ID}`, null, 'seed');
+    if (profile.status === 404) {
+        const res = call('POST', `${BASE_URL}/api/auth/register`, {
+            email: 'loadtest-artist@example.com',
+            password: 'loadtest-password',
+            userType: 'artist',
+            bio: 'Load-test artist',
+        }, 'seed', { auth: false });
+        if (!check(res, { 'artist registered': (r) => r.status === 201 })) {
+            fail(`artist registration failed: ${res.status} ${res.body}`);
+        }
+    }
+
+    const audioFileIds = [];
+    for (let i = 0; i < audioFiles; i++) {
+        audioFileIds.push(uploadAudioFile(`seed-${i}.mp3`, 512 * 1024, SEED_ENDPOINTS));
+    }
+
+    const releaseIds = [];
+    for (let r = 0; r < releases; r++) {
+        const release = call('POST', `${BASE_URL}/api/releases`, {
+            artistId: ARTIST_ID,
+            title: `Load test release ${r}`,
+            releaseDate: new Date(Date.UTC(2024, 0, 1 + r)).toISOString().slice(0, 10),
+            upc: `LT${String(r).padStart(10, '0')}`,
+        }, 'seed');
+        if (release.status !== 201) {
+            fail(`release creation failed: ${release.status} ${release.body}`);
+        }
+        const releaseId = release.json('id');
+        releaseIds.push(releaseId);
+
+        for (let t = 0; t < tracksPerRelease; t++) {
+            const track = call('POST', `${BASE_URL}/api/tracks?releaseId=${releaseId}`, {
+                title: `Track ${t + 1}`,
+                duration: 180 + t,
+                isrc: `LT${String(r).padStart(5, '0')}${String(t).padStart(5, '0')}`,
+                filePath: `releases/${releaseId}/track-${t + 1}.mp3`,
+                fileSize: 512 * 1024,
+                audioFileId: audioFileIds[(r * tracksPerRelease + t) % audioFileIds.length],
+            }, 'seed');
+            if (track.status !== 201) {
+                fail(`track creation failed: ${track.status} ${track.body}`);
+            }
+        }
+    }
+
+    return { releaseIds, audioFileIds };
+}
+
+/**
+ * Same steps a client takes: ask for a presigned URL, PUT the bytes to storage, register the file.
+ */
+export function uploadAudioFile(fileName, size, endpoints = UPLOAD_ENDPOINTS) {
+    const target = call('GET', `${BASE_URL}/api/audio-files/upload?fileName=${fileName}&contentType=audio/mpeg`,
+        null, endpoints.url);
+    if (target.status !== 200) {
+        fail(`upload URL failed: ${target.status} ${target.body}`);
+    }
+
+    const put = storageCall('PUT', target.json('uploadUrl'), randomBytes(size),
+        endpoints.put, { 'Content-Type': 'audio/mpeg' });
+    check(put, { 'object stored': (r) => r.status === 200 });
+
+    const registered = call('POST', `${BASE_URL}/api/audio-files/register`, {
+        fileKey: target.json('fileKey'),
+        fileSize: size,
+        checksum: `lt-${fileName}`,
+    }, endpoints.register);
+    if (registered.status !== 201) {
+        fail(`audio file registration failed: ${registered.status} ${registered.body}`);
+    }
+    return registered.json('id');
+}
@@ -0,0 +1,22 @@
+import { check } from 'k6';
+import { BASE_URL, call, pick } from '../lib/common.js';
+
+// A listener paging through the public catalogue and opening a release
+export function browse(data) {
+    let cursor = '';
+    for (let page = 0; page < 3; page++) {
+        const res = call('GET', `${BASE_URL}/api/releases/public?size=20${cursor ? `&cursor=${cursor}` : ''}`,
+            null, 'browse_releases');
+        check(res, { 'release page': (r) => r.status === 200 });
+        cursor = res.status === 200 ? res.json('nextCursor') : null;
+        if (!cursor) {
+            break;
+        }
+    }
+
+    const releaseId = pick(data.releaseIds);
+    check(call('GET', `${BASE_URL}/api/releases/public/${releaseId}`, null, 'release_details'),
+        { 'release details': (r) => r.status === 200 });
+    check(call('GET', `${BASE_URL}/api/releases/${releaseId}/tracks?size=50`, null, 'release_tracks'),
+        { 'release tracks': (r) => r.status === 200 });
+}
@@ -0,0 +1,11 @@
+import { check } from 'k6';
+import { BASE_URL, call } from '../lib/common.js';
+
+// Password login; every request goes through the (delayed) Supabase stand-in
+export function login() {
+    const res = call('POST', `${BASE_URL}/api/auth/login`, {
+        email: `listener-${__VU}@example.com`,
+        password: 'loadtest-password',
+    }, 'login', { auth: false });
+    check(res, { 'logged in': (r) => r.status === 200 });
+}
@@ -0,0 +1,20 @@
+import { check } from 'k6';
+import { BASE_URL, call, pick, storageCall } from '../lib/common.js';
+
+// A listener queueing a release and starting playback of its first track
+export function play(data) {
+    const batch = call('POST', `${BASE_URL}/api/audio-files/stream`, { releaseId: pick(data.releaseIds) }, 'stream_batch');
+    if (!check(batch, { 'streaming URLs': (r) => r.status === 200 })) {
+        return;
+    }
+
+    const urls = batch.json('streamingUrls');
+    if (urls.length > 0) {
+        // The first buffer a player requests
+        const chunk = storageCall('GET', urls[0].streamingUrl, null, 'storage_range_get', { Range: 'bytes=0-262143' });
+        check(chunk, { 'audio bytes': (r) => r.status === 206 || r.status === 200 });
+    }
+
+    check(call('GET', `${BASE_URL}/api/audio-files/${pick(data.audioFileIds)}/stream`, null, 'stream_single'),
+        { 'streaming URL': (r) => r.status === 200 });
+}
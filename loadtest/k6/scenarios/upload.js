@@ -0,0 +1,6 @@
+import { uploadAudioFile } from '../lib/seed.js';
+
+// An artist uploading a track through a presigned URL
+export function upload() {
+    uploadAudioFile(`upload-${__VU}-${__ITER}.mp3`, 256 * 1024);
+}
@@ -0,0 +1,135 @@
+import { textSummary } from 'https://jslib.k6.io/k6-summary/0.0.4/index.js';
+import { seed } from './lib/seed.js';
+
+export { browse } from './scenarios/browse.js';
+export { play } from './scenarios/play.js';
+export { upload } from './scenarios/upload.js';
+export { login } from './scenarios/login.js';
+
+const DURATION = __ENV.DURATION || '2m';
+const RATE = Number(__ENV.RATE_MULTIPLIER || 1);
+
+const ALL_SCENARIOS = {
+    browse: {
+        executor: 'constant-arrival-rate',
+        exec: 'browse',
+        rate: Math.round(40 * RATE),
+        timeUnit: '1s',
+        duration: DURATION,
+        preAllocatedVUs: 50,
+        maxVUs: 200,
+    },
+    play: {
+        executor: 'constant-arrival-rate',
+        exec: 'play',
+        rate: Math.round(30 * RATE),
+        timeUnit: '1s',
+        duration: DURATION,
+        preAllocatedVUs: 40,
+        maxVUs: 200,
+    },
+    upload: {
+        executor: 'constant-arrival-rate',
+        exec: 'upload',
+        rate: Math.max(1, Math.round(2 * RATE)),
+        timeUnit: '1s',
+        duration: DURATION,
+        preAllocatedVUs: 5,
+        maxVUs: 20,
+    },
+    // Login spike: Supabase answers in ~150 ms, so at the peak about 30 auth calls are in flight at
+    // once, more than the 16 worker threads docker-compose.yml gives the app. Browse and play
+    // latencies must hold while this runs, which they only can if no worker waits on Supabase.
+    login: {
+        executor: 'ramping-arrival-rate',
+        exec: 'login',
+        startRate: Math.round(5 * RATE),
+        timeUnit: '1s',
+        stages: [
+            { target: Math.round(200 * RATE), duration: '30s' },
+            { target: Math.round(200 * RATE), duration: '1m' },
+            { target: Math.round(5 * RATE), duration: '30s' },
+        ],
+        preAllocatedVUs: 50,
+        maxVUs: 500,
+    },
+};
+
+// Latency budgets in milliseconds: [p50, p99]
+const ENDPOINTS = {
+    browse_releases: [50, 300],
+    release_details: [30, 200],
+    release_tracks: [30, 200],
+    stream_batch: [50, 300],
+    stream_single: [20, 150],
+    storage_range_get: [50, 500],
+    upload_url: [20, 150],
+    storage_put: [200, 2000],
+    register_audio: [50, 300],
+    login: [250, 800],
+};
+
+const selected = (__ENV.SCENARIOS || Object.keys(ALL_SCENARIOS).join(','))
+    .split(',').map((s) => s.trim()).filter((s) => s in ALL_SCENARIOS);
+
+function thresholds() {
+    const result = {};
+    for (const [endpoint, [p50, p99]] of Object.entries(ENDPOINTS)) {
+        result[`http_req_duration{endpoint:${endpoint}}`] = [`p(50)<${p50}`, `p(99)<${p99}`];
+        result[`http_req_failed{endpoint:${endpoint}}`] = ['rate<0.01'];
+        // Not a budget; declaring it makes k6 report the per-endpoint request count and rate
+        result[`http_reqs{endpoint:${endpoint}}`] = ['count>=0'];
+    }
+    return result;
+}
+
+export const options = {
+    scenarios: Object.fromEntries(selected.map((name) => [name, ALL_SCENARIOS[name]])),
+    thresholds: thresholds(),
+    summaryTrendStats: ['med', 'p(99)', 'avg', 'max'],
+    setupTimeout: '5m',
+};
+
+export function setup() {
+    return seed({
+        releases: Number(__ENV.SEED_RELEASES || 60),
+        tracksPerRelease: Number(__ENV.SEED_TRACKS_PER_RELEASE || 10),
+        audioFiles: Number(__ENV.SEED_AUDIO_FILES || 5),
+    });
+}
+
+export function handleSummary(data) {
+    const seconds = data.state.testRunDurationMs / 1000;
+    const rows = [];
+    for (const endpoint of Object.keys(ENDPOINTS)) {
+        const duration = data.metrics[`http_req_duration{endpoint:${endpoint}}`];
+        const reqs = data.metrics[`http_reqs{endpoint:${endpoint}}`];
+        const failed = data.metrics[`http_req_failed{endpoint:${endpoint}}`];
+        if (!duration || !reqs || reqs.values.count === 0) {
+            continue;
+        }
+        rows.push({
+            endpoint,
+            requests: reqs.values.count,
+            throughput: reqs.values.count / seconds,
+            p50: duration.values.med,
+            p99: duration.values['p(99)'],
+            errorRate: failed ? failed.values.rate : 0,
+            passed: Object.values(duration.thresholds || {}).every((t) => t.ok),
+        });
+    }
+
+    const header = `${'endpoint'.padEnd(20)}${'requests'.padStart(10)}${'req/s'.padStart(10)}`
+        + `${'p50 ms'.padStart(10)}${'p99 ms'.padStart(10)}${'errors'.padStart(9)}  budget`;
+    const table = [header, ...rows.map((r) => `${r.endpoint.padEnd(20)}${String(r.requests).padStart(10)}`
+        + `${r.throughput.toFixed(1).padStart(10)}${r.p50.toFixed(1).padStart(10)}${r.p99.toFixed(1).padStart(10)}`
+        + `${(r.errorRate * 100).toFixed(2).padStart(8)}%  ${r.passed ? 'ok' : 'EXCEEDED'}`)].join('\n');
+
+    const dir = __ENV.RESULTS_DIR || 'results';
+    const name = __ENV.RESULTS_NAME || 'summary';
+    return {
+        stdout: `${textSummary(data, { indent: ' ', enableColors: true })}\n\nPer-endpoint results\n${table}\n`,
+        [`${dir}/${name}.json`]: JSON.stringify({ durationSeconds: seconds, endpoints: rows }, null, 2),
+        [`${dir}/${name}.txt`]: `${table}\n`,
+    };
+}
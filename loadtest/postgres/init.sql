@@ -0,0 +1,11 @@
+-- Supabase provides the auth schema and auth.uid() used by the RLS policies in V1.1.0.
+-- A plain PostgreSQL needs them created before the application's migrations run.
+CREATE SCHEMA IF NOT EXISTS auth;
+
+CREATE OR REPLACE FUNCTION auth.uid()
+RETURNS uuid
+LANGUAGE sql
+STABLE
+AS $$
+  SELECT (current_setting('request.jwt.claims', true)::json->>'sub')::uuid;
+$$;
@@ -1,10 +1,12 @@
 package com.resonate.api;
 
+import com.resonate.auth.UserProfileChanged;
 import com.resonate.domain.model.ArtistProfile;
 import com.resonate.infrastructure.repository.ArtistProfileRepository;
 import org.eclipse.microprofile.openapi.annotations.Operation;
 import org.eclipse.microprofile.openapi.annotations.tags.Tag;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
+import jakarta.enterprise.event.Event;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
 import jakarta.ws.rs.*;
@@ -21,12 +23,16 @@ public class ArtistProfileResource {
     @Inject
     ArtistProfileRepository artistProfileRepository;
 
+    @Inject
+    Event<UserProfileChanged> userProfileChanged;
+
     @POST
     @Operation(summary = "Create a new artist profile")
     @APIResponse(responseCode = "200", description = "Artist profile created successfully")
     @Transactional
     public Response createArtistProfile(ArtistProfile artistProfile) {
         artistProfileRepository.persist(artistProfile);
+        userProfileChanged.fire(new UserProfileChanged(artistProfile.getUserId()));
         return Response.ok(artistProfile).build();
     }
 
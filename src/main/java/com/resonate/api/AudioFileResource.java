@@ -1,29 +1,100 @@
 package com.resonate.api;
 
+import com.resonate.api.dto.BatchStreamingUrlRequest;
+import com.resonate.api.dto.MultipartUploadStatus;
+import com.resonate.domain.media.AudioAnalysis;
 import com.resonate.domain.media.AudioFile;
+import com.resonate.domain.media.AudioQuality;
+import com.resonate.domain.media.AudioRendition;
+import com.resonate.domain.media.MultipartUpload;
+import com.resonate.domain.media.MultipartUploadPart;
+import com.resonate.infrastructure.repository.AudioAnalysisRepository;
 import com.resonate.infrastructure.repository.AudioFileRepository;
+import com.resonate.infrastructure.repository.AudioRenditionRepository;
+import com.resonate.infrastructure.repository.MultipartUploadPartRepository;
+import com.resonate.infrastructure.repository.MultipartUploadRepository;
+import com.resonate.infrastructure.repository.ReleaseRepository;
+import com.resonate.media.AudioFileDeleted;
+import com.resonate.media.DuplicateUploadDiscarded;
+import com.resonate.media.HlsPackager;
+import com.resonate.media.HlsPackagingService;
+import com.resonate.media.HlsPlaylist;
+import com.resonate.media.MediaJobQueue;
+import com.resonate.storage.AudioStreamingService;
 import com.resonate.storage.BackblazeStorageService;
+import com.resonate.storage.ByteRange;
+import io.quarkus.narayana.jta.QuarkusTransaction;
 import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.jboss.logging.Logger;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
+import jakarta.enterprise.event.Event;
 import jakarta.inject.Inject;
+import jakarta.persistence.LockModeType;
 import jakarta.transaction.Transactional;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
 
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 @Path("/api/audio-files")
 @Produces(MediaType.APPLICATION_JSON)
 @Consumes(MediaType.APPLICATION_JSON)
 public class AudioFileResource {
 
+    private static final Logger LOG = Logger.getLogger(AudioFileResource.class);
+
+    static final int MAX_BATCH_SIZE = 200;
+    static final int MAX_PART_URLS = 1000;
+    static final String ORIGINAL_QUALITY = "original";
+    static final String CHECKSUM_PREFIX = "sha256:";
+    private static final Pattern SHA256_HEX = Pattern.compile("[0-9a-f]{64}");
+
     @Inject
     BackblazeStorageService storageService;
 
+    @Inject
+    AudioStreamingService streamingService;
+
+    @Inject
+    MediaJobQueue mediaJobQueue;
+
+    @Inject
+    Event<AudioFileDeleted> audioFileDeleted;
+
+    @Inject
+    Event<DuplicateUploadDiscarded> duplicateUploadDiscarded;
+
     @Inject
     AudioFileRepository audioFileRepository;
 
+    @Inject
+    AudioRenditionRepository renditionRepository;
+
+    @Inject
+    AudioAnalysisRepository analysisRepository;
+
+    @Inject
+    MultipartUploadRepository multipartUploadRepository;
+
+    @Inject
+    MultipartUploadPartRepository multipartUploadPartRepository;
+
+    @Inject
+    ReleaseRepository releaseRepository;
+
     @GET
     @Path("/upload")
     @Operation(summary = "Generate a signed URL for file upload")
@@ -34,41 +105,759 @@ public class AudioFileResource {
         return Response.ok(uploadInfo).build();
     }
 
+    @GET
+    @Path("/lookup")
+    @Operation(summary = "Find an audio file by checksum",
+            description = "Lets clients skip uploading content that is already stored: a match can be linked to tracks directly")
+    @APIResponse(responseCode = "200", description = "An audio file with this checksum exists")
+    @APIResponse(responseCode = "400", description = "Checksum missing or not a SHA-256 digest")
+    @APIResponse(responseCode = "404", description = "No audio file with this checksum")
+    public Response lookupByChecksum(@QueryParam("checksum") String checksum) {
+        String contentAddress;
+        try {
+            contentAddress = normalizeChecksum(checksum);
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(Map.of("message", e.getMessage())).build();
+        }
+        if (contentAddress == null) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(Map.of("message", "checksum is required")).build();
+        }
+        AudioFile audioFile = audioFileRepository.findByChecksum(contentAddress);
+        if (audioFile == null) {
+            return Response.status(Response.Status.NOT_FOUND)
+                    .entity("Audio file not found").build();
+        }
+        return Response.ok(audioFile).build();
+    }
+
     @POST
     @Path("/register")
-    @Transactional
-    @Operation(summary = "Register an uploaded audio file")
+    @Operation(summary = "Register an uploaded audio file",
+            description = "A SHA-256 checksum is checked against the uploaded content. When an audio file with the same "
+                    + "content already exists it is returned instead and the new upload is discarded")
     @APIResponse(responseCode = "201", description = "Audio file registration successful")
+    @APIResponse(responseCode = "200", description = "Content already stored, existing audio file returned")
+    @APIResponse(responseCode = "400", description = "Checksum is not a SHA-256 digest or does not match the upload")
     public Response registerAudioFile(AudioFileRegistration registration) {
-        String streamingUrl = storageService.generateDownloadUrl(registration.fileKey);
+        String checksum;
+        try {
+            checksum = verifiedChecksum(registration.fileKey, registration.checksum);
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(Map.of("message", e.getMessage())).build();
+        }
 
-        AudioFile audioFile = AudioFile.builder()
-                .fileIdentifier(registration.fileKey)
-                .fileUrl(streamingUrl)
-                .fileSize(registration.fileSize)
-                .checksum(registration.checksum)
-                .build();
+        // The upload is hashed first so no transaction stays open while it is read
+        return QuarkusTransaction.requiringNew().call(() -> {
+            AudioFile existing = findExisting(checksum);
+            if (existing != null) {
+                discardDuplicate(registration.fileKey, existing);
+                return Response.ok(existing).build();
+            }
+
+            String streamingUrl = storageService.generateDownloadUrl(registration.fileKey);
 
-        audioFileRepository.persist(audioFile);
+            AudioFile audioFile = AudioFile.builder()
+                    .fileIdentifier(registration.fileKey)
+                    .fileUrl(streamingUrl)
+                    .fileSize(registration.fileSize)
+                    .checksum(checksum)
+                    .build();
 
-        return Response.status(Response.Status.CREATED).entity(audioFile).build();
+            audioFileRepository.persist(audioFile);
+            mediaJobQueue.enqueue(audioFile);
+
+            return Response.status(Response.Status.CREATED).entity(audioFile).build();
+        });
     }
 
     @GET
     @Path("/{id}/stream")
-    @Operation(summary = "Get streaming URL")
+    @Operation(summary = "Get streaming URL",
+            description = "Streams the original upload, or a lower-bitrate rendition (low, medium, high) when one has been produced")
     @APIResponse(responseCode = "200", description = "Streaming URL generated successfully")
+    @APIResponse(responseCode = "400", description = "Unknown quality")
     @APIResponse(responseCode = "404", description = "Audio file not found")
-    public Response getStreamingUrl(@PathParam("id") Long id) {
+    public Response getStreamingUrl(@PathParam("id") Long id, @QueryParam("quality") String quality) {
+        AudioQuality requestedQuality;
+        try {
+            requestedQuality = parseQuality(quality);
+        } catch (IllegalArgumentException e) {
+            return unknownQuality(quality);
+        }
+        AudioFile audioFile = audioFileRepository.findById(id);
+        if (audioFile == null) {
+            return Response.status(Response.Status.NOT_FOUND)
+                    .entity("Audio file not found").build();
+        }
+
+        // Falls back to the original until the rendition has been transcoded
+        AudioRendition rendition = requestedQuality != null
+                ? renditionRepository.findByAudioFile(id, requestedQuality) : null;
+        String streamingUrl = streamingService.isEnabled()
+                ? proxyUrl(audioFile.getId(), rendition)
+                : storageService.generateDownloadUrl(fileKey(audioFile, rendition));
+
+        return Response.ok(Map.of("streamingUrl", streamingUrl, "quality", qualityName(rendition))).build();
+    }
+
+    @GET
+    @Path("/{id}/content")
+    @Produces(MediaType.WILDCARD)
+    @Operation(summary = "Stream audio through the API",
+            description = "Proxy streaming mode: serves the file, or the byte range given in the Range header, from the local chunk cache")
+    @APIResponse(responseCode = "200", description = "Whole file")
+    @APIResponse(responseCode = "206", description = "Requested byte range")
+    @APIResponse(responseCode = "404", description = "Audio file not found or proxy streaming disabled")
+    @APIResponse(responseCode = "416", description = "Range not satisfiable")
+    public Response getContent(@PathParam("id") Long id, @HeaderParam("Range") String rangeHeader,
+                               @QueryParam("quality") String quality) {
+        if (!streamingService.isEnabled()) {
+            return Response.status(Response.Status.NOT_FOUND)
+                    .entity("Proxy streaming is disabled").build();
+        }
+        AudioQuality requestedQuality;
+        try {
+            requestedQuality = parseQuality(quality);
+        } catch (IllegalArgumentException e) {
+            return unknownQuality(quality);
+        }
+        AudioFile audioFile = audioFileRepository.findById(id);
+        if (audioFile == null) {
+            return Response.status(Response.Status.NOT_FOUND)
+                    .entity("Audio file not found").build();
+        }
+
+        AudioRendition rendition = requestedQuality != null
+                ? renditionRepository.findByAudioFile(id, requestedQuality) : null;
+        String fileKey = fileKey(audioFile, rendition);
+        long length = streamingService.objectLength(fileKey);
+        ByteRange requested;
+        try {
+            requested = ByteRange.parse(rangeHeader, length);
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.REQUESTED_RANGE_NOT_SATISFIABLE)
+                    .header("Content-Range", "bytes */" + length).build();
+        }
+
+        ByteRange range = requested != null ? requested : new ByteRange(0, length - 1);
+        StreamingOutput body = output -> streamingService.write(fileKey, range, length, output);
+        Response.ResponseBuilder response = Response.status(requested != null ? Response.Status.PARTIAL_CONTENT : Response.Status.OK)
+                .entity(body)
+                .type(contentType(fileKey))
+                .header("Accept-Ranges", "bytes")
+                .header(HttpHeaders.CONTENT_LENGTH, range.length());
+        if (requested != null) {
+            response.header("Content-Range", range.contentRange(length));
+        }
+        return response.build();
+    }
+
+    @GET
+    @Path("/{id}/hls")
+    @Operation(summary = "Get the HLS manifest URL",
+            description = "Returns the URL of the segmented (HLS) rendition once packaging has finished")
+    @APIResponse(responseCode = "200", description = "Manifest URL returned")
+    @APIResponse(responseCode = "202", description = "Packaging has not finished yet")
+    @APIResponse(responseCode = "404", description = "Audio file not found or not queued for packaging")
+    @APIResponse(responseCode = "409", description = "Packaging failed")
+    public Response getHlsManifestUrl(@PathParam("id") Long id) {
         AudioFile audioFile = audioFileRepository.findById(id);
         if (audioFile == null) {
             return Response.status(Response.Status.NOT_FOUND)
                     .entity("Audio file not found").build();
         }
+        if (audioFile.getHlsStatus() == null) {
+            return Response.status(Response.Status.NOT_FOUND)
+                    .entity("Audio file has no HLS rendition").build();
+        }
+
+        return switch (audioFile.getHlsStatus()) {
+            case READY -> Response.ok(Map.of(
+                    "status", audioFile.getHlsStatus(),
+                    "manifestUrl", "/api/audio-files/" + id + "/hls/" + HlsPackager.PLAYLIST_NAME)).build();
+            case FAILED -> Response.status(Response.Status.CONFLICT)
+                    .entity(Map.of("status", audioFile.getHlsStatus(), "message", "HLS packaging failed")).build();
+            default -> Response.status(Response.Status.ACCEPTED)
+                    .entity(Map.of("status", audioFile.getHlsStatus())).build();
+        };
+    }
+
+    @GET
+    @Path("/{id}/hls/" + HlsPackager.PLAYLIST_NAME)
+    @Produces(HlsPlaylist.CONTENT_TYPE)
+    @Operation(summary = "Get the HLS playlist",
+            description = "Media playlist of the packaged file with signed segment URLs")
+    @APIResponse(responseCode = "200", description = "Playlist returned")
+    @APIResponse(responseCode = "404", description = "Audio file not found or not packaged yet")
+    public Response getHlsPlaylist(@PathParam("id") Long id) {
+        AudioFile audioFile = audioFileRepository.findById(id);
+        if (audioFile == null || audioFile.getHlsStatus() != AudioFile.HlsStatus.READY) {
+            return Response.status(Response.Status.NOT_FOUND)
+                    .entity("HLS playlist not found").build();
+        }
+
+        String prefix = HlsPackagingService.keyPrefix(audioFile.getFileIdentifier());
+        Map<String, String> urlsByKey = storageService.generateDownloadUrls(
+                HlsPlaylist.segmentUris(audioFile.getHlsPlaylist()).stream().map(uri -> prefix + uri).toList());
+
+        // Signed segment URLs expire, so players must not keep the playlist longer than the cache keeps a URL
+        return Response.ok(HlsPlaylist.rewrite(audioFile.getHlsPlaylist(), uri -> urlsByKey.get(prefix + uri)))
+                .header("Cache-Control", "private, max-age=60")
+                .build();
+    }
+
+    @GET
+    @Path("/{id}/waveform")
+    @Operation(summary = "Get waveform and loudness",
+            description = "Precomputed peak envelope (0-255 per point) and integrated loudness (LUFS) of an audio file")
+    @APIResponse(responseCode = "200", description = "Waveform returned")
+    @APIResponse(responseCode = "404", description = "Audio file not found or not analysed yet")
+    public Response getWaveform(@PathParam("id") Long id) {
+        AudioAnalysis analysis = analysisRepository.findById(id);
+        if (analysis == null) {
+            return Response.status(Response.Status.NOT_FOUND)
+                    .entity("Waveform not available").build();
+        }
+
+        byte[] quantized = analysis.getPeaks();
+        int[] peaks = new int[quantized.length];
+        for (int i = 0; i < quantized.length; i++) {
+            peaks[i] = Byte.toUnsignedInt(quantized[i]);
+        }
+
+        Map<String, Object> waveform = new LinkedHashMap<>();
+        waveform.put("audioFileId", id);
+        waveform.put("durationMs", analysis.getDurationMs());
+        waveform.put("integratedLoudness", analysis.getIntegratedLoudness());
+        waveform.put("peaks", peaks);
+        // Ids are serial, not content hashes, but the object behind an id is never replaced, so neither is its analysis
+        return Response.ok(waveform)
+                .header("Cache-Control", "public, max-age=31536000, immutable")
+                .build();
+    }
+
+    @POST
+    @Path("/stream")
+    @Operation(summary = "Get streaming URLs in bulk",
+            description = "Returns signed streaming URLs for a list of audio file IDs or for every track of a release")
+    @APIResponse(responseCode = "200", description = "Streaming URLs generated successfully")
+    @APIResponse(responseCode = "400", description = "Invalid batch request")
+    @APIResponse(responseCode = "404", description = "Release not found")
+    public Response getStreamingUrls(BatchStreamingUrlRequest request) {
+        if (request == null || (request.getAudioFileIds() == null) == (request.getReleaseId() == null)) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(Map.of("message", "Provide either audioFileIds or releaseId")).build();
+        }
+        AudioQuality requestedQuality;
+        try {
+            requestedQuality = parseQuality(request.getQuality());
+        } catch (IllegalArgumentException e) {
+            return unknownQuality(request.getQuality());
+        }
+
+        List<Long> requestedIds;
+        Map<Long, AudioFile> audioFiles;
+        if (request.getReleaseId() != null) {
+            if (releaseRepository.count("id", request.getReleaseId()) == 0) {
+                return Response.status(Response.Status.NOT_FOUND)
+                        .entity(Map.of("message", "Release not found")).build();
+            }
+            List<AudioFile> releaseFiles = audioFileRepository.findByReleaseId(request.getReleaseId());
+            requestedIds = releaseFiles.stream().map(AudioFile::getId).toList();
+            audioFiles = releaseFiles.stream()
+                    .collect(Collectors.toMap(AudioFile::getId, Function.identity(), (a, b) -> a));
+        } else {
+            requestedIds = request.getAudioFileIds();
+            if (requestedIds.size() > MAX_BATCH_SIZE) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                        .entity(Map.of("message", "At most " + MAX_BATCH_SIZE + " audio files per request")).build();
+            }
+            audioFiles = audioFileRepository.findByIds(requestedIds.stream().distinct().toList()).stream()
+                    .collect(Collectors.toMap(AudioFile::getId, Function.identity()));
+        }
+
+        Map<Long, AudioRendition> renditions = requestedQuality != null
+                ? renditionRepository.findByAudioFiles(audioFiles.keySet(), requestedQuality) : Map.of();
+        Map<String, String> urlsByKey = streamingService.isEnabled()
+                ? audioFiles.values().stream().collect(Collectors.toMap(
+                        a -> fileKey(a, renditions.get(a.getId())), a -> proxyUrl(a.getId(), renditions.get(a.getId())), (a, b) -> a))
+                : storageService.generateDownloadUrls(
+                        audioFiles.values().stream().map(a -> fileKey(a, renditions.get(a.getId()))).toList());
+
+        List<Map<String, Object>> streamingUrls = new ArrayList<>();
+        List<Long> notFound = new ArrayList<>();
+        for (Long id : requestedIds) {
+            AudioFile audioFile = audioFiles.get(id);
+            if (audioFile == null) {
+                notFound.add(id);
+                continue;
+            }
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("audioFileId", id);
+            AudioRendition rendition = renditions.get(id);
+            entry.put("streamingUrl", urlsByKey.get(fileKey(audioFile, rendition)));
+            entry.put("quality", qualityName(rendition));
+            streamingUrls.add(entry);
+        }
 
-        String streamingUrl = storageService.generateDownloadUrl(audioFile.getFileIdentifier());
+        return Response.ok(Map.of("streamingUrls", streamingUrls, "notFound", notFound)).build();
+    }
 
-        return Response.ok(Map.of("streamingUrl", streamingUrl)).build();
+    @POST
+    @Path("/multipart")
+    @Transactional
+    @Operation(summary = "Start a multipart upload",
+            description = "For large masters: the file is uploaded in parts that can be retried and resumed individually")
+    @APIResponse(responseCode = "201", description = "Multipart upload started")
+    @APIResponse(responseCode = "400", description = "Invalid upload request")
+    public Response initiateMultipartUpload(MultipartUploadInitiation initiation) {
+        if (initiation == null || initiation.fileName == null || initiation.fileName.isBlank()
+                || initiation.fileSize == null || initiation.fileSize <= 0) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(Map.of("message", "fileName and a positive fileSize are required")).build();
+        }
+
+        String contentType = initiation.contentType != null ? initiation.contentType : "audio/mpeg";
+        Map<String, String> storageUpload = storageService.createMultipartUpload(initiation.fileName, contentType);
+
+        long partSize = storageService.partSizeFor(initiation.fileSize);
+        MultipartUpload upload = MultipartUpload.builder()
+                .fileIdentifier(storageUpload.get("fileKey"))
+                .storageUploadId(storageUpload.get("uploadId"))
+                .contentType(contentType)
+                .fileSize(initiation.fileSize)
+                .partSize(partSize)
+                .partCount((int) ((initiation.fileSize + partSize - 1) / partSize))
+                .build();
+        multipartUploadRepository.persist(upload);
+
+        return Response.status(Response.Status.CREATED).entity(toStatus(upload, List.of())).build();
+    }
+
+    @GET
+    @Path("/multipart/{uploadId}")
+    @Operation(summary = "Get multipart upload progress",
+            description = "Lists the parts uploaded so far and the ones still missing, for resuming an interrupted upload")
+    @APIResponse(responseCode = "200", description = "Upload status")
+    @APIResponse(responseCode = "404", description = "Upload not found")
+    public Response getMultipartUpload(@PathParam("uploadId") Long uploadId) {
+        MultipartUpload upload = multipartUploadRepository.findById(uploadId);
+        if (upload == null) {
+            return Response.status(Response.Status.NOT_FOUND)
+                    .entity("Upload not found").build();
+        }
+        return Response.ok(toStatus(upload, multipartUploadPartRepository.findByUploadId(uploadId))).build();
+    }
+
+    @GET
+    @Path("/multipart/{uploadId}/part-urls")
+    @Operation(summary = "Get signed URLs for uploading parts",
+            description = "Signs the requested part numbers, or every part not uploaded yet when none are given")
+    @APIResponse(responseCode = "200", description = "Signed part URLs generated successfully")
+    @APIResponse(responseCode = "400", description = "Invalid part numbers")
+    @APIResponse(responseCode = "404", description = "Upload not found")
+    @APIResponse(responseCode = "409", description = "Upload is no longer in progress")
+    public Response getPartUploadUrls(@PathParam("uploadId") Long uploadId,
+                                      @QueryParam("partNumber") List<Integer> partNumbers) {
+        MultipartUpload upload = multipartUploadRepository.findById(uploadId);
+        if (upload == null) {
+            return Response.status(Response.Status.NOT_FOUND)
+                    .entity("Upload not found").build();
+        }
+        if (upload.getStatus() != MultipartUpload.Status.IN_PROGRESS) {
+            return Response.status(Response.Status.CONFLICT)
+                    .entity(Map.of("message", "Upload is " + upload.getStatus())).build();
+        }
+
+        List<Integer> requested = partNumbers == null || partNumbers.isEmpty()
+                ? missingParts(upload, multipartUploadPartRepository.findByUploadId(uploadId))
+                : partNumbers;
+        if (requested.stream().anyMatch(n -> n == null || n < 1 || n > upload.getPartCount())) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(Map.of("message", "Part numbers must be between 1 and " + upload.getPartCount())).build();
+        }
+        if (requested.size() > MAX_PART_URLS) {
+            requested = requested.subList(0, MAX_PART_URLS);
+        }
+
+        Map<Integer, String> urls = storageService.presignUploadParts(
+                upload.getFileIdentifier(), upload.getStorageUploadId(), requested);
+
+        List<Map<String, Object>> partUrls = new ArrayList<>();
+        urls.forEach((partNumber, url) -> {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("partNumber", partNumber);
+            entry.put("uploadUrl", url);
+            partUrls.add(entry);
+        });
+        return Response.ok(Map.of("partUrls", partUrls)).build();
+    }
+
+    @PUT
+    @Path("/multipart/{uploadId}/parts/{partNumber}")
+    @Transactional
+    @Operation(summary = "Record an uploaded part",
+            description = "Called by the client after each successful part upload with the ETag returned by storage")
+    @APIResponse(responseCode = "200", description = "Part recorded")
+    @APIResponse(responseCode = "400", description = "Invalid part")
+    @APIResponse(responseCode = "404", description = "Upload not found")
+    @APIResponse(responseCode = "409", description = "Upload is no longer in progress")
+    public Response recordUploadedPart(@PathParam("uploadId") Long uploadId,
+                                       @PathParam("partNumber") int partNumber,
+                                       UploadedPart part) {
+        MultipartUpload upload = multipartUploadRepository.findById(uploadId);
+        if (upload == null) {
+            return Response.status(Response.Status.NOT_FOUND)
+                    .entity("Upload not found").build();
+        }
+        if (upload.getStatus() != MultipartUpload.Status.IN_PROGRESS) {
+            return Response.status(Response.Status.CONFLICT)
+                    .entity(Map.of("message", "Upload is " + upload.getStatus())).build();
+        }
+        if (partNumber < 1 || partNumber > upload.getPartCount() || part == null
+                || part.etag == null || part.etag.isBlank()) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(Map.of("message", "A part number between 1 and " + upload.getPartCount()
+                            + " and an etag are required")).build();
+        }
+
+        // A re-uploaded part replaces the earlier one
+        MultipartUploadPart uploadedPart = multipartUploadPartRepository.findPart(uploadId, partNumber);
+        if (uploadedPart == null) {
+            uploadedPart = MultipartUploadPart.builder()
+                    .upload(upload)
+                    .partNumber(partNumber)
+                    .build();
+        }
+        uploadedPart.setEtag(part.etag);
+        uploadedPart.setSize(part.size);
+        uploadedPart.setUploadedAt(OffsetDateTime.now());
+        multipartUploadPartRepository.persist(uploadedPart);
+
+        return Response.ok(uploadedPart).build();
+    }
+
+    @POST
+    @Path("/multipart/{uploadId}/complete")
+    @Operation(summary = "Complete a multipart upload",
+            description = "Assembles the uploaded parts and registers the result as an audio file. A SHA-256 checksum "
+                    + "is checked against the assembled content, and the upload is discarded when it does not match")
+    @APIResponse(responseCode = "201", description = "Upload completed and audio file registered")
+    @APIResponse(responseCode = "200", description = "Content already stored or upload already completed, existing audio file returned")
+    @APIResponse(responseCode = "400", description = "Checksum is not a SHA-256 digest or does not match the upload")
+    @APIResponse(responseCode = "404", description = "Upload not found")
+    @APIResponse(responseCode = "409", description = "Upload is not in progress, is being completed or parts are missing")
+    public Response completeMultipartUpload(@PathParam("uploadId") Long uploadId, MultipartCompletion completion) {
+        String clientChecksum = completion != null ? completion.checksum : null;
+        try {
+            normalizeChecksum(clientChecksum);
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(Map.of("message", e.getMessage())).build();
+        }
+
+        // Claimed under the row lock, so a retried or concurrent completion never asks storage to
+        // assemble the same upload twice. Assembly and hashing then run without a transaction.
+        UploadClaim claim = QuarkusTransaction.requiringNew().call(() -> {
+            MultipartUpload upload = multipartUploadRepository.findById(uploadId, LockModeType.PESSIMISTIC_WRITE);
+            if (upload == null) {
+                return UploadClaim.answered(Response.status(Response.Status.NOT_FOUND)
+                        .entity("Upload not found").build());
+            }
+            if (upload.getStatus() == MultipartUpload.Status.COMPLETED && upload.getAudioFileId() != null) {
+                AudioFile registered = audioFileRepository.findById(upload.getAudioFileId());
+                if (registered != null) {
+                    return UploadClaim.answered(Response.ok(registered).build());
+                }
+            }
+            if (upload.getStatus() != MultipartUpload.Status.IN_PROGRESS) {
+                return UploadClaim.answered(Response.status(Response.Status.CONFLICT)
+                        .entity(Map.of("message", "Upload is " + upload.getStatus())).build());
+            }
+
+            List<MultipartUploadPart> parts = multipartUploadPartRepository.findByUploadId(uploadId);
+            List<Integer> missing = missingParts(upload, parts);
+            if (!missing.isEmpty()) {
+                return UploadClaim.answered(Response.status(Response.Status.CONFLICT)
+                        .entity(Map.of("message", "Parts are missing", "missingParts", missing)).build());
+            }
+
+            upload.setStatus(MultipartUpload.Status.COMPLETING);
+            return new UploadClaim(null, upload,
+                    parts.stream().collect(Collectors.toMap(MultipartUploadPart::getPartNumber, MultipartUploadPart::getEtag)));
+        });
+        if (claim.response() != null) {
+            return claim.response();
+        }
+
+        MultipartUpload upload = claim.upload();
+        String fileKey = upload.getFileIdentifier();
+        try {
+            storageService.completeMultipartUpload(fileKey, upload.getStorageUploadId(), claim.etags());
+        } catch (RuntimeException e) {
+            // The parts are still in storage, so the client can try again
+            QuarkusTransaction.requiringNew().run(() ->
+                    multipartUploadRepository.findById(uploadId).setStatus(MultipartUpload.Status.IN_PROGRESS));
+            throw e;
+        }
+
+        String verified;
+        try {
+            verified = verifiedChecksum(fileKey, clientChecksum);
+        } catch (IllegalArgumentException e) {
+            // The parts are gone once assembled, so the upload cannot be completed again
+            QuarkusTransaction.requiringNew().run(() -> {
+                multipartUploadRepository.findById(uploadId).setStatus(MultipartUpload.Status.ABORTED);
+                multipartUploadPartRepository.delete("upload.id", uploadId);
+                duplicateUploadDiscarded.fire(new DuplicateUploadDiscarded(fileKey));
+            });
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(Map.of("message", e.getMessage() + ", upload discarded")).build();
+        } catch (RuntimeException e) {
+            // The upload is assembled and cannot go back to IN_PROGRESS, so it is kept, just not deduplicated
+            LOG.warn("Could not hash completed upload " + uploadId + ", registering it without a checksum", e);
+            verified = null;
+        }
+
+        String checksum = verified;
+        return QuarkusTransaction.requiringNew().call(() -> {
+            MultipartUpload completing = multipartUploadRepository.findById(uploadId, LockModeType.PESSIMISTIC_WRITE);
+
+            AudioFile existing = findExisting(checksum);
+            if (existing != null) {
+                discardDuplicate(fileKey, existing);
+                completing.setStatus(MultipartUpload.Status.COMPLETED);
+                completing.setAudioFileId(existing.getId());
+                return Response.ok(existing).build();
+            }
+
+            AudioFile audioFile = AudioFile.builder()
+                    .fileIdentifier(fileKey)
+                    .fileUrl(storageService.generateDownloadUrl(fileKey))
+                    .fileSize(completing.getFileSize())
+                    .checksum(checksum)
+                    .build();
+            audioFileRepository.persist(audioFile);
+            mediaJobQueue.enqueue(audioFile);
+
+            completing.setStatus(MultipartUpload.Status.COMPLETED);
+            completing.setAudioFileId(audioFile.getId());
+
+            return Response.status(Response.Status.CREATED).entity(audioFile).build();
+        });
+    }
+
+    @DELETE
+    @Path("/{id}")
+    @Transactional
+    @Operation(summary = "Delete an audio file",
+            description = "Deletes the file and its stored objects, only once no track uses it any more")
+    @APIResponse(responseCode = "204", description = "Audio file deleted")
+    @APIResponse(responseCode = "404", description = "Audio file not found")
+    @APIResponse(responseCode = "409", description = "Audio file is still used by tracks")
+    public Response deleteAudioFile(@PathParam("id") Long id) {
+        // The row lock also holds back tracks being linked to the file until this transaction ends
+        AudioFile audioFile = audioFileRepository.findById(id, LockModeType.PESSIMISTIC_WRITE);
+        if (audioFile == null) {
+            return Response.status(Response.Status.NOT_FOUND)
+                    .entity("Audio file not found").build();
+        }
+        if (audioFile.getReferenceCount() > 0) {
+            return Response.status(Response.Status.CONFLICT)
+                    .entity(Map.of("message", "Audio file is used by " + audioFile.getReferenceCount() + " tracks",
+                            "referenceCount", audioFile.getReferenceCount())).build();
+        }
+
+        audioFileRepository.delete(audioFile);
+        audioFileDeleted.fire(new AudioFileDeleted(id, audioFile.getFileIdentifier()));
+        return Response.noContent().build();
+    }
+
+    @DELETE
+    @Path("/multipart/{uploadId}")
+    @Transactional
+    @Operation(summary = "Abort a multipart upload", description = "Discards the parts uploaded so far")
+    @APIResponse(responseCode = "204", description = "Upload aborted")
+    @APIResponse(responseCode = "404", description = "Upload not found")
+    @APIResponse(responseCode = "409", description = "Upload is no longer in progress")
+    public Response abortMultipartUpload(@PathParam("uploadId") Long uploadId) {
+        MultipartUpload upload = multipartUploadRepository.findById(uploadId, LockModeType.PESSIMISTIC_WRITE);
+        if (upload == null) {
+            return Response.status(Response.Status.NOT_FOUND)
+                    .entity("Upload not found").build();
+        }
+        if (upload.getStatus() != MultipartUpload.Status.IN_PROGRESS) {
+            return Response.status(Response.Status.CONFLICT)
+                    .entity(Map.of("message", "Upload is " + upload.getStatus())).build();
+        }
+
+        storageService.abortMultipartUpload(upload.getFileIdentifier(), upload.getStorageUploadId());
+        upload.setStatus(MultipartUpload.Status.ABORTED);
+        multipartUploadPartRepository.delete("upload.id", uploadId);
+
+        return Response.noContent().build();
+    }
+
+    /**
+     * @return the checksum as {@code sha256:} and lowercase hex, the form audio files are stored under,
+     * or null if there is none
+     * @throws IllegalArgumentException if it is not a SHA-256 digest
+     */
+    static String normalizeChecksum(String checksum) {
+        if (checksum == null || checksum.isBlank()) {
+            return null;
+        }
+        String hex = checksum.trim().toLowerCase(Locale.ROOT);
+        if (hex.startsWith(CHECKSUM_PREFIX)) {
+            hex = hex.substring(CHECKSUM_PREFIX.length());
+        }
+        if (!SHA256_HEX.matcher(hex).matches()) {
+            throw new IllegalArgumentException("checksum must be a SHA-256 digest in hex");
+        }
+        return CHECKSUM_PREFIX + hex;
+    }
+
+    /**
+     * Hashes the stored upload when the client sent a checksum, so files are only ever deduplicated
+     * on content the server has read itself and a checksum cannot claim someone else's file.
+     *
+     * @return the checksum to store, or null if the client sent none
+     * @throws IllegalArgumentException if the checksum is malformed or does not match the upload
+     */
+    private String verifiedChecksum(String fileKey, String checksum) {
+        String claimed = normalizeChecksum(checksum);
+        if (claimed == null) {
+            return null;
+        }
+        if (fileKey == null || fileKey.isBlank()) {
+            throw new IllegalArgumentException("fileKey is required");
+        }
+        String actual = CHECKSUM_PREFIX + storageService.sha256(fileKey);
+        if (!actual.equals(claimed)) {
+            throw new IllegalArgumentException("checksum does not match the uploaded content");
+        }
+        return actual;
+    }
+
+    /**
+     * @return the audio file already registered for this content, or null. Holds the checksum lock
+     * until the transaction ends so concurrent registrations of the same content see each other.
+     */
+    private AudioFile findExisting(String checksum) {
+        if (checksum == null) {
+            return null;
+        }
+        audioFileRepository.lockChecksum(checksum);
+        return audioFileRepository.findByChecksum(checksum);
+    }
+
+    private void discardDuplicate(String uploadedKey, AudioFile existing) {
+        // Never delete an object some audio file still points to, e.g. the same key registered twice
+        if (uploadedKey != null && !uploadedKey.equals(existing.getFileIdentifier())
+                && audioFileRepository.count("fileIdentifier", uploadedKey) == 0) {
+            duplicateUploadDiscarded.fire(new DuplicateUploadDiscarded(uploadedKey));
+        }
+    }
+
+    private static String proxyUrl(Long audioFileId, AudioRendition rendition) {
+        String url = "/api/audio-files/" + audioFileId + "/content";
+        return rendition != null ? url + "?quality=" + qualityName(rendition) : url;
+    }
+
+    /**
+     * @return the requested rendition quality, or null for the original upload
+     * @throws IllegalArgumentException if the quality is unknown
+     */
+    private static AudioQuality parseQuality(String quality) {
+        if (quality == null || quality.isBlank() || quality.equalsIgnoreCase(ORIGINAL_QUALITY)) {
+            return null;
+        }
+        return AudioQuality.valueOf(quality.trim().toUpperCase());
+    }
+
+    private static Response unknownQuality(String quality) {
+        return Response.status(Response.Status.BAD_REQUEST)
+                .entity(Map.of("message", "Unknown quality: " + quality + ", expected one of " + ORIGINAL_QUALITY + ", "
+                        + Arrays.stream(AudioQuality.values()).map(q -> q.name().toLowerCase()).collect(Collectors.joining(", "))))
+                .build();
+    }
+
+    private static String qualityName(AudioRendition rendition) {
+        return rendition != null ? rendition.getQuality().name().toLowerCase() : ORIGINAL_QUALITY;
+    }
+
+    private static String fileKey(AudioFile audioFile, AudioRendition rendition) {
+        return rendition != null ? rendition.getFileIdentifier() : audioFile.getFileIdentifier();
+    }
+
+    private static String contentType(String fileKey) {
+        String name = fileKey.toLowerCase();
+        if (name.endsWith(".mp3")) {
+            return "audio/mpeg";
+        } else if (name.endsWith(".flac")) {
+            return "audio/flac";
+        } else if (name.endsWith(".wav")) {
+            return "audio/wav";
+        } else if (name.endsWith(".ogg")) {
+            return "audio/ogg";
+        } else if (name.endsWith(".m4a") || name.endsWith(".aac")) {
+            return "audio/mp4";
+        }
+        return MediaType.APPLICATION_OCTET_STREAM;
+    }
+
+    /**
+     * Outcome of claiming a multipart upload for completion: either a response to return right away,
+     * or the claimed upload and the ETags of its parts.
+     */
+    private record UploadClaim(Response response, MultipartUpload upload, Map<Integer, String> etags) {
+        static UploadClaim answered(Response response) {
+            return new UploadClaim(response, null, null);
+        }
+    }
+
+    private MultipartUploadStatus toStatus(MultipartUpload upload, List<MultipartUploadPart> parts) {
+        MultipartUploadStatus status = new MultipartUploadStatus();
+        status.setUploadId(upload.getId());
+        status.setFileKey(upload.getFileIdentifier());
+        status.setStatus(upload.getStatus().name());
+        status.setFileSize(upload.getFileSize());
+        status.setPartSize(upload.getPartSize());
+        status.setPartCount(upload.getPartCount());
+        status.setUploadedParts(parts);
+        status.setMissingParts(upload.getStatus() == MultipartUpload.Status.IN_PROGRESS
+                ? missingParts(upload, parts) : List.of());
+        status.setAudioFileId(upload.getAudioFileId());
+        return status;
+    }
+
+    private static List<Integer> missingParts(MultipartUpload upload, List<MultipartUploadPart> parts) {
+        Set<Integer> uploaded = parts.stream().map(MultipartUploadPart::getPartNumber).collect(Collectors.toSet());
+        List<Integer> missing = new ArrayList<>();
+        for (int partNumber = 1; partNumber <= upload.getPartCount(); partNumber++) {
+            if (!uploaded.contains(partNumber)) {
+                missing.add(partNumber);
+            }
+        }
+        return missing;
+    }
+
+    public static class MultipartUploadInitiation {
+        public String fileName;
+        public String contentType;
+        public Long fileSize;
+    }
+
+    public static class UploadedPart {
+        public String etag;
+        public Long size;
+    }
+
+    public static class MultipartCompletion {
+        public String checksum;
     }
 
     public static class AudioFileRegistration {
@@ -2,23 +2,31 @@ package com.resonate.api;
 
 import com.resonate.auth.SupabaseAuthService;
 import com.resonate.auth.SupabaseAuthService.AuthResult;
+import com.resonate.auth.SupabaseTokenVerifier;
+import com.resonate.auth.UserProfileChanged;
+import com.resonate.auth.UserTypeResolver;
 import com.resonate.domain.model.ArtistProfile;
 import com.resonate.domain.model.FanProfile;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.security.UnauthorizedException;
+import jakarta.enterprise.event.Event;
 import jakarta.inject.Inject;
 import jakarta.persistence.EntityManager;
-import jakarta.persistence.NoResultException;
-import jakarta.persistence.TypedQuery;
-import jakarta.transaction.Transactional;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import org.eclipse.microprofile.context.ManagedExecutor;
+import org.eclipse.microprofile.jwt.JsonWebToken;
 import org.jboss.logging.Logger;
 
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
 
 @Path("/api/auth")
 @Consumes(MediaType.APPLICATION_JSON)
@@ -26,122 +34,147 @@ import java.util.UUID;
 public class AuthResource {
 
     private static final Logger LOG = Logger.getLogger(AuthResource.class);
+    private static final String BEARER_PREFIX = "Bearer ";
 
     @Inject
     SupabaseAuthService authService;
 
+    @Inject
+    SupabaseTokenVerifier tokenVerifier;
+
+    @Inject
+    UserTypeResolver userTypeResolver;
+
+    @Inject
+    Event<UserProfileChanged> userProfileChanged;
+
     @Inject
     EntityManager em;
 
+    @Inject
+    ManagedExecutor managedExecutor;
+
     @POST
     @Path("/register")
-    @Transactional
-    public Response register(RegisterRequest request) {
+    public CompletionStage<Response> register(RegisterRequest request) {
         LOG.info("Received registration request for email: " + request.email + ", userType: " + request.userType);
-        
-        try {
-            // Validate request
-            if (request.email == null || request.email.isBlank() ||
-                request.password == null || request.password.isBlank() ||
-                request.userType == null || request.userType.isBlank()) {
-                return Response.status(Response.Status.BAD_REQUEST)
-                        .entity(Map.of("message", "Email, password, and user type are required"))
-                        .build();
-            }
-            
-            // Call Supabase to register the user and get back the userId and token
-            AuthResult authResult = authService.signUp(request.email, request.password);
-            
-            // Check if email confirmation is required
-            if (authResult == null) {
-                LOG.info("Email confirmation is required for email: " + request.email);
-                Map<String, Object> result = new HashMap<>();
-                result.put("message", "Registration initiated. Please check your email for confirmation.");
-                result.put("email_confirmation_required", true);
-                result.put("userType", request.userType);
-                
-                return Response.status(Response.Status.ACCEPTED).entity(result).build();
-            }
-            
-            UUID userId = authResult.userId;
-            String token = authResult.token;
-            
-            LOG.info("Successfully registered user with ID: " + userId);
-
-            // Save the corresponding local profile based on the user type
-            if ("artist".equalsIgnoreCase(request.userType)) {
-                LOG.info("Creating artist profile for user: " + userId);
-                ArtistProfile profile = ArtistProfile.builder()
-                        .userId(userId)
-                        .biography(request.bio)
-                        .build();
-                em.persist(profile);
-            } else if ("fan".equalsIgnoreCase(request.userType)) {
-                LOG.info("Creating fan profile for user: " + userId);
-                FanProfile profile = FanProfile.builder()
-                        .userId(userId)
-                        .subscriptionActive(false)
-                        .build();
-                em.persist(profile);
-            } else {
-                LOG.error("Invalid user type: " + request.userType);
-                return Response.status(Response.Status.BAD_REQUEST)
-                        .entity(Map.of("message", "Invalid user type"))
-                        .build();
-            }
 
-            // Build the response data
+        // Validate request
+        if (request.email == null || request.email.isBlank() ||
+            request.password == null || request.password.isBlank() ||
+            request.userType == null || request.userType.isBlank()) {
+            return CompletableFuture.completedFuture(Response.status(Response.Status.BAD_REQUEST)
+                    .entity(Map.of("message", "Email, password, and user type are required"))
+                    .build());
+        }
+        // Checked before calling Supabase so an invalid request never leaves a user without a profile
+        if (!"artist".equalsIgnoreCase(request.userType) && !"fan".equalsIgnoreCase(request.userType)) {
+            LOG.error("Invalid user type: " + request.userType);
+            return CompletableFuture.completedFuture(Response.status(Response.Status.BAD_REQUEST)
+                    .entity(Map.of("message", "Invalid user type"))
+                    .build());
+        }
+
+        // Call Supabase to register the user; the worker thread is released while we wait.
+        // The profile is then saved on a managed executor so CDI and transaction contexts are available.
+        return authService.signUp(request.email, request.password)
+                .thenApplyAsync(authResult -> completeRegistration(request, authResult), managedExecutor)
+                .exceptionally(e -> {
+                    Throwable cause = unwrap(e);
+                    LOG.error("Registration failed: " + cause.getMessage(), cause);
+                    return Response.status(Response.Status.BAD_REQUEST)
+                            .entity(Map.of("message", String.valueOf(cause.getMessage())))
+                            .build();
+                });
+    }
+
+    private Response completeRegistration(RegisterRequest request, AuthResult authResult) {
+        // Check if email confirmation is required
+        if (authResult == null) {
+            LOG.info("Email confirmation is required for email: " + request.email);
             Map<String, Object> result = new HashMap<>();
-            result.put("userId", userId);
-            result.put("token", token);
+            result.put("message", "Registration initiated. Please check your email for confirmation.");
+            result.put("email_confirmation_required", true);
             result.put("userType", request.userType);
 
-            LOG.info("Registration successful for user: " + userId);
-            return Response.status(Response.Status.CREATED).entity(result).build();
-        } catch (Exception e) {
-            LOG.error("Registration failed: " + e.getMessage(), e);
-            return Response.status(Response.Status.BAD_REQUEST)
-                    .entity(Map.of("message", e.getMessage()))
+            return Response.status(Response.Status.ACCEPTED).entity(result).build();
+        }
+
+        UUID userId = authResult.userId;
+        String token = authResult.token;
+
+        LOG.info("Successfully registered user with ID: " + userId);
+
+        // Save the corresponding local profile based on the user type
+        if ("artist".equalsIgnoreCase(request.userType)) {
+            LOG.info("Creating artist profile for user: " + userId);
+            ArtistProfile profile = ArtistProfile.builder()
+                    .userId(userId)
+                    .biography(request.bio)
+                    .build();
+            QuarkusTransaction.requiringNew().run(() -> {
+                em.persist(profile);
+                userProfileChanged.fire(new UserProfileChanged(userId));
+            });
+        } else {
+            LOG.info("Creating fan profile for user: " + userId);
+            FanProfile profile = FanProfile.builder()
+                    .userId(userId)
+                    .subscriptionActive(false)
                     .build();
+            QuarkusTransaction.requiringNew().run(() -> {
+                em.persist(profile);
+                userProfileChanged.fire(new UserProfileChanged(userId));
+            });
         }
+
+        // Build the response data
+        Map<String, Object> result = new HashMap<>();
+        result.put("userId", userId);
+        result.put("token", token);
+        result.put("userType", request.userType);
+
+        LOG.info("Registration successful for user: " + userId);
+        return Response.status(Response.Status.CREATED).entity(result).build();
     }
 
     @POST
     @Path("/login")
-    public Response login(LoginRequest request) {
+    public CompletionStage<Response> login(LoginRequest request) {
         LOG.info("Received login request for email: " + request.email);
-        
-        try {
-            // Validate request
-            if (request.email == null || request.email.isBlank() ||
-                request.password == null || request.password.isBlank()) {
-                return Response.status(Response.Status.BAD_REQUEST)
-                        .entity(Map.of("message", "Email and password are required"))
-                        .build();
-            }
-            
-            // Call Supabase to authenticate the user
-            AuthResult authResult = authService.signIn(request.email, request.password);
-            
-            // Build the response data
-            Map<String, Object> result = new HashMap<>();
-            result.put("userId", authResult.userId);
-            result.put("token", authResult.token);
-            
-            // Determine user type
-            String userType = determineUserType(authResult.userId);
-            if (userType != null) {
-                result.put("userType", userType);
-            }
-            
-            LOG.info("Login successful for user: " + authResult.userId);
-            return Response.ok(result).build();
-        } catch (Exception e) {
-            LOG.error("Login failed: " + e.getMessage(), e);
-            return Response.status(Response.Status.UNAUTHORIZED)
-                    .entity(Map.of("message", "Authentication failed"))
-                    .build();
+
+        // Validate request
+        if (request.email == null || request.email.isBlank() ||
+            request.password == null || request.password.isBlank()) {
+            return CompletableFuture.completedFuture(Response.status(Response.Status.BAD_REQUEST)
+                    .entity(Map.of("message", "Email and password are required"))
+                    .build());
         }
+
+        // Call Supabase to authenticate the user
+        return authService.signIn(request.email, request.password)
+                .thenApplyAsync(authResult -> {
+                    // Build the response data
+                    Map<String, Object> result = new HashMap<>();
+                    result.put("userId", authResult.userId);
+                    result.put("token", authResult.token);
+
+                    // Determine user type
+                    String userType = userTypeResolver.resolve(authResult.userId);
+                    if (userType != null) {
+                        result.put("userType", userType);
+                    }
+
+                    LOG.info("Login successful for user: " + authResult.userId);
+                    return Response.ok(result).build();
+                }, managedExecutor)
+                .exceptionally(e -> {
+                    Throwable cause = unwrap(e);
+                    LOG.error("Login failed: " + cause.getMessage(), cause);
+                    return Response.status(Response.Status.UNAUTHORIZED)
+                            .entity(Map.of("message", "Authentication failed"))
+                            .build();
+                });
     }
 
     @POST
@@ -153,83 +186,97 @@ public class AuthResource {
 
     @DELETE
     @Path("/user/{userId}")
-    @Transactional
-    public Response deleteUser(@PathParam("userId") UUID userId) {
+    public CompletionStage<Response> deleteUser(@PathParam("userId") UUID userId) {
         LOG.info("Received delete request for user: " + userId);
-        
+
         try {
-            // First determine user type to know which profile to delete
-            String userType = determineUserType(userId);
-            if (userType == null) {
-                LOG.warn("No local profile found for user: " + userId);
-            } else {
-                // Delete the local profile
-                if ("artist".equals(userType)) {
-                    em.createQuery("DELETE FROM ArtistProfile a WHERE a.userId = :userId")
-                        .setParameter("userId", userId)
-                        .executeUpdate();
-                    LOG.info("Deleted artist profile for user: " + userId);
-                } else if ("fan".equals(userType)) {
-                    em.createQuery("DELETE FROM FanProfile f WHERE f.userId = :userId")
-                        .setParameter("userId", userId)
-                        .executeUpdate();
-                    LOG.info("Deleted fan profile for user: " + userId);
-                }
-            }
-            
-            // Call Supabase to delete the user (assuming user has proper permissions)
-            try {
-                authService.deleteUser(userId);  // No need to pass token now
-                LOG.info("User deleted successfully in Supabase: " + userId);
-            } catch (Exception e) {
-                LOG.error("Failed to delete user in Supabase: " + e.getMessage(), e);
-                // Continue, as we've already deleted the local profile
-            }
-            
-            LOG.info("User deleted successfully: " + userId);
-            return Response.ok(Map.of("message", "User deleted successfully")).build();
-            
+            // Local profile is removed in its own transaction, before the Supabase call
+            QuarkusTransaction.requiringNew().run(() -> deleteLocalProfile(userId));
         } catch (Exception e) {
             LOG.error("Failed to delete user: " + e.getMessage(), e);
-            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+            return CompletableFuture.completedFuture(Response.status(Response.Status.INTERNAL_SERVER_ERROR)
                     .entity(Map.of("message", "Failed to delete user: " + e.getMessage()))
-                    .build();
+                    .build());
         }
+
+        // Call Supabase to delete the user (assuming user has proper permissions)
+        return authService.deleteUser(userId)
+                .handle((ignored, e) -> {
+                    if (e != null) {
+                        Throwable cause = unwrap(e);
+                        LOG.error("Failed to delete user in Supabase: " + cause.getMessage(), cause);
+                        // Continue, as we've already deleted the local profile
+                    } else {
+                        LOG.info("User deleted successfully in Supabase: " + userId);
+                    }
+
+                    LOG.info("User deleted successfully: " + userId);
+                    return Response.ok(Map.of("message", "User deleted successfully")).build();
+                });
     }
-    
-    /**
-     * Helper method to determine a user's type based on their UUID.
-     * @param userId the user's UUID
-     * @return "artist", "fan", or null if no profile exists
-     */
-    private String determineUserType(UUID userId) {
+
+    private void deleteLocalProfile(UUID userId) {
+        // First determine user type to know which profile to delete
+        String userType = userTypeResolver.resolve(userId);
+        if (userType == null) {
+            LOG.warn("No local profile found for user: " + userId);
+        } else if (UserTypeResolver.ARTIST.equals(userType)) {
+            em.createQuery("DELETE FROM ArtistProfile a WHERE a.userId = :userId")
+                .setParameter("userId", userId)
+                .executeUpdate();
+            LOG.info("Deleted artist profile for user: " + userId);
+        } else if (UserTypeResolver.FAN.equals(userType)) {
+            em.createQuery("DELETE FROM FanProfile f WHERE f.userId = :userId")
+                .setParameter("userId", userId)
+                .executeUpdate();
+            LOG.info("Deleted fan profile for user: " + userId);
+        }
+        userProfileChanged.fire(new UserProfileChanged(userId));
+    }
+
+    @GET
+    @Path("/me")
+    public Response getCurrentUser(@HeaderParam(HttpHeaders.AUTHORIZATION) String authorization) {
+        if (authorization == null || !authorization.regionMatches(true, 0, BEARER_PREFIX, 0, BEARER_PREFIX.length())) {
+            return Response.status(Response.Status.UNAUTHORIZED)
+                    .entity(Map.of("message", "Missing bearer token"))
+                    .build();
+        }
+
         try {
-            // Check if artist
-            TypedQuery<Long> artistQuery = em.createQuery(
-                "SELECT COUNT(a) FROM ArtistProfile a WHERE a.userId = :userId", Long.class);
-            artistQuery.setParameter("userId", userId);
-            if (artistQuery.getSingleResult() > 0) {
-                return "artist";
+            // Verified locally against the Supabase JWT secret, no outbound call
+            JsonWebToken token = tokenVerifier.verify(authorization.substring(BEARER_PREFIX.length()).trim());
+            if (token.getSubject() == null) {
+                throw new UnauthorizedException("Token has no subject");
+            }
+            UUID userId = UUID.fromString(token.getSubject());
+
+            Map<String, Object> result = new HashMap<>();
+            result.put("userId", userId);
+            result.put("expiresAt", token.getExpirationTime());
+            if (token.getClaim("email") != null) {
+                result.put("email", token.getClaim("email"));
+            }
+            if (token.getClaim("role") != null) {
+                result.put("role", token.getClaim("role"));
             }
-            
-            // Check if fan
-            TypedQuery<Long> fanQuery = em.createQuery(
-                "SELECT COUNT(f) FROM FanProfile f WHERE f.userId = :userId", Long.class);
-            fanQuery.setParameter("userId", userId);
-            if (fanQuery.getSingleResult() > 0) {
-                return "fan";
+
+            String userType = userTypeResolver.resolve(userId);
+            if (userType != null) {
+                result.put("userType", userType);
             }
-            
-            return null; // No profile found
-        } catch (NoResultException e) {
-            return null;
+
+            return Response.ok(result).build();
+        } catch (UnauthorizedException | IllegalArgumentException e) {
+            LOG.debug("Rejected token for /me: " + e.getMessage());
+            return Response.status(Response.Status.UNAUTHORIZED)
+                    .entity(Map.of("message", "Invalid or expired token"))
+                    .build();
         }
     }
 
-    @GET
-    @Path("/me")
-    public Response getCurrentUser() {
-        return Response.ok(Map.of("message", "Security disabled - no current user")).build();
+    private static Throwable unwrap(Throwable e) {
+        return e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
     }
 
     // Request DTOs
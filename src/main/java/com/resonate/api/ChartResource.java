@@ -0,0 +1,70 @@
+package com.resonate.api;
+
+import com.resonate.plays.ChartPeriod;
+import com.resonate.plays.ChartService;
+import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
+import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+@Path("/api/charts")
+@Tag(name = "Chart", description = "Most played tracks")
+@Produces(MediaType.APPLICATION_JSON)
+public class ChartResource {
+
+    static final int MAX_LIMIT = 100;
+
+    @Inject
+    ChartService chartService;
+
+    @GET
+    @Operation(summary = "Top tracks",
+            description = "Most played tracks over the last day, week or month, from play counters updated every minute")
+    @APIResponse(responseCode = "200", description = "Chart retrieved successfully")
+    @APIResponse(responseCode = "400", description = "Unknown period or invalid limit")
+    public Response getChart(
+            @QueryParam("period") @DefaultValue("week") String period,
+            @QueryParam("limit") @DefaultValue("50") int limit) {
+        return chart(period, null, limit);
+    }
+
+    @GET
+    @Path("/artists/{artistId}")
+    @Operation(summary = "Top tracks of an artist",
+            description = "Most played tracks of one artist over the last day, week or month")
+    @APIResponse(responseCode = "200", description = "Chart retrieved successfully")
+    @APIResponse(responseCode = "400", description = "Unknown period or invalid limit")
+    public Response getArtistChart(
+            @PathParam("artistId") UUID artistId,
+            @QueryParam("period") @DefaultValue("week") String period,
+            @QueryParam("limit") @DefaultValue("50") int limit) {
+        return chart(period, artistId, limit);
+    }
+
+    private Response chart(String period, UUID artistId, int limit) {
+        ChartPeriod chartPeriod;
+        try {
+            chartPeriod = ChartPeriod.valueOf(period.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(Map.of("message", "Unknown period: " + period + " (expected day, week or month)"))
+                    .build();
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(Map.of("message", "limit must be between 1 and " + MAX_LIMIT))
+                    .build();
+        }
+
+        return Response.ok(chartService.topTracks(chartPeriod, artistId, limit))
+                .header("Cache-Control", "public, max-age=" + chartService.getCacheTtl().toSeconds())
+                .build();
+    }
+}
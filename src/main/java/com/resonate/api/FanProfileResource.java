@@ -1,10 +1,12 @@
 package com.resonate.api;
 
+import com.resonate.auth.UserProfileChanged;
 import com.resonate.domain.model.FanProfile;
 import com.resonate.infrastructure.repository.FanProfileRepository;
 import org.eclipse.microprofile.openapi.annotations.Operation;
 import org.eclipse.microprofile.openapi.annotations.tags.Tag;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
+import jakarta.enterprise.event.Event;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
 import jakarta.ws.rs.*;
@@ -21,12 +23,16 @@ public class FanProfileResource {
     @Inject
     FanProfileRepository fanProfileRepository;
 
+    @Inject
+    Event<UserProfileChanged> userProfileChanged;
+
     @POST
     @Transactional
     @Operation(summary = "Create or update fan profile")
     @APIResponse(responseCode = "200", description = "Profile created or updated successfully")
     public Response createOrUpdateProfile(FanProfile profile) {
         fanProfileRepository.upsert(profile);
+        userProfileChanged.fire(new UserProfileChanged(profile.getUserId()));
         return Response.ok(profile).build();
     }
 
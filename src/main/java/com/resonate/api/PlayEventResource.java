@@ -0,0 +1,68 @@
+package com.resonate.api;
+
+import com.resonate.api.dto.PlayEventRequest;
+import com.resonate.plays.PlayEvent;
+import com.resonate.plays.PlayEventService;
+import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
+import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.SecurityContext;
+
+import java.security.Principal;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+
+@Path("/api/plays")
+@Tag(name = "Play", description = "Play event ingestion")
+@Produces(MediaType.APPLICATION_JSON)
+@Consumes(MediaType.APPLICATION_JSON)
+public class PlayEventResource {
+
+    @Inject
+    PlayEventService playEventService;
+
+    @POST
+    @Operation(summary = "Record a play",
+            description = "Buffers the play in memory; plays are written to the database in batches shortly after")
+    @APIResponse(responseCode = "202", description = "Play accepted")
+    @APIResponse(responseCode = "400", description = "Invalid play event")
+    @APIResponse(responseCode = "503", description = "Too many plays buffered, retry later")
+    public Response recordPlay(PlayEventRequest request, @Context SecurityContext securityContext) {
+        if (request == null || request.getTrackId() == null) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(Map.of("message", "trackId is required")).build();
+        }
+        if (request.getListenedMs() != null && request.getListenedMs() < 0) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(Map.of("message", "listenedMs must not be negative")).build();
+        }
+
+        // Tracks are not looked up here: a play costs no database work until its batch is written
+        PlayEvent event = new PlayEvent(request.getTrackId(), listener(securityContext),
+                request.getListenedMs(), Instant.now());
+        if (!playEventService.record(event)) {
+            return Response.status(Response.Status.SERVICE_UNAVAILABLE)
+                    .header("Retry-After", 1)
+                    .entity(Map.of("message", "Too many plays buffered")).build();
+        }
+        return Response.accepted().build();
+    }
+
+    private static UUID listener(SecurityContext securityContext) {
+        Principal principal = securityContext.getUserPrincipal();
+        if (principal == null || principal.getName() == null) {
+            return null;
+        }
+        try {
+            return UUID.fromString(principal.getName());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
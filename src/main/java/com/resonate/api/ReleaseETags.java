@@ -0,0 +1,45 @@
+package com.resonate.api;
+
+import com.resonate.api.dto.CursorPage;
+import com.resonate.api.dto.ReleaseSummary;
+import jakarta.ws.rs.core.EntityTag;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * Strong entity tags for catalogue reads. A release's version is bumped by the database whenever the
+ * release or one of its tracks changes, so a tag built from IDs and versions changes exactly when the
+ * representation does, and can be compared before anything is serialized.
+ */
+final class ReleaseETags {
+
+    private ReleaseETags() {
+    }
+
+    static EntityTag release(Long id, Long version) {
+        return new EntityTag(id + "-" + version);
+    }
+
+    /**
+     * Tags a catalogue page by the IDs and versions of its releases and its next cursor, so adding,
+     * removing or changing any release on the page changes the tag.
+     */
+    static EntityTag page(CursorPage<ReleaseSummary> page) {
+        StringBuilder content = new StringBuilder();
+        for (ReleaseSummary release : page.getItems()) {
+            content.append(release.getId()).append('-').append(release.getVersion()).append(',');
+        }
+        content.append(page.getNextCursor());
+
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content.toString().getBytes(StandardCharsets.UTF_8));
+            return new EntityTag(Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, 16)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -2,24 +2,44 @@ package com.resonate.api;
 
 import com.resonate.api.dto.CreateReleaseRequest;
 import com.resonate.api.dto.CreateTrackRequest;
+import com.resonate.api.dto.CursorPage;
+import com.resonate.api.dto.PageCursor;
+import com.resonate.api.dto.ReleaseSummary;
+import com.resonate.api.dto.TrackSummary;
+import com.resonate.api.dto.TracklistEntry;
 import com.resonate.api.dto.UpdateReleaseRequest;
+import com.resonate.api.dto.ImportResult;
+import com.resonate.catalogue.CatalogueExporter;
+import com.resonate.catalogue.CatalogueImporter;
+import com.resonate.catalogue.ReleaseChanged;
+import com.resonate.catalogue.ReleaseJsonCache.CachedRelease;
+import com.resonate.catalogue.ReleaseReadModel;
+import com.resonate.catalogue.TracklistWriter;
 import com.resonate.domain.model.Release;
 import com.resonate.domain.model.Track;
 import com.resonate.domain.model.ArtistProfile;
 import com.resonate.infrastructure.repository.ReleaseRepository;
 import com.resonate.infrastructure.repository.ArtistProfileRepository;
-import io.quarkus.panache.common.Page;
-import io.quarkus.panache.common.Sort;
+import com.resonate.infrastructure.repository.TrackRepository;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.eclipse.microprofile.openapi.annotations.Operation;
 import org.eclipse.microprofile.openapi.annotations.tags.Tag;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
+import jakarta.enterprise.event.Event;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.EntityTag;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
 import lombok.extern.slf4j.Slf4j;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
 import java.util.List;
 import java.util.UUID;
 
@@ -30,19 +50,52 @@ import java.util.UUID;
 @Slf4j
 public class ReleaseResource {
 
+    static final int MAX_PAGE_SIZE = 100;
+    static final String NDJSON = "application/x-ndjson";
+
     @Inject
     ReleaseRepository releaseRepository;
     
     @Inject
     ArtistProfileRepository artistProfileRepository;
 
+    @Inject
+    TrackRepository trackRepository;
+
+    @Inject
+    CatalogueExporter catalogueExporter;
+
+    @Inject
+    CatalogueImporter catalogueImporter;
+
+    @Inject
+    ReleaseReadModel releaseReadModel;
+
+    @Inject
+    TracklistWriter tracklistWriter;
+
+    @Inject
+    Event<ReleaseChanged> releaseChanged;
+
+    @ConfigProperty(name = "catalogue.cache.maxAge", defaultValue = "60s")
+    Duration cacheMaxAge;
+
     @GET
-    public List<Release> getAllReleases() {
-        return releaseRepository.listAll();
+    @Operation(summary = "List releases", description = "Returns one page of releases, newest first")
+    @APIResponse(responseCode = "200", description = "Page of releases retrieved successfully")
+    @APIResponse(responseCode = "304", description = "Page unchanged since the ETag in If-None-Match")
+    @APIResponse(responseCode = "400", description = "Invalid cursor or page size")
+    public Response listReleases(
+            @QueryParam("cursor") String cursor,
+            @QueryParam("size") @DefaultValue("20") int size,
+            @Context Request request) {
+        return releasePage(cursor, size, request);
     }
 
     @GET
     @Path("/{id}")
+    @Operation(summary = "Get release", description = "Returns a release with its tracks. Each track's audio file "
+            + "is returned as its id in audioFileId, not embedded")
     public Release getRelease(@PathParam("id") Long id) {
         return releaseRepository.findById(id);
     }
@@ -93,6 +146,7 @@ public class ReleaseResource {
     @POST
     @Path("/{releaseId}/tracks")
     @Transactional
+    @Operation(summary = "Add a track", description = "The linked audio file is returned as its id in audioFileId, not embedded")
     public Response addTrack(@PathParam("releaseId") Long releaseId, CreateTrackRequest request) {
         Release release = releaseRepository.findById(releaseId);
         if (release == null) {
@@ -111,12 +165,36 @@ public class ReleaseResource {
 
         release.getTracks().add(track);
         releaseRepository.persist(release);
+        releaseChanged.fire(new ReleaseChanged(releaseId));
 
         return Response.status(Response.Status.CREATED)
                 .entity(track)
                 .build();
     }
 
+    @PUT
+    @Path("/{releaseId}/tracklist")
+    @Operation(summary = "Replace the tracklist", description = "Sets the order of all tracks of a release in one "
+            + "request: entries with an id update and move that track, entries without one create a new track. "
+            + "Every existing track must be listed")
+    @APIResponse(responseCode = "200", description = "Tracks of the release in their new order")
+    @APIResponse(responseCode = "400", description = "Invalid tracklist")
+    @APIResponse(responseCode = "404", description = "Release not found")
+    public Response replaceTracklist(@PathParam("releaseId") Long releaseId, List<TracklistEntry> entries) {
+        List<TrackSummary> tracks;
+        try {
+            tracks = tracklistWriter.replace(releaseId, entries);
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.BAD_REQUEST).entity(e.getMessage()).build();
+        }
+        if (tracks == null) {
+            return Response.status(Response.Status.NOT_FOUND)
+                    .entity("Release not found").build();
+        }
+        releaseChanged.fire(new ReleaseChanged(releaseId));
+        return Response.ok(tracks).build();
+    }
+
     @PUT
     @Path("/{id}")
     @Transactional
@@ -143,6 +221,7 @@ public class ReleaseResource {
         }
         
         releaseRepository.persist(release);
+        releaseChanged.fire(new ReleaseChanged(id));
         return Response.ok(release).build();
     }
 
@@ -159,39 +238,133 @@ public class ReleaseResource {
                     .entity("Release not found").build();
         }
         releaseRepository.delete(release);
+        releaseChanged.fire(new ReleaseChanged(id));
         return Response.noContent().build();
     }
 
     @GET
     @Path("/public")
-    @Operation(summary = "List all releases", description = "Returns a list of all published releases")
+    @Operation(summary = "List all releases", description = "Returns one page of published releases, newest first. "
+            + "Pass the nextCursor of a page as cursor to fetch the following page.")
     @APIResponse(responseCode = "200", description = "List of releases retrieved successfully")
+    @APIResponse(responseCode = "304", description = "Page unchanged since the ETag in If-None-Match")
+    @APIResponse(responseCode = "400", description = "Invalid cursor or page size")
     public Response getAllReleases(
-            @QueryParam("page") @DefaultValue("0") int page,
-            @QueryParam("size") @DefaultValue("20") int size) {
+            @QueryParam("cursor") String cursor,
+            @QueryParam("size") @DefaultValue("20") int size,
+            @Context Request request) {
+        return releasePage(cursor, size, request);
+    }
+
+    @GET
+    @Path("/{releaseId}/tracks")
+    @Operation(summary = "List tracks of a release", description = "Returns one page of a release's tracks")
+    @APIResponse(responseCode = "200", description = "Page of tracks retrieved successfully")
+    @APIResponse(responseCode = "400", description = "Invalid cursor or page size")
+    @APIResponse(responseCode = "404", description = "Release not found")
+    public Response getReleaseTracks(
+            @PathParam("releaseId") Long releaseId,
+            @QueryParam("cursor") String cursor,
+            @QueryParam("size") @DefaultValue("50") int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            return invalidPageSize();
+        }
+
+        PageCursor after;
+        try {
+            after = PageCursor.decodeTrack(cursor);
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.BAD_REQUEST).entity(e.getMessage()).build();
+        }
 
-        List<Release> releaseList = releaseRepository.findAll(Sort.by("releaseDate").descending())
-                .page(Page.of(page, size))
-                .list();
+        if (releaseRepository.count("id", releaseId) == 0) {
+            return Response.status(Response.Status.NOT_FOUND)
+                    .entity("Release not found").build();
+        }
 
-        return Response.ok(releaseList).build();
+        CursorPage<TrackSummary> tracks = trackRepository.findPageByReleaseId(releaseId, after, size);
+        return Response.ok(tracks).build();
+    }
+
+    private Response releasePage(String cursor, int size, Request request) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            return invalidPageSize();
+        }
+
+        PageCursor after;
+        try {
+            after = PageCursor.decodeRelease(cursor);
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.BAD_REQUEST).entity(e.getMessage()).build();
+        }
+
+        CursorPage<ReleaseSummary> releasePage = releaseRepository.findPublicPage(after, size);
+        EntityTag tag = ReleaseETags.page(releasePage);
+        Response.ResponseBuilder notModified = request.evaluatePreconditions(tag);
+        if (notModified != null) {
+            return cacheable(notModified, tag);
+        }
+        return cacheable(Response.ok(releasePage), tag);
+    }
+
+    // Catalogue reads are the same for every user, so shared caches (our CDN) may store them too
+    private Response cacheable(Response.ResponseBuilder response, EntityTag tag) {
+        return response.tag(tag)
+                .header("Cache-Control", "public, max-age=" + cacheMaxAge.toSeconds())
+                .build();
+    }
+
+    private Response invalidPageSize() {
+        return Response.status(Response.Status.BAD_REQUEST)
+                .entity("size must be between 1 and " + MAX_PAGE_SIZE)
+                .build();
+    }
+
+    @GET
+    @Path("/export")
+    @Produces(NDJSON)
+    @Operation(summary = "Export the catalogue", description = "Streams every release with its tracks as "
+            + "newline-delimited JSON, one release per line")
+    @APIResponse(responseCode = "200", description = "Catalogue export streamed successfully")
+    public Response exportCatalogue() {
+        StreamingOutput body = catalogueExporter::export;
+        return Response.ok(body, NDJSON)
+                .header("Content-Disposition", "attachment; filename=\"catalogue.ndjson\"")
+                .build();
+    }
+
+    @POST
+    @Path("/import")
+    @Consumes(NDJSON)
+    @Operation(summary = "Import releases", description = "Creates releases with their tracks from "
+            + "newline-delimited JSON, one release per line (the export format is accepted). Lines that cannot be "
+            + "imported are skipped and reported; the rest are written in chunked transactions")
+    @APIResponse(responseCode = "200", description = "Import finished, rejected lines are listed in errors")
+    public Response importCatalogue(InputStream body) throws IOException {
+        ImportResult result = catalogueImporter.importReleases(body);
+        return Response.ok(result).build();
     }
 
     @GET
     @Path("/public/{id}")
-    @Operation(summary = "Get release details", description = "Returns detailed information about a specific release including its tracks")
+    @Operation(summary = "Get release details", description = "Returns detailed information about a specific release "
+            + "including its tracks. Each track's audio file is returned as its id in audioFileId, not embedded")
     @APIResponse(responseCode = "200", description = "Release retrieved successfully")
+    @APIResponse(responseCode = "304", description = "Release unchanged since the ETag in If-None-Match")
     @APIResponse(responseCode = "404", description = "Release not found")
-    public Response getPublicReleaseDetails(@PathParam("id") Long id) {
-        Release release = releaseRepository.findById(id);
+    public Response getPublicReleaseDetails(@PathParam("id") Long id, @Context Request request) {
+        // Served from pre-serialized JSON: a cache hit touches neither Hibernate nor Jackson
+        CachedRelease release = releaseReadModel.find(id);
         if (release == null) {
             return Response.status(Response.Status.NOT_FOUND)
                     .entity("Release not found").build();
         }
-
-        List<Track> tracks = releaseRepository.findTracksByReleaseId(id);
-
-        return Response.ok(release).build();
+        EntityTag tag = ReleaseETags.release(id, release.version());
+        Response.ResponseBuilder notModified = request.evaluatePreconditions(tag);
+        if (notModified != null) {
+            return cacheable(notModified, tag);
+        }
+        return cacheable(Response.ok(release.json(), MediaType.APPLICATION_JSON_TYPE), tag);
     }
 
     @GET
@@ -0,0 +1,59 @@
+package com.resonate.api;
+
+import com.resonate.catalogue.CatalogueSearch;
+import com.resonate.catalogue.SearchQuery;
+import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
+import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+import jakarta.inject.Inject;
+import jakarta.persistence.QueryTimeoutException;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import org.jboss.logging.Logger;
+
+import java.util.Map;
+
+@Path("/api/search")
+@Tag(name = "Search", description = "Catalogue search")
+@Produces(MediaType.APPLICATION_JSON)
+public class SearchResource {
+    private static final Logger LOG = Logger.getLogger(SearchResource.class);
+
+    static final int MAX_LIMIT = 50;
+
+    @Inject
+    CatalogueSearch catalogueSearch;
+
+    @GET
+    @Operation(summary = "Search the catalogue",
+            description = "Searches release and track titles, ISRC/UPC codes and artist biographies. "
+                    + "Every word must match; words also match as prefixes, for search-as-you-type")
+    @APIResponse(responseCode = "200", description = "Results, best match first")
+    @APIResponse(responseCode = "400", description = "Empty query or invalid limit")
+    @APIResponse(responseCode = "503", description = "Search took too long, refine the query")
+    public Response search(
+            @QueryParam("q") String q,
+            @QueryParam("limit") @DefaultValue("20") int limit) {
+        String tsQuery = SearchQuery.toTsQuery(q);
+        if (tsQuery == null) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(Map.of("message", "q must contain at least one letter or digit"))
+                    .build();
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(Map.of("message", "limit must be between 1 and " + MAX_LIMIT))
+                    .build();
+        }
+
+        try {
+            return Response.ok(catalogueSearch.search(tsQuery, limit)).build();
+        } catch (QueryTimeoutException e) {
+            LOG.warnf("Search for '%s' timed out", tsQuery);
+            return Response.status(Response.Status.SERVICE_UNAVAILABLE)
+                    .entity(Map.of("message", "Search took too long, try a more specific query"))
+                    .build();
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.resonate.api;
 
 import com.resonate.api.dto.CreateTrackRequest;
+import com.resonate.catalogue.ReleaseChanged;
 import com.resonate.domain.model.Release;
 import com.resonate.domain.model.Track;
 import com.resonate.domain.media.AudioFile;
@@ -10,6 +11,7 @@ import com.resonate.infrastructure.repository.AudioFileRepository;
 import org.eclipse.microprofile.openapi.annotations.Operation;
 import org.eclipse.microprofile.openapi.annotations.tags.Tag;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
+import jakarta.enterprise.event.Event;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
 import jakarta.ws.rs.*;
@@ -33,9 +35,12 @@ public class TrackResource {
     @Inject
     AudioFileRepository audioFileRepository;
 
+    @Inject
+    Event<ReleaseChanged> releaseChanged;
+
     @POST
     @Transactional
-    @Operation(summary = "Create track")
+    @Operation(summary = "Create track", description = "The linked audio file is returned as its id in audioFileId, not embedded")
     @APIResponse(responseCode = "201", description = "Track created successfully")
     @APIResponse(responseCode = "404", description = "Release or Audio File not found")
     public Response createTrack(CreateTrackRequest request, @QueryParam("releaseId") Long releaseId) {
@@ -91,12 +96,14 @@ public class TrackResource {
         }
 
         trackRepository.persist(track);
+        releaseChanged.fire(new ReleaseChanged(releaseId));
         return Response.status(Response.Status.CREATED).entity(track).build();
     }
 
     @GET
     @Path("/{id}")
-    @Operation(summary = "Get track", description = "Retrieves a track by its ID")
+    @Operation(summary = "Get track", description = "Retrieves a track by its ID. "
+            + "The linked audio file is returned as its id in audioFileId, not embedded")
     @APIResponse(responseCode = "200", description = "Track retrieved successfully")
     @APIResponse(responseCode = "404", description = "Track not found")
     public Response getTrack(@PathParam("id") Long id) {
@@ -111,7 +118,7 @@ public class TrackResource {
     @PUT
     @Path("/{id}")
     @Transactional
-    @Operation(summary = "Update track")
+    @Operation(summary = "Update track", description = "The linked audio file is returned as its id in audioFileId, not embedded")
     @APIResponse(responseCode = "200", description = "Track updated successfully")
     @APIResponse(responseCode = "404", description = "Track not found")
     public Response updateTrack(@PathParam("id") Long id, CreateTrackRequest request) {
@@ -150,6 +157,7 @@ public class TrackResource {
         }
 
         trackRepository.persist(track);
+        releaseChanged.fire(new ReleaseChanged(track.getRelease().getId()));
         return Response.ok(track).build();
     }
 
@@ -166,6 +174,7 @@ public class TrackResource {
                     .entity("Track not found").build();
         }
         trackRepository.delete(track);
+        releaseChanged.fire(new ReleaseChanged(track.getRelease().getId()));
         return Response.noContent().build();
     }
 }
@@ -0,0 +1,20 @@
+package com.resonate.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BatchStreamingUrlRequest {
+    // Either a list of audio file IDs (e.g. a play queue) or a release ID, not both
+    @JsonProperty("audioFileIds")
+    private List<Long> audioFileIds;
+
+    @JsonProperty("releaseId")
+    private Long releaseId;
+
+    // Optional rendition (original, low, medium, high); files without it fall back to the original
+    @JsonProperty("quality")
+    private String quality;
+}
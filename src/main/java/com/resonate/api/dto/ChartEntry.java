@@ -0,0 +1,31 @@
+package com.resonate.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChartEntry {
+    private int rank;
+
+    @JsonProperty("trackId")
+    private Long trackId;
+
+    private String title;
+
+    @JsonProperty("releaseId")
+    private Long releaseId;
+
+    @JsonProperty("releaseTitle")
+    private String releaseTitle;
+
+    @JsonProperty("artistId")
+    private UUID artistId;
+
+    private long plays;
+}
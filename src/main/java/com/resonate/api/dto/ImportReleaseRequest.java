@@ -0,0 +1,28 @@
+package com.resonate.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * One line of a catalogue import: a release with its tracks. Lines of a catalogue export can be
+ * imported as they are; their IDs and timestamps are ignored.
+ */
+@Data
+public class ImportReleaseRequest {
+    @JsonProperty("artistId")
+    private UUID artistId;
+
+    private String title;
+
+    @JsonProperty("releaseDate")
+    private LocalDate releaseDate;
+
+    private String upc;
+
+    private List<CreateTrackRequest> tracks = new ArrayList<>();
+}
@@ -0,0 +1,29 @@
+package com.resonate.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a catalogue import. {@code errors} lists rejected lines (1-based) up to a limit;
+ * {@code failed} counts all of them.
+ */
+@Data
+@NoArgsConstructor
+public class ImportResult {
+    private int releases;
+    private int tracks;
+    private int failed;
+    private List<RowError> errors = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        private int line;
+        private String message;
+    }
+}
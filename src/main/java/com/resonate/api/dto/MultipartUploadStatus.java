@@ -0,0 +1,39 @@
+package com.resonate.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.resonate.domain.media.MultipartUploadPart;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class MultipartUploadStatus {
+    @JsonProperty("uploadId")
+    private Long uploadId;
+
+    @JsonProperty("fileKey")
+    private String fileKey;
+
+    @JsonProperty("status")
+    private String status;
+
+    @JsonProperty("fileSize")
+    private long fileSize;
+
+    @JsonProperty("partSize")
+    private long partSize;
+
+    @JsonProperty("partCount")
+    private int partCount;
+
+    // Parts the client has reported as uploaded, in part order
+    @JsonProperty("uploadedParts")
+    private List<MultipartUploadPart> uploadedParts;
+
+    // Part numbers still to upload; a resuming client only needs URLs for these
+    @JsonProperty("missingParts")
+    private List<Integer> missingParts;
+
+    @JsonProperty("audioFileId")
+    private Long audioFileId;
+}
@@ -0,0 +1,76 @@
+package com.resonate.api.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position of the last row of a keyset-paginated listing. Releases are ordered by
+ * (releaseDate, id) and tracks by (position, id), so the sort key is carried with the id.
+ * <p>
+ * Clients only ever see the encoded form, which is an opaque URL-safe token.
+ */
+public record PageCursor(LocalDate releaseDate, Integer position, long id) {
+
+    private static final String VERSION = "1";
+
+    public PageCursor(LocalDate releaseDate, long id) {
+        this(releaseDate, null, id);
+    }
+
+    public static PageCursor afterTrack(int position, long id) {
+        return new PageCursor(null, position, id);
+    }
+
+    public String encode() {
+        String raw = VERSION + "|" + (releaseDate != null ? releaseDate : "") + "|" + id
+                + (position != null ? "|" + position : "");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param token a token previously produced by {@link #encode()}, may be null or blank for the first page
+     * @return the decoded cursor, or null for the first page
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public static PageCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length < 3 || parts.length > 4 || !VERSION.equals(parts[0])) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            LocalDate releaseDate = parts[1].isEmpty() ? null : LocalDate.parse(parts[1]);
+            Integer position = parts.length == 4 ? Integer.valueOf(parts[3]) : null;
+            return new PageCursor(releaseDate, position, Long.parseLong(parts[2]));
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    /**
+     * Like {@link #decode(String)}, but also rejects a cursor of a track listing.
+     */
+    public static PageCursor decodeRelease(String token) {
+        PageCursor cursor = decode(token);
+        if (cursor != null && (cursor.releaseDate() == null || cursor.position() != null)) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        return cursor;
+    }
+
+    /**
+     * Like {@link #decode(String)}, but also rejects a cursor of a release listing.
+     */
+    public static PageCursor decodeTrack(String token) {
+        PageCursor cursor = decode(token);
+        if (cursor != null && (cursor.position() == null || cursor.releaseDate() != null)) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        return cursor;
+    }
+}
@@ -0,0 +1,14 @@
+package com.resonate.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+
+@Data
+public class PlayEventRequest {
+    @JsonProperty("trackId")
+    private Long trackId;
+
+    // How much of the track was played, optional
+    @JsonProperty("listenedMs")
+    private Integer listenedMs;
+}
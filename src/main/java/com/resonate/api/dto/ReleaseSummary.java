@@ -0,0 +1,54 @@
+package com.resonate.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Read-only projection of a release for catalogue listings. Built directly from
+ * JPQL constructor expressions so listing pages never load Release/Track entities.
+ */
+@Data
+@NoArgsConstructor
+public class ReleaseSummary {
+    private Long id;
+
+    @JsonProperty("artistId")
+    private UUID artistId;
+
+    private String title;
+
+    @JsonProperty("releaseDate")
+    private LocalDate releaseDate;
+
+    private String upc;
+
+    @JsonProperty("createdAt")
+    private OffsetDateTime createdAt;
+
+    private Long version;
+
+    private List<TrackSummary> tracks = new ArrayList<>();
+
+    public ReleaseSummary(Long id, UUID artistId, String title, LocalDate releaseDate, String upc,
+                          OffsetDateTime createdAt) {
+        this.id = id;
+        this.artistId = artistId;
+        this.title = title;
+        this.releaseDate = releaseDate;
+        this.upc = upc;
+        this.createdAt = createdAt;
+    }
+
+    public ReleaseSummary(Long id, UUID artistId, String title, LocalDate releaseDate, String upc,
+                          OffsetDateTime createdAt, Long version) {
+        this(id, artistId, title, releaseDate, upc, createdAt);
+        this.version = version;
+    }
+}
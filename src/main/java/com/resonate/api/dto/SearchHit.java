@@ -0,0 +1,31 @@
+package com.resonate.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * One search result. {@code id} is the release or track ID and is null for artists, which are
+ * identified by {@code artistId}; an artist's {@code title} is the start of their biography.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchHit {
+    private String type;
+
+    private Long id;
+
+    private String title;
+
+    @JsonProperty("artistId")
+    private UUID artistId;
+
+    @JsonProperty("releaseId")
+    private Long releaseId;
+
+    private float rank;
+}
@@ -0,0 +1,39 @@
+package com.resonate.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Read-only projection of a track for catalogue listings.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrackSummary {
+    @JsonIgnore
+    private Long releaseId;
+
+    private Long id;
+    private String title;
+    private int duration;
+    private String isrc;
+
+    @JsonProperty("filePath")
+    private String filePath;
+
+    @JsonProperty("fileSize")
+    private Long fileSize;
+
+    @JsonProperty("audioFileId")
+    private Long audioFileId;
+
+    @JsonProperty("createdAt")
+    private OffsetDateTime createdAt;
+
+    private Integer position;
+}
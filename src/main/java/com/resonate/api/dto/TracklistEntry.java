@@ -0,0 +1,15 @@
+package com.resonate.api.dto;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+/**
+ * One track of a full tracklist, in its new position. Entries with an id update that track (only
+ * the fields given are changed); entries without one create a new track and need the same fields
+ * as {@link CreateTrackRequest}.
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class TracklistEntry extends CreateTrackRequest {
+    private Long id;
+}
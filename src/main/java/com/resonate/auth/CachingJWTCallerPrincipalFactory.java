@@ -0,0 +1,33 @@
+package com.resonate.auth;
+
+import io.quarkus.security.UnauthorizedException;
+import io.smallrye.jwt.auth.principal.JWTAuthContextInfo;
+import io.smallrye.jwt.auth.principal.JWTCallerPrincipal;
+import io.smallrye.jwt.auth.principal.JWTCallerPrincipalFactory;
+import io.smallrye.jwt.auth.principal.ParseException;
+import jakarta.annotation.Priority;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Alternative;
+import jakarta.inject.Inject;
+
+/**
+ * Routes bearer token authentication through {@link SupabaseTokenVerifier}, so requests
+ * authenticated by quarkus-smallrye-jwt share its cache of verified tokens.
+ */
+@ApplicationScoped
+@Alternative
+@Priority(1)
+public class CachingJWTCallerPrincipalFactory extends JWTCallerPrincipalFactory {
+
+    @Inject
+    SupabaseTokenVerifier tokenVerifier;
+
+    @Override
+    public JWTCallerPrincipal parse(String token, JWTAuthContextInfo authContextInfo) throws ParseException {
+        try {
+            return tokenVerifier.verify(token);
+        } catch (UnauthorizedException e) {
+            throw new ParseException(e.getMessage(), e);
+        }
+    }
+}
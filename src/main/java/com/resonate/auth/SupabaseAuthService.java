@@ -1,21 +1,39 @@
 package com.resonate.auth;
 
+import com.resonate.metrics.MetricsConfiguration;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
 import jakarta.ws.rs.core.MediaType;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.jboss.logging.Logger;
 
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.quarkus.security.UnauthorizedException;
 
+/**
+ * Client for the Supabase Auth REST API.
+ * <p>
+ * All calls are non-blocking: they are sent with {@link HttpClient#sendAsync} over a single
+ * shared HTTP/2 client and return a future, so a slow Supabase never holds a request worker
+ * thread while waiting for a response.
+ */
 @ApplicationScoped
 public class SupabaseAuthService {
 
@@ -27,42 +45,63 @@ public class SupabaseAuthService {
     @ConfigProperty(name = "supabase.apiKey")
     String supabaseApiKey;
 
-    private final HttpClient httpClient;
+    @ConfigProperty(name = "supabase.connectTimeout", defaultValue = "5s")
+    Duration connectTimeout;
+
+    @ConfigProperty(name = "supabase.requestTimeout", defaultValue = "10s")
+    Duration requestTimeout;
+
+    @Inject
+    MeterRegistry registry;
+
+    private HttpClient httpClient;
     private final ObjectMapper objectMapper;
 
     public SupabaseAuthService() {
-        this.httpClient = HttpClient.newBuilder().build();
         this.objectMapper = new ObjectMapper();
     }
 
+    @PostConstruct
+    void initClient() {
+        // One client for the whole application so connections (and HTTP/2 streams) are reused
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(connectTimeout)
+                .build();
+    }
+
     /**
      * Registers a new user via Supabase Auth.
      *
      * @param email    the user's email.
      * @param password the user's password.
-     * @return an AuthResult containing the Supabase user ID and access token, or null if email confirmation is required.
-     * @throws Exception if registration fails.
+     * @return a future completing with an AuthResult containing the Supabase user ID and access token,
+     *         or with null if email confirmation is required. The future fails if registration fails.
      */
-    public AuthResult signUp(String email, String password) throws Exception {
+    public CompletableFuture<AuthResult> signUp(String email, String password) {
         LOG.info("Attempting to sign up user with email: " + email);
         
         Map<String, String> body = new HashMap<>();
         body.put("email", email);
         body.put("password", password);
 
-        String requestBody = objectMapper.writeValueAsString(body);
+        String requestBody = toJson(body);
         LOG.debug("Signup request body: " + requestBody);
 
         HttpRequest request = HttpRequest.newBuilder()
                 .uri(URI.create(supabaseUrl + "/auth/v1/signup"))
+                .timeout(requestTimeout)
                 .header("apikey", supabaseApiKey)
                 .header("Content-Type", MediaType.APPLICATION_JSON)
                 .POST(HttpRequest.BodyPublishers.ofString(requestBody))
                 .build();
 
         LOG.debug("Sending signup request to: " + supabaseUrl + "/auth/v1/signup");
-        
-        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+
+        return send("signUp", request, this::readSignUpResponse);
+    }
+
+    private AuthResult readSignUpResponse(HttpResponse<String> response) throws Exception {
         LOG.info("Signup response status: " + response.statusCode());
         LOG.debug("Signup response body: " + response.body());
         
@@ -111,29 +150,33 @@ public class SupabaseAuthService {
      *
      * @param email    the user's email.
      * @param password the user's password.
-     * @return an AuthResult containing the user ID and access token.
-     * @throws Exception if authentication fails.
+     * @return a future completing with an AuthResult containing the user ID and access token.
+     *         The future fails with an UnauthorizedException if the credentials are rejected.
      */
-    public AuthResult signIn(String email, String password) throws Exception {
+    public CompletableFuture<AuthResult> signIn(String email, String password) {
         LOG.info("Attempting to sign in user with email: " + email);
         
         Map<String, String> body = new HashMap<>();
         body.put("email", email);
         body.put("password", password);
 
-        String requestBody = objectMapper.writeValueAsString(body);
+        String requestBody = toJson(body);
         LOG.debug("Signin request body: " + requestBody);
 
         HttpRequest request = HttpRequest.newBuilder()
                 .uri(URI.create(supabaseUrl + "/auth/v1/token?grant_type=password"))
+                .timeout(requestTimeout)
                 .header("apikey", supabaseApiKey)
                 .header("Content-Type", MediaType.APPLICATION_JSON)
                 .POST(HttpRequest.BodyPublishers.ofString(requestBody))
                 .build();
 
         LOG.debug("Sending signin request to: " + supabaseUrl + "/auth/v1/token?grant_type=password");
-        
-        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+
+        return send("signIn", request, this::readSignInResponse);
+    }
+
+    private AuthResult readSignInResponse(HttpResponse<String> response) throws Exception {
         LOG.info("Signin response status: " + response.statusCode());
         LOG.debug("Signin response body: " + response.body());
         
@@ -167,14 +210,15 @@ public class SupabaseAuthService {
      * Deletes a user from Supabase Auth.
      *
      * @param userId The UUID of the user to delete.
-     * @throws Exception if deletion fails.
+     * @return a future that completes once the user is deleted, or fails if deletion fails.
      */
-    public void deleteUser(UUID userId) throws Exception {
+    public CompletableFuture<Void> deleteUser(UUID userId) {
         LOG.info("Attempting to delete user with ID: " + userId);
         
         // Supabase requires a specific format for user deletion
         HttpRequest request = HttpRequest.newBuilder()
             .uri(URI.create(supabaseUrl + "/auth/v1/admin/users/" + userId))
+            .timeout(requestTimeout)
             .header("apikey", supabaseApiKey)
             .header("Authorization", "Bearer " + supabaseApiKey) // Use the API key as the bearer token
             .header("Content-Type", MediaType.APPLICATION_JSON)
@@ -182,8 +226,14 @@ public class SupabaseAuthService {
             .build();
             
         LOG.debug("Sending delete request to: " + supabaseUrl + "/auth/v1/admin/users/" + userId);
-        
-        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+
+        return send("deleteUser", request, response -> {
+            readDeleteResponse(userId, response);
+            return null;
+        });
+    }
+
+    private void readDeleteResponse(UUID userId, HttpResponse<String> response) throws Exception {
         LOG.info("Delete user response status: " + response.statusCode());
         
         if (response.statusCode() != 200 && response.statusCode() != 204) {
@@ -200,6 +250,54 @@ public class SupabaseAuthService {
         LOG.info("Successfully deleted user with ID: " + userId);
     }
 
+    private <T> CompletableFuture<T> send(String operation, HttpRequest request, ResponseReader<T> reader) {
+        Timer.Sample sample = Timer.start(registry);
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .whenComplete((response, error) -> {
+                    String outcome = outcome(response, error);
+                    sample.stop(registry.timer(MetricsConfiguration.SUPABASE_REQUESTS,
+                            "operation", operation, "outcome", outcome));
+                    if (!"success".equals(outcome)) {
+                        registry.counter(MetricsConfiguration.SUPABASE_ERRORS,
+                                "operation", operation, "outcome", outcome).increment();
+                    }
+                })
+                .thenApply(response -> {
+                    try {
+                        return reader.read(response);
+                    } catch (RuntimeException e) {
+                        throw e;
+                    } catch (Exception e) {
+                        throw new CompletionException(e);
+                    }
+                });
+    }
+
+    private static String outcome(HttpResponse<String> response, Throwable error) {
+        if (error != null) {
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            return cause instanceof HttpTimeoutException ? "timeout" : "io_error";
+        }
+        int status = response.statusCode();
+        if (status >= 500) {
+            return "server_error";
+        }
+        return status >= 400 ? "client_error" : "success";
+    }
+
+    private String toJson(Map<String, String> body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface ResponseReader<T> {
+        T read(HttpResponse<String> response) throws Exception;
+    }
+
     public static class AuthResult {
         public final UUID userId;
         public final String token;
@@ -0,0 +1,91 @@
+package com.resonate.auth;
+
+import com.resonate.infrastructure.cache.BoundedCache;
+import io.quarkus.security.UnauthorizedException;
+import io.smallrye.jwt.algorithm.SignatureAlgorithm;
+import io.smallrye.jwt.auth.principal.DefaultJWTCallerPrincipalFactory;
+import io.smallrye.jwt.auth.principal.JWTAuthContextInfo;
+import io.smallrye.jwt.auth.principal.JWTCallerPrincipal;
+import io.smallrye.jwt.auth.principal.JWTCallerPrincipalFactory;
+import io.smallrye.jwt.auth.principal.ParseException;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Set;
+
+/**
+ * Verifies Supabase-issued access tokens locally, using the project's JWT secret and issuer,
+ * so no auth decision requires a round-trip to Supabase.
+ * <p>
+ * Verified tokens are cached until they expire: a token is parsed and its HMAC checked once,
+ * and every later request carrying it is a map lookup. Once {@code auth.tokenCache.maxSize}
+ * tokens are cached, the least recently used one makes room for the next.
+ */
+@ApplicationScoped
+public class SupabaseTokenVerifier {
+
+    private static final Logger LOG = Logger.getLogger(SupabaseTokenVerifier.class);
+
+    @ConfigProperty(name = "mp.jwt.verify.secret")
+    String secret;
+
+    @ConfigProperty(name = "mp.jwt.verify.issuer")
+    String issuer;
+
+    @ConfigProperty(name = "auth.tokenCache.maxSize", defaultValue = "10000")
+    int cacheMaxSize;
+
+    private final JWTCallerPrincipalFactory parser = new DefaultJWTCallerPrincipalFactory();
+    private BoundedCache<String, JWTCallerPrincipal> verifiedTokens;
+    private JWTAuthContextInfo authContextInfo;
+
+    @PostConstruct
+    void init() {
+        // Supabase signs access tokens with HS256 using the raw bytes of the project's JWT secret
+        authContextInfo = new JWTAuthContextInfo(
+                new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"), issuer);
+        authContextInfo.setSignatureAlgorithm(Set.of(SignatureAlgorithm.HS256));
+        verifiedTokens = BoundedCache.<String, JWTCallerPrincipal>builder(cacheMaxSize)
+                .expireAt(principal -> Instant.ofEpochSecond(principal.getExpirationTime()))
+                .build();
+    }
+
+    /**
+     * Verifies the signature, issuer and expiry of a token.
+     *
+     * @param token the raw JWT, without the "Bearer " prefix
+     * @return the verified token
+     * @throws UnauthorizedException if the token is missing, invalid or expired
+     */
+    public JWTCallerPrincipal verify(String token) {
+        if (token == null || token.isBlank()) {
+            throw new UnauthorizedException("Missing token");
+        }
+
+        // An expired token is no longer cached, so it is parsed again and rejected by the parser
+        JWTCallerPrincipal cached = verifiedTokens.getIfPresent(token);
+        if (cached != null) {
+            return cached;
+        }
+
+        JWTCallerPrincipal principal;
+        try {
+            principal = parser.parse(token, authContextInfo);
+        } catch (ParseException e) {
+            LOG.debug("Token verification failed: " + e.getMessage());
+            throw new UnauthorizedException("Invalid token");
+        }
+
+        verifiedTokens.put(token, principal);
+        return principal;
+    }
+
+    public int cachedTokenCount() {
+        return verifiedTokens.size();
+    }
+}
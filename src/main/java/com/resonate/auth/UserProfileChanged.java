@@ -0,0 +1,10 @@
+package com.resonate.auth;
+
+import java.util.UUID;
+
+/**
+ * Fired when a user's artist or fan profile is created or deleted, so the cached user type can be
+ * dropped once the changing transaction has committed.
+ */
+public record UserProfileChanged(UUID userId) {
+}
@@ -0,0 +1,66 @@
+package com.resonate.auth;
+
+import com.resonate.infrastructure.cache.BoundedCache;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.UUID;
+
+/**
+ * Resolves whether a user is an artist or a fan.
+ * <p>
+ * The lookup is a single query against both profile tables and its result is kept in a
+ * bounded in-process cache. Callers that create or delete profiles fire {@link UserProfileChanged};
+ * the cached type is dropped once their transaction has committed, and a lookup that overlaps the
+ * invalidation is not cached, so the cache never outlives the profile it describes.
+ */
+@ApplicationScoped
+public class UserTypeResolver {
+
+    public static final String ARTIST = "artist";
+    public static final String FAN = "fan";
+
+    private static final String USER_TYPE_QUERY = """
+            SELECT CASE
+                WHEN EXISTS (SELECT 1 FROM artist_profiles WHERE user_id = :userId) THEN 'artist'
+                WHEN EXISTS (SELECT 1 FROM fan_profiles WHERE user_id = :userId) THEN 'fan'
+            END
+            """;
+
+    @Inject
+    EntityManager em;
+
+    @ConfigProperty(name = "auth.userTypeCache.maxSize", defaultValue = "10000")
+    int cacheMaxSize;
+
+    private BoundedCache<UUID, String> userTypes;
+
+    @PostConstruct
+    void init() {
+        userTypes = BoundedCache.<UUID, String>builder(cacheMaxSize).build();
+    }
+
+    /**
+     * @param userId the user's UUID
+     * @return "artist", "fan", or null if no profile exists
+     */
+    public String resolve(UUID userId) {
+        // Users without a profile resolve to null, which is not cached: their profile may be created at any time
+        return userTypes.get(userId, id -> (String) em.createNativeQuery(USER_TYPE_QUERY)
+                .setParameter("userId", id)
+                .getSingleResult());
+    }
+
+    public void invalidate(UUID userId) {
+        userTypes.invalidate(userId);
+    }
+
+    void onProfileChanged(@Observes(during = TransactionPhase.AFTER_SUCCESS) UserProfileChanged event) {
+        invalidate(event.userId());
+    }
+}
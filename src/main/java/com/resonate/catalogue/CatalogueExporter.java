@@ -0,0 +1,142 @@
+package com.resonate.catalogue;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.resonate.api.dto.ReleaseSummary;
+import com.resonate.api.dto.TrackSummary;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Writes the whole catalogue as newline-delimited JSON, one release (with its tracks) per line.
+ * <p>
+ * Rows are read through a server-side cursor (non-autocommit connection with a fetch size)
+ * and written as soon as a release is complete, so memory use does not depend on the size
+ * of the catalogue.
+ */
+@ApplicationScoped
+public class CatalogueExporter {
+
+    private static final Logger LOG = Logger.getLogger(CatalogueExporter.class);
+
+    private static final String EXPORT_QUERY = """
+            SELECT r.id, r.artist_id, r.title, r.release_date, r.upc, r.created_at, r.version,
+                   t.id, t.title, t.duration, t.isrc, t.file_path, t.file_size, t.audio_file_id, t.created_at,
+                   t.position
+            FROM releases r
+            LEFT JOIN tracks t ON t.release_id = r.id
+            ORDER BY r.id, t.position, t.id
+            """;
+
+    @Inject
+    DataSource dataSource;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @ConfigProperty(name = "export.fetchSize", defaultValue = "500")
+    int fetchSize;
+
+    /**
+     * Streams the catalogue to {@code output}. The stream is flushed after every fetched batch
+     * but not closed.
+     *
+     * @return the number of releases written
+     */
+    public long export(OutputStream output) throws IOException {
+        ObjectWriter writer = lineWriter(objectMapper);
+        long releases = 0;
+
+        try (Connection connection = dataSource.getConnection()) {
+            // PostgreSQL only uses a cursor (instead of buffering the full result) outside autocommit
+            connection.setAutoCommit(false);
+            connection.setReadOnly(true);
+
+            try (PreparedStatement statement = connection.prepareStatement(
+                    EXPORT_QUERY, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                 JsonGenerator generator = objectMapper.getFactory().createGenerator(output)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                statement.setFetchSize(fetchSize);
+
+                try (ResultSet rs = statement.executeQuery()) {
+                    ReleaseSummary current = null;
+                    int rowsSinceFlush = 0;
+                    while (rs.next()) {
+                        long releaseId = rs.getLong(1);
+                        if (current == null || current.getId() != releaseId) {
+                            if (current != null) {
+                                writeLine(writer, generator, current);
+                                releases++;
+                            }
+                            current = new ReleaseSummary(releaseId,
+                                    rs.getObject(2, UUID.class),
+                                    rs.getString(3),
+                                    rs.getObject(4, LocalDate.class),
+                                    rs.getString(5),
+                                    rs.getObject(6, OffsetDateTime.class),
+                                    rs.getObject(7, Long.class));
+                        }
+
+                        long trackId = rs.getLong(8);
+                        if (!rs.wasNull()) {
+                            current.getTracks().add(new TrackSummary(releaseId, trackId,
+                                    rs.getString(9),
+                                    rs.getInt(10),
+                                    rs.getString(11),
+                                    rs.getString(12),
+                                    rs.getObject(13, Long.class),
+                                    rs.getObject(14, Long.class),
+                                    rs.getObject(15, OffsetDateTime.class),
+                                    rs.getObject(16, Integer.class)));
+                        }
+
+                        if (++rowsSinceFlush >= fetchSize) {
+                            generator.flush();
+                            rowsSinceFlush = 0;
+                        }
+                    }
+                    if (current != null) {
+                        writeLine(writer, generator, current);
+                        releases++;
+                    }
+                }
+                generator.flush();
+            } finally {
+                connection.rollback();
+            }
+        } catch (SQLException e) {
+            LOG.error("Catalogue export failed after " + releases + " releases", e);
+            throw new IOException("Catalogue export failed", e);
+        }
+
+        LOG.info("Exported " + releases + " releases");
+        return releases;
+    }
+
+    /**
+     * Every release is a root-level value of the same generator; without an empty separator Jackson would
+     * write its default " " before each one after the first.
+     */
+    static ObjectWriter lineWriter(ObjectMapper objectMapper) {
+        return objectMapper.writerFor(ReleaseSummary.class).withRootValueSeparator("");
+    }
+
+    static void writeLine(ObjectWriter writer, JsonGenerator generator, ReleaseSummary release) throws IOException {
+        writer.writeValue(generator, release);
+        generator.writeRaw('\n');
+    }
+}
@@ -0,0 +1,320 @@
+package com.resonate.catalogue;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.resonate.api.dto.CreateTrackRequest;
+import com.resonate.api.dto.ImportReleaseRequest;
+import com.resonate.api.dto.ImportResult;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import javax.sql.DataSource;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Imports releases with their tracks from newline-delimited JSON, one release per line (the format
+ * written by {@link CatalogueExporter}).
+ * <p>
+ * Lines are read as they arrive and written in chunks of {@code import.chunkSize} releases, one
+ * transaction per chunk. IDs for a whole chunk are drawn from the table sequences in one query, so
+ * releases and their tracks are sent as JDBC batches of {@code import.batchSize} statements without
+ * waiting for generated keys. Invalid lines are reported and skipped; if a chunk still fails, its
+ * releases are retried one at a time so only the offending lines are rejected.
+ */
+@ApplicationScoped
+public class CatalogueImporter {
+
+    private static final Logger LOG = Logger.getLogger(CatalogueImporter.class);
+
+    static final int MAX_CODE_LENGTH = 50;
+
+    private static final String INSERT_RELEASE =
+            "INSERT INTO releases (id, artist_id, title, release_date, upc) VALUES (?, ?, ?, ?, ?)";
+    private static final String INSERT_TRACK = "INSERT INTO tracks "
+            + "(id, release_id, title, duration, isrc, file_path, file_size, audio_file_id, position) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Inject
+    DataSource dataSource;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @ConfigProperty(name = "import.chunkSize", defaultValue = "500")
+    int chunkSize;
+
+    @ConfigProperty(name = "import.batchSize", defaultValue = "100")
+    int batchSize;
+
+    @ConfigProperty(name = "import.maxReportedErrors", defaultValue = "1000")
+    int maxReportedErrors;
+
+    public ImportResult importReleases(InputStream input) throws IOException {
+        ImportResult result = new ImportResult();
+        List<Row> chunk = new ArrayList<>(chunkSize);
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        int lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+
+            ImportReleaseRequest release;
+            try {
+                release = objectMapper.readValue(line, ImportReleaseRequest.class);
+            } catch (JsonProcessingException e) {
+                reject(result, lineNumber, "Invalid JSON: " + e.getOriginalMessage());
+                continue;
+            }
+            String error = validate(release);
+            if (error != null) {
+                reject(result, lineNumber, error);
+                continue;
+            }
+
+            chunk.add(new Row(lineNumber, release));
+            if (chunk.size() >= chunkSize) {
+                writeChunk(chunk, result);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            writeChunk(chunk, result);
+        }
+
+        LOG.info("Imported " + result.getReleases() + " releases with " + result.getTracks() + " tracks, "
+                + result.getFailed() + " lines rejected");
+        return result;
+    }
+
+    private void writeChunk(List<Row> chunk, ImportResult result) {
+        List<Row> pending = new ArrayList<>(chunk);
+        try (Connection connection = dataSource.getConnection()) {
+            pending = withKnownReferences(connection, pending, result);
+            if (pending.isEmpty()) {
+                return;
+            }
+
+            connection.setAutoCommit(false);
+            try {
+                insert(connection, pending);
+                connection.commit();
+                imported(pending, result);
+                return;
+            } catch (SQLException e) {
+                connection.rollback();
+                LOG.warn("Import chunk failed, retrying its " + pending.size() + " releases one at a time", e);
+            }
+
+            while (!pending.isEmpty()) {
+                Row row = pending.get(0);
+                try {
+                    insert(connection, List.of(row));
+                    connection.commit();
+                    imported(List.of(row), result);
+                } catch (SQLException e) {
+                    connection.rollback();
+                    reject(result, row.line(), e.getMessage());
+                }
+                pending.remove(0);
+            }
+        } catch (SQLException e) {
+            LOG.error("Import chunk failed", e);
+            for (Row row : pending) {
+                reject(result, row.line(), "Not imported: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Rejects releases whose artist or audio files do not exist, with one query for the whole chunk,
+     * rather than letting a foreign key violation fail the batch.
+     */
+    private List<Row> withKnownReferences(Connection connection, List<Row> rows, ImportResult result)
+            throws SQLException {
+        Set<UUID> artistIds = new HashSet<>();
+        Set<Long> audioFileIds = new HashSet<>();
+        for (Row row : rows) {
+            artistIds.add(row.release().getArtistId());
+            for (CreateTrackRequest track : row.release().getTracks()) {
+                if (track.getAudioFileId() != null) {
+                    audioFileIds.add(track.getAudioFileId());
+                }
+            }
+        }
+        Set<Object> knownArtists = existing(connection,
+                "SELECT user_id FROM artist_profiles WHERE user_id = ANY(?)", "uuid", artistIds.toArray());
+        Set<Object> knownAudioFiles = audioFileIds.isEmpty() ? Set.of() : existing(connection,
+                "SELECT id::bigint FROM audio_files WHERE id = ANY(?)", "bigint", audioFileIds.toArray());
+
+        List<Row> known = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            if (!knownArtists.contains(row.release().getArtistId())) {
+                reject(result, row.line(), "Artist profile not found");
+                continue;
+            }
+            Long missingAudioFile = row.release().getTracks().stream()
+                    .map(CreateTrackRequest::getAudioFileId)
+                    .filter(id -> id != null && !knownAudioFiles.contains(id))
+                    .findFirst()
+                    .orElse(null);
+            if (missingAudioFile != null) {
+                reject(result, row.line(), "Audio file not found: " + missingAudioFile);
+                continue;
+            }
+            known.add(row);
+        }
+        return known;
+    }
+
+    static Set<Object> existing(Connection connection, String sql, String type, Object[] ids) throws SQLException {
+        Set<Object> found = new HashSet<>();
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setArray(1, connection.createArrayOf(type, ids));
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    found.add(rs.getObject(1));
+                }
+            }
+        }
+        return found;
+    }
+
+    private void insert(Connection connection, List<Row> rows) throws SQLException {
+        SequenceIds.batchTrackWrites(connection);
+
+        int trackCount = rows.stream().mapToInt(row -> row.release().getTracks().size()).sum();
+        long[] releaseIds = SequenceIds.allocate(connection, "releases_id_seq", rows.size());
+        long[] trackIds = SequenceIds.allocate(connection, "tracks_id_seq", trackCount);
+
+        try (PreparedStatement releases = connection.prepareStatement(INSERT_RELEASE)) {
+            for (int i = 0; i < rows.size(); i++) {
+                ImportReleaseRequest release = rows.get(i).release();
+                releases.setLong(1, releaseIds[i]);
+                releases.setObject(2, release.getArtistId());
+                releases.setString(3, release.getTitle());
+                releases.setObject(4, release.getReleaseDate());
+                releases.setString(5, release.getUpc());
+                releases.addBatch();
+                if ((i + 1) % batchSize == 0) {
+                    releases.executeBatch();
+                }
+            }
+            releases.executeBatch();
+        }
+
+        // Releases are all written first: each track's foreign key is checked as it is inserted
+        try (PreparedStatement tracks = connection.prepareStatement(INSERT_TRACK)) {
+            int t = 0;
+            for (int i = 0; i < rows.size(); i++) {
+                List<CreateTrackRequest> releaseTracks = rows.get(i).release().getTracks();
+                for (int position = 1; position <= releaseTracks.size(); position++) {
+                    CreateTrackRequest track = releaseTracks.get(position - 1);
+                    tracks.setLong(1, trackIds[t]);
+                    tracks.setLong(2, releaseIds[i]);
+                    tracks.setString(3, track.getTitle());
+                    tracks.setInt(4, track.getDuration());
+                    tracks.setString(5, track.getIsrc());
+                    tracks.setString(6, track.getFilePath());
+                    setNullableLong(tracks, 7, track.getFileSize());
+                    setNullableLong(tracks, 8, track.getAudioFileId());
+                    tracks.setInt(9, position);
+                    tracks.addBatch();
+                    if (++t % batchSize == 0) {
+                        tracks.executeBatch();
+                    }
+                }
+            }
+            tracks.executeBatch();
+        }
+    }
+
+    static void setNullableLong(PreparedStatement statement, int index, Long value) throws SQLException {
+        if (value == null) {
+            statement.setNull(index, Types.BIGINT);
+        } else {
+            statement.setLong(index, value);
+        }
+    }
+
+    private static String validate(ImportReleaseRequest release) {
+        if (release.getArtistId() == null) {
+            return "artistId is required";
+        }
+        if (release.getTitle() == null || release.getTitle().trim().isEmpty()) {
+            return "title is required";
+        }
+        if (release.getReleaseDate() == null) {
+            return "releaseDate is required";
+        }
+        if (release.getUpc() != null && release.getUpc().length() > MAX_CODE_LENGTH) {
+            return "upc must be at most " + MAX_CODE_LENGTH + " characters";
+        }
+        if (release.getTracks() == null) {
+            release.setTracks(new ArrayList<>());
+        }
+        for (int i = 0; i < release.getTracks().size(); i++) {
+            CreateTrackRequest track = release.getTracks().get(i);
+            String error = validate(track);
+            if (error != null) {
+                return "tracks[" + i + "]: " + error;
+            }
+        }
+        return null;
+    }
+
+    static String validate(CreateTrackRequest track) {
+        if (track == null) {
+            return "track is required";
+        }
+        if (track.getTitle() == null || track.getTitle().trim().isEmpty()) {
+            return "title is required";
+        }
+        if (track.getDuration() == null || track.getDuration() <= 0) {
+            return "duration must be greater than 0";
+        }
+        if (track.getFilePath() == null || track.getFilePath().trim().isEmpty()) {
+            return "filePath is required";
+        }
+        if (track.getIsrc() != null && track.getIsrc().length() > MAX_CODE_LENGTH) {
+            return "isrc must be at most " + MAX_CODE_LENGTH + " characters";
+        }
+        return null;
+    }
+
+    private void imported(List<Row> rows, ImportResult result) {
+        for (Row row : rows) {
+            result.setReleases(result.getReleases() + 1);
+            result.setTracks(result.getTracks() + row.release().getTracks().size());
+        }
+    }
+
+    private void reject(ImportResult result, int line, String message) {
+        result.setFailed(result.getFailed() + 1);
+        if (result.getErrors().size() < maxReportedErrors) {
+            result.getErrors().add(new ImportResult.RowError(line, message));
+        }
+    }
+
+    private record Row(int line, ImportReleaseRequest release) {
+    }
+}
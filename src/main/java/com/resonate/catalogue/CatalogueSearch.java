@@ -0,0 +1,88 @@
+package com.resonate.catalogue;
+
+import com.resonate.api.dto.SearchHit;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Ranked full-text search over releases, tracks and artist biographies, using the generated
+ * {@code search_vector} columns and their GIN indexes. Each kind is ranked and limited on its own,
+ * then merged by rank in the same statement, so a search is a single round trip. The statement is
+ * cancelled by PostgreSQL after {@code search.statementTimeout}.
+ */
+@ApplicationScoped
+public class CatalogueSearch {
+
+    private static final String SEARCH_QUERY = """
+            WITH q AS (SELECT to_tsquery('simple', :query) AS query)
+            SELECT * FROM (
+                (SELECT 'release' AS type, r.id::bigint AS id, r.title, r.artist_id, r.id::bigint AS release_id,
+                        ts_rank(r.search_vector, q.query) AS rank
+                 FROM releases r, q
+                 WHERE r.search_vector @@ q.query
+                 ORDER BY rank DESC
+                 LIMIT :limit)
+                UNION ALL
+                (SELECT 'track', t.id::bigint, t.title, r.artist_id, t.release_id::bigint,
+                        ts_rank(t.search_vector, q.query)
+                 FROM tracks t JOIN releases r ON r.id = t.release_id, q
+                 WHERE t.search_vector @@ q.query
+                 ORDER BY 6 DESC
+                 LIMIT :limit)
+                UNION ALL
+                (SELECT 'artist', NULL::bigint, left(a.biography, 140), a.user_id, NULL::bigint,
+                        ts_rank(a.search_vector, q.query)
+                 FROM artist_profiles a, q
+                 WHERE a.search_vector @@ q.query
+                 ORDER BY 6 DESC
+                 LIMIT :limit)
+            ) hits
+            ORDER BY rank DESC, type, id
+            LIMIT :limit
+            """;
+
+    @ConfigProperty(name = "search.statementTimeout", defaultValue = "250ms")
+    Duration statementTimeout;
+
+    @Inject
+    EntityManager entityManager;
+
+    /**
+     * @param tsQuery an expression built by {@link SearchQuery#toTsQuery}
+     * @throws jakarta.persistence.QueryTimeoutException if the search takes longer than the timeout
+     */
+    @Transactional
+    @SuppressWarnings("unchecked")
+    public List<SearchHit> search(String tsQuery, int limit) {
+        entityManager.createNativeQuery("SELECT set_config('statement_timeout', :timeout, true)")
+                .setParameter("timeout", statementTimeout.toMillis() + "ms")
+                .getSingleResult();
+
+        List<Object[]> rows = entityManager.createNativeQuery(SEARCH_QUERY)
+                .setParameter("query", tsQuery)
+                .setParameter("limit", limit)
+                .getResultList();
+        List<SearchHit> hits = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            hits.add(new SearchHit((String) row[0], toLong(row[1]), (String) row[2], toUuid(row[3]),
+                    toLong(row[4]), ((Number) row[5]).floatValue()));
+        }
+        return hits;
+    }
+
+    private static Long toLong(Object value) {
+        return value == null ? null : ((Number) value).longValue();
+    }
+
+    private static UUID toUuid(Object value) {
+        return value instanceof UUID uuid ? uuid : UUID.fromString(value.toString());
+    }
+}
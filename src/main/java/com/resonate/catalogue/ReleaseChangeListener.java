@@ -0,0 +1,107 @@
+package com.resonate.catalogue;
+
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+/**
+ * Keeps this instance's release cache coherent with changes made anywhere: database triggers NOTIFY
+ * the {@value #CHANNEL} channel with the release ID when a change commits, and this listener, on a
+ * connection of its own, evicts the release from {@link ReleaseReadModel}. Notifications sent while
+ * the connection is down are lost, so the whole cache is dropped every time it (re)connects.
+ * <p>
+ * LISTEN needs a session-level connection: it does not work through a transaction-mode pooler such
+ * as PgBouncer.
+ */
+@ApplicationScoped
+public class ReleaseChangeListener {
+    private static final Logger LOG = Logger.getLogger(ReleaseChangeListener.class);
+
+    static final String CHANNEL = "release_changed";
+    private static final int POLL_MILLIS = 1000;
+
+    @ConfigProperty(name = "catalogue.invalidation.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "catalogue.invalidation.reconnectDelay", defaultValue = "5s")
+    Duration reconnectDelay;
+
+    @Inject
+    DataSource dataSource;
+
+    @Inject
+    ReleaseReadModel releaseReadModel;
+
+    private volatile boolean running;
+    private Thread thread;
+
+    void onStart(@Observes StartupEvent ev) {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        thread = new Thread(this::listen, "release-change-listener");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    void onStop(@Observes ShutdownEvent ev) throws InterruptedException {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+            thread.join(POLL_MILLIS * 2L);
+        }
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = dataSource.getConnection();
+                 Statement statement = connection.createStatement()) {
+                statement.execute("LISTEN " + CHANNEL);
+                releaseReadModel.invalidateAll();
+                LOG.info("Listening for release changes");
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_MILLIS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            evict(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                LOG.warn("Release change listener disconnected, reconnecting in " + reconnectDelay, e);
+                releaseReadModel.invalidateAll();
+                try {
+                    Thread.sleep(reconnectDelay.toMillis());
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void evict(String payload) {
+        try {
+            releaseReadModel.invalidate(Long.parseLong(payload));
+        } catch (NumberFormatException e) {
+            LOG.warn("Ignoring release change notification with payload '" + payload + "'");
+        }
+    }
+}
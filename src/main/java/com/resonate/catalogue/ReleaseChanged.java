@@ -0,0 +1,8 @@
+package com.resonate.catalogue;
+
+/**
+ * Fired when a release or its track list is changed, so cached copies of the release can be
+ * dropped once the changing transaction has committed.
+ */
+public record ReleaseChanged(Long releaseId) {
+}
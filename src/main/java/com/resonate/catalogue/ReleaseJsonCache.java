@@ -0,0 +1,78 @@
+package com.resonate.catalogue;
+
+import com.resonate.infrastructure.cache.BoundedCache;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.function.LongFunction;
+
+/**
+ * Cache of serialized releases, bounded by the total size of the cached JSON rather than by the
+ * number of entries, with least recently used entries evicted first. Entries also expire after
+ * {@code ttl}, which bounds how stale a copy can get if an invalidation is missed.
+ * <p>
+ * Releases are loaded outside the lock. A load that overlaps an invalidation is returned to its
+ * caller but not cached, so a copy read before a change committed never outlives the invalidation.
+ */
+public class ReleaseJsonCache {
+
+    private final BoundedCache<Long, CachedRelease> releases;
+
+    public ReleaseJsonCache(long maxBytes, Duration ttl) {
+        this(maxBytes, ttl, Clock.systemUTC());
+    }
+
+    public ReleaseJsonCache(long maxBytes, Duration ttl, Clock clock) {
+        if (maxBytes < 1) {
+            throw new IllegalArgumentException("maxBytes must be at least 1");
+        }
+        this.releases = BoundedCache.<Long, CachedRelease>builder(maxBytes)
+                .weigher((releaseId, release) -> release.json().length)
+                .expireAfterWrite(ttl)
+                .clock(clock)
+                .build();
+    }
+
+    /**
+     * Returns the cached release, or loads it with {@code loader}.
+     *
+     * @return the release, or null if {@code loader} found none (which is not cached)
+     */
+    public CachedRelease get(long releaseId, LongFunction<CachedRelease> loader) {
+        return releases.get(releaseId, loader::apply);
+    }
+
+    public void invalidate(long releaseId) {
+        releases.invalidate(releaseId);
+    }
+
+    public void clear() {
+        releases.clear();
+    }
+
+    public int size() {
+        return releases.size();
+    }
+
+    public long cachedBytes() {
+        return releases.weight();
+    }
+
+    public long hitCount() {
+        return releases.hitCount();
+    }
+
+    public long missCount() {
+        return releases.missCount();
+    }
+
+    public long evictionCount() {
+        return releases.evictionCount();
+    }
+
+    /**
+     * A release serialized as JSON, with the version it was serialized at.
+     */
+    public record CachedRelease(long version, byte[] json) {
+    }
+}
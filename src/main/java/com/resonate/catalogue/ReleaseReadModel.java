@@ -0,0 +1,90 @@
+package com.resonate.catalogue;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.resonate.catalogue.ReleaseJsonCache.CachedRelease;
+import com.resonate.domain.model.Release;
+import com.resonate.infrastructure.repository.ReleaseRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.runtime.configuration.MemorySize;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.io.UncheckedIOException;
+import java.time.Duration;
+
+/**
+ * Public release details as pre-serialized JSON. A cache hit costs neither a query nor Jackson;
+ * entries are dropped after a {@link ReleaseChanged} commits on this instance, when
+ * {@link ReleaseChangeListener} hears of a change from any instance, and after
+ * {@code catalogue.releaseCache.ttl} in any case.
+ */
+@ApplicationScoped
+public class ReleaseReadModel {
+
+    @ConfigProperty(name = "catalogue.releaseCache.maxSize", defaultValue = "64M")
+    MemorySize maxSize;
+
+    @ConfigProperty(name = "catalogue.releaseCache.ttl", defaultValue = "5m")
+    Duration ttl;
+
+    @Inject
+    ReleaseRepository releaseRepository;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @Inject
+    MeterRegistry registry;
+
+    private ReleaseJsonCache cache;
+
+    @PostConstruct
+    void init() {
+        cache = new ReleaseJsonCache(maxSize.asLongValue(), ttl);
+        Gauge.builder("catalogue.release.cache.bytes", cache, ReleaseJsonCache::cachedBytes).register(registry);
+        FunctionCounter.builder("catalogue.release.cache.requests", cache, ReleaseJsonCache::hitCount)
+                .tag("result", "hit").register(registry);
+        FunctionCounter.builder("catalogue.release.cache.requests", cache, ReleaseJsonCache::missCount)
+                .tag("result", "miss").register(registry);
+        FunctionCounter.builder("catalogue.release.cache.evictions", cache, ReleaseJsonCache::evictionCount)
+                .register(registry);
+    }
+
+    /**
+     * @return the release as JSON, or null if it does not exist
+     */
+    public CachedRelease find(Long releaseId) {
+        return cache.get(releaseId, this::load);
+    }
+
+    public void invalidate(Long releaseId) {
+        cache.invalidate(releaseId);
+    }
+
+    public void invalidateAll() {
+        cache.clear();
+    }
+
+    void onReleaseChanged(@Observes(during = TransactionPhase.AFTER_SUCCESS) ReleaseChanged event) {
+        cache.invalidate(event.releaseId());
+    }
+
+    private CachedRelease load(long releaseId) {
+        Release release = releaseRepository.findById(releaseId);
+        if (release == null) {
+            return null;
+        }
+        try {
+            return new CachedRelease(release.getVersion(), objectMapper.writeValueAsBytes(release));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
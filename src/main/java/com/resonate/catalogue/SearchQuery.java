@@ -0,0 +1,54 @@
+package com.resonate.catalogue;
+
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Turns what a user typed into a {@code to_tsquery('simple', ...)} expression. Every word must match
+ * and every word of two characters or more also matches as a prefix, so results keep up while the
+ * user is still typing. Only letters and digits survive, so the expression never contains tsquery
+ * operators from the input.
+ */
+public final class SearchQuery {
+
+    static final int MAX_TERMS = 8;
+    static final int MIN_PREFIX_LENGTH = 2;
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private SearchQuery() {
+    }
+
+    /**
+     * @return the tsquery expression, or null if the text contains no searchable word
+     */
+    public static String toTsQuery(String text) {
+        if (text == null) {
+            return null;
+        }
+        Set<String> terms = new LinkedHashSet<>();
+        for (String word : SEPARATORS.split(text.toLowerCase(Locale.ROOT))) {
+            if (!word.isEmpty() && terms.size() < MAX_TERMS) {
+                terms.add(word);
+            }
+        }
+        if (terms.isEmpty()) {
+            return null;
+        }
+
+        StringBuilder query = new StringBuilder();
+        for (String term : terms) {
+            if (!query.isEmpty()) {
+                query.append(" & ");
+            }
+            query.append(term);
+            // A one-letter prefix would match a large share of the catalogue
+            if (term.length() >= MIN_PREFIX_LENGTH) {
+                query.append(":*");
+            }
+        }
+        return query.toString();
+    }
+}
@@ -0,0 +1,45 @@
+package com.resonate.catalogue;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Draws IDs from a table's sequence ahead of a batched insert, in a single query, so rows can
+ * reference each other before any of them is written.
+ */
+final class SequenceIds {
+
+    private SequenceIds() {
+    }
+
+    static long[] allocate(Connection connection, String sequence, int count) throws SQLException {
+        long[] ids = new long[count];
+        if (count == 0) {
+            return ids;
+        }
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT nextval(?::regclass) FROM generate_series(1, ?)")) {
+            statement.setString(1, sequence);
+            statement.setInt(2, count);
+            try (ResultSet rs = statement.executeQuery()) {
+                for (int i = 0; rs.next(); i++) {
+                    ids[i] = rs.getLong(1);
+                }
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Makes the track triggers skip their per-row release update for the rest of the current
+     * transaction; the caller touches the affected releases itself (or creates them).
+     */
+    static void batchTrackWrites(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT set_config('resonate.batch_track_writes', 'on', true)")) {
+            statement.execute();
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package com.resonate.catalogue;
+
+import com.resonate.api.dto.CreateTrackRequest;
+import com.resonate.api.dto.TrackSummary;
+import com.resonate.api.dto.TracklistEntry;
+import com.resonate.infrastructure.repository.TrackRepository;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Replaces the tracklist of a release in one transaction: listed tracks are updated and renumbered,
+ * new ones are inserted, as JDBC batches of {@code tracklist.batchSize} statements.
+ * <p>
+ * Only the ids and positions of the current tracks are read, never the track entities, and tracks
+ * whose position and fields are unchanged are not written. The per-track release trigger is switched
+ * off for the transaction so the release is touched, and its version bumped, once.
+ */
+@ApplicationScoped
+public class TracklistWriter {
+
+    private static final String UPDATE_TRACK = "UPDATE tracks SET title = COALESCE(?, title), "
+            + "duration = COALESCE(?, duration), isrc = COALESCE(?, isrc), file_path = COALESCE(?, file_path), "
+            + "file_size = COALESCE(?, file_size), audio_file_id = COALESCE(?, audio_file_id), position = ? "
+            + "WHERE id = ?";
+    private static final String INSERT_TRACK = "INSERT INTO tracks "
+            + "(id, release_id, title, duration, isrc, file_path, file_size, audio_file_id, position) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Inject
+    DataSource dataSource;
+
+    @Inject
+    TrackRepository trackRepository;
+
+    @ConfigProperty(name = "tracklist.batchSize", defaultValue = "100")
+    int batchSize;
+
+    /**
+     * @param entries every track of the release, existing and new, in their new order
+     * @return the tracks of the release in their new order, or null if the release does not exist
+     * @throws IllegalArgumentException if the tracklist is invalid, in which case nothing is written
+     */
+    @Transactional
+    public List<TrackSummary> replace(long releaseId, List<TracklistEntry> entries) {
+        // Enlisted in the current transaction, so the summaries below see these writes
+        try (Connection connection = dataSource.getConnection()) {
+            if (!lockRelease(connection, releaseId)) {
+                return null;
+            }
+            Map<Long, Integer> positions = currentPositions(connection, releaseId);
+            String error = validate(entries, positions.keySet());
+            if (error == null) {
+                error = missingAudioFile(connection, entries);
+            }
+            if (error != null) {
+                throw new IllegalArgumentException(error);
+            }
+
+            SequenceIds.batchTrackWrites(connection);
+            if (write(connection, releaseId, entries, positions)) {
+                try (PreparedStatement touch = connection.prepareStatement(
+                        "UPDATE releases SET updated_at = now() WHERE id = ?")) {
+                    touch.setLong(1, releaseId);
+                    touch.executeUpdate();
+                }
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not write the tracklist of release " + releaseId, e);
+        }
+        return trackRepository.findSummariesByReleaseId(releaseId);
+    }
+
+    /**
+     * Checks that the tracklist names every existing track exactly once and that new tracks are complete.
+     *
+     * @return the first problem found, or null if the tracklist is valid
+     */
+    static String validate(List<TracklistEntry> entries, Set<Long> existingIds) {
+        if (entries == null) {
+            return "tracklist is required";
+        }
+        Set<Long> listed = new HashSet<>();
+        for (int i = 0; i < entries.size(); i++) {
+            TracklistEntry entry = entries.get(i);
+            String error;
+            if (entry == null) {
+                error = "track is required";
+            } else if (entry.getId() == null) {
+                error = CatalogueImporter.validate(entry);
+            } else if (!existingIds.contains(entry.getId())) {
+                error = "track " + entry.getId() + " is not on this release";
+            } else if (!listed.add(entry.getId())) {
+                error = "track " + entry.getId() + " is listed more than once";
+            } else {
+                error = validateUpdate(entry);
+            }
+            if (error != null) {
+                return "tracks[" + i + "]: " + error;
+            }
+        }
+        for (Long id : existingIds) {
+            if (!listed.contains(id)) {
+                return "track " + id + " is missing from the tracklist";
+            }
+        }
+        return null;
+    }
+
+    private static String validateUpdate(CreateTrackRequest track) {
+        if (track.getTitle() != null && track.getTitle().trim().isEmpty()) {
+            return "title must not be blank";
+        }
+        if (track.getDuration() != null && track.getDuration() <= 0) {
+            return "duration must be greater than 0";
+        }
+        if (track.getFilePath() != null && track.getFilePath().trim().isEmpty()) {
+            return "filePath must not be blank";
+        }
+        if (track.getIsrc() != null && track.getIsrc().length() > CatalogueImporter.MAX_CODE_LENGTH) {
+            return "isrc must be at most " + CatalogueImporter.MAX_CODE_LENGTH + " characters";
+        }
+        return null;
+    }
+
+    private boolean lockRelease(Connection connection, long releaseId) throws SQLException {
+        // Serializes concurrent tracklist writes to the same release
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT id FROM releases WHERE id = ? FOR UPDATE")) {
+            statement.setLong(1, releaseId);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+
+    private Map<Long, Integer> currentPositions(Connection connection, long releaseId) throws SQLException {
+        Map<Long, Integer> positions = new HashMap<>();
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT id, position FROM tracks WHERE release_id = ?")) {
+            statement.setLong(1, releaseId);
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    positions.put(rs.getLong(1), rs.getInt(2));
+                }
+            }
+        }
+        return positions;
+    }
+
+    private String missingAudioFile(Connection connection, List<TracklistEntry> entries) throws SQLException {
+        Set<Long> audioFileIds = new HashSet<>();
+        for (TracklistEntry entry : entries) {
+            if (entry.getAudioFileId() != null) {
+                audioFileIds.add(entry.getAudioFileId());
+            }
+        }
+        if (audioFileIds.isEmpty()) {
+            return null;
+        }
+        Set<Object> known = CatalogueImporter.existing(connection,
+                "SELECT id::bigint FROM audio_files WHERE id = ANY(?)", "bigint", audioFileIds.toArray());
+        for (Long id : audioFileIds) {
+            if (!known.contains(id)) {
+                return "Audio file not found: " + id;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return whether any track was written
+     */
+    private boolean write(Connection connection, long releaseId, List<TracklistEntry> entries,
+                          Map<Long, Integer> positions) throws SQLException {
+        int created = (int) entries.stream().filter(entry -> entry.getId() == null).count();
+        long[] newIds = SequenceIds.allocate(connection, "tracks_id_seq", created);
+
+        int updated = 0;
+        int inserted = 0;
+        try (PreparedStatement updates = connection.prepareStatement(UPDATE_TRACK);
+             PreparedStatement inserts = connection.prepareStatement(INSERT_TRACK)) {
+            for (int i = 0; i < entries.size(); i++) {
+                TracklistEntry entry = entries.get(i);
+                int position = i + 1;
+                if (entry.getId() == null) {
+                    inserts.setLong(1, newIds[inserted]);
+                    inserts.setLong(2, releaseId);
+                    bindFields(inserts, 3, entry);
+                    inserts.setInt(9, position);
+                    inserts.addBatch();
+                    if (++inserted % batchSize == 0) {
+                        inserts.executeBatch();
+                    }
+                } else if (position != positions.get(entry.getId()) || hasChanges(entry)) {
+                    bindFields(updates, 1, entry);
+                    updates.setInt(7, position);
+                    updates.setLong(8, entry.getId());
+                    updates.addBatch();
+                    if (++updated % batchSize == 0) {
+                        updates.executeBatch();
+                    }
+                }
+            }
+            updates.executeBatch();
+            inserts.executeBatch();
+        }
+        return updated + inserted > 0;
+    }
+
+    /**
+     * Binds title, duration, isrc, file path, file size and audio file, in that order, from {@code index}.
+     * Missing values are bound as null, which the update statement keeps as they are.
+     */
+    private static void bindFields(PreparedStatement statement, int index, CreateTrackRequest track)
+            throws SQLException {
+        statement.setString(index, track.getTitle());
+        statement.setObject(index + 1, track.getDuration(), Types.INTEGER);
+        statement.setString(index + 2, track.getIsrc());
+        statement.setString(index + 3, track.getFilePath());
+        CatalogueImporter.setNullableLong(statement, index + 4, track.getFileSize());
+        CatalogueImporter.setNullableLong(statement, index + 5, track.getAudioFileId());
+    }
+
+    private static boolean hasChanges(CreateTrackRequest track) {
+        return track.getTitle() != null || track.getDuration() != null || track.getIsrc() != null
+                || track.getFilePath() != null || track.getFileSize() != null || track.getAudioFileId() != null;
+    }
+}
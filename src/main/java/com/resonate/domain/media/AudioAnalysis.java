@@ -0,0 +1,48 @@
+package com.resonate.domain.media;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.*;
+import jakarta.persistence.*;
+import java.time.OffsetDateTime;
+
+@Entity
+@Table(name = "audio_analysis")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+public class AudioAnalysis {
+
+    @Id
+    @Column(name = "audio_file_id")
+    @JsonProperty("audioFileId")
+    private Long audioFileId;
+
+    // Downsampled peak envelope, one unsigned byte per point
+    @Column(name = "peaks", nullable = false)
+    private byte[] peaks;
+
+    @Column(name = "duration_ms", nullable = false)
+    @JsonProperty("durationMs")
+    private long durationMs;
+
+    @Column(name = "sample_rate", nullable = false)
+    @JsonProperty("sampleRate")
+    private int sampleRate;
+
+    @Column(name = "channels", nullable = false)
+    private int channels;
+
+    // Integrated loudness in LUFS, null for silence
+    @Column(name = "integrated_loudness")
+    @JsonProperty("integratedLoudness")
+    private Double integratedLoudness;
+
+    @Builder.Default
+    @Column(name = "created_at", nullable = false)
+    @JsonProperty("createdAt")
+    private OffsetDateTime createdAt = OffsetDateTime.now();
+}
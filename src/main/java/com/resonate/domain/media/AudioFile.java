@@ -1,5 +1,6 @@
 package com.resonate.domain.media;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import lombok.*;
@@ -16,6 +17,13 @@ import java.time.OffsetDateTime;
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class AudioFile {
 
+    public enum HlsStatus {
+        PENDING,
+        PROCESSING,
+        READY,
+        FAILED
+    }
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -35,10 +43,31 @@ public class AudioFile {
     @JsonProperty("fileSize")
     private Long fileSize;
 
-    // Additional metadata, such as checksum, content type, etc.
+    // Content hash of the upload; unique, so identical uploads share one row and storage object
     @Column(name = "checksum")
     private String checksum;
 
+    // Number of tracks using this file, maintained by a database trigger
+    @Column(name = "reference_count", insertable = false, updatable = false)
+    @JsonProperty("referenceCount")
+    private int referenceCount;
+
+    // Null when the file has not been queued for HLS packaging
+    @Enumerated(EnumType.STRING)
+    @Column(name = "hls_status")
+    @JsonProperty("hlsStatus")
+    private HlsStatus hlsStatus;
+
+    // Key of the packaged playlist, stored next to the original file
+    @Column(name = "hls_playlist_key")
+    @JsonIgnore
+    private String hlsPlaylistKey;
+
+    // Playlist contents with segment URIs relative to the playlist key
+    @Column(name = "hls_playlist", columnDefinition = "TEXT")
+    @JsonIgnore
+    private String hlsPlaylist;
+
     @Builder.Default
     @Column(name = "created_at", nullable = false)
     @JsonProperty("createdAt")
@@ -0,0 +1,20 @@
+package com.resonate.domain.media;
+
+/**
+ * Bitrate renditions produced for every uploaded audio file, in addition to the original.
+ */
+public enum AudioQuality {
+    LOW(96),
+    MEDIUM(160),
+    HIGH(256);
+
+    private final int bitrateKbps;
+
+    AudioQuality(int bitrateKbps) {
+        this.bitrateKbps = bitrateKbps;
+    }
+
+    public int getBitrateKbps() {
+        return bitrateKbps;
+    }
+}
@@ -0,0 +1,54 @@
+package com.resonate.domain.media;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.*;
+import jakarta.persistence.*;
+import java.time.OffsetDateTime;
+
+@Entity
+@Table(name = "audio_renditions")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+public class AudioRendition {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "audio_file_id", nullable = false)
+    @JsonIgnore
+    private AudioFile audioFile;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "quality", nullable = false)
+    private AudioQuality quality;
+
+    // Key of the transcoded object in Backblaze B2
+    @Column(name = "file_identifier", nullable = false)
+    @JsonProperty("fileIdentifier")
+    private String fileIdentifier;
+
+    @Column(name = "content_type", nullable = false)
+    @JsonProperty("contentType")
+    private String contentType;
+
+    @Column(name = "bitrate_kbps", nullable = false)
+    @JsonProperty("bitrateKbps")
+    private int bitrateKbps;
+
+    @Column(name = "file_size")
+    @JsonProperty("fileSize")
+    private Long fileSize;
+
+    @Builder.Default
+    @Column(name = "created_at", nullable = false)
+    @JsonProperty("createdAt")
+    private OffsetDateTime createdAt = OffsetDateTime.now();
+}
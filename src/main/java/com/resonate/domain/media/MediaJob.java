@@ -0,0 +1,79 @@
+package com.resonate.domain.media;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.*;
+import jakarta.persistence.*;
+import java.time.OffsetDateTime;
+
+@Entity
+@Table(name = "media_jobs")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+public class MediaJob {
+
+    public enum Type {
+        HLS,
+        TRANSCODE,
+        ANALYZE
+    }
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        DONE,
+        FAILED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "audio_file_id", nullable = false)
+    @JsonProperty("audioFileId")
+    private Long audioFileId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "job_type", nullable = false)
+    private Type type;
+
+    // Target rendition of TRANSCODE jobs
+    @Enumerated(EnumType.STRING)
+    @Column(name = "quality")
+    private AudioQuality quality;
+
+    @Builder.Default
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private Status status = Status.QUEUED;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "last_error")
+    @JsonProperty("lastError")
+    private String lastError;
+
+    // Not picked up before this time, pushed back on each failed attempt
+    @Builder.Default
+    @Column(name = "run_after", nullable = false)
+    @JsonProperty("runAfter")
+    private OffsetDateTime runAfter = OffsetDateTime.now();
+
+    @Column(name = "locked_at")
+    @JsonProperty("lockedAt")
+    private OffsetDateTime lockedAt;
+
+    @Builder.Default
+    @Column(name = "created_at", nullable = false)
+    @JsonProperty("createdAt")
+    private OffsetDateTime createdAt = OffsetDateTime.now();
+
+    @Column(name = "finished_at")
+    @JsonProperty("finishedAt")
+    private OffsetDateTime finishedAt;
+}
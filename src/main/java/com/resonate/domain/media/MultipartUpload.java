@@ -0,0 +1,72 @@
+package com.resonate.domain.media;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.*;
+import jakarta.persistence.*;
+import java.time.OffsetDateTime;
+
+@Entity
+@Table(name = "multipart_uploads")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+public class MultipartUpload {
+
+    public enum Status {
+        IN_PROGRESS,
+        // Parts are being assembled and checked; no other completion or abort may start
+        COMPLETING,
+        COMPLETED,
+        ABORTED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Key of the object being assembled in Backblaze B2
+    @Column(name = "file_identifier", nullable = false)
+    @JsonProperty("fileIdentifier")
+    private String fileIdentifier;
+
+    // Upload ID issued by the storage provider, never exposed to clients
+    @Column(name = "storage_upload_id", nullable = false)
+    @JsonIgnore
+    private String storageUploadId;
+
+    @Column(name = "content_type", nullable = false)
+    @JsonProperty("contentType")
+    private String contentType;
+
+    @Column(name = "file_size", nullable = false)
+    @JsonProperty("fileSize")
+    private long fileSize;
+
+    @Column(name = "part_size", nullable = false)
+    @JsonProperty("partSize")
+    private long partSize;
+
+    @Column(name = "part_count", nullable = false)
+    @JsonProperty("partCount")
+    private int partCount;
+
+    @Builder.Default
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private Status status = Status.IN_PROGRESS;
+
+    // Set once the upload has been completed and registered as an audio file
+    @Column(name = "audio_file_id")
+    @JsonProperty("audioFileId")
+    private Long audioFileId;
+
+    @Builder.Default
+    @Column(name = "created_at", nullable = false)
+    @JsonProperty("createdAt")
+    private OffsetDateTime createdAt = OffsetDateTime.now();
+}
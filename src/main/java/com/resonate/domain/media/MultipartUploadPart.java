@@ -0,0 +1,45 @@
+package com.resonate.domain.media;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.*;
+import jakarta.persistence.*;
+import java.time.OffsetDateTime;
+
+@Entity
+@Table(name = "multipart_upload_parts")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+public class MultipartUploadPart {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "upload_id", nullable = false)
+    @JsonIgnore
+    private MultipartUpload upload;
+
+    @Column(name = "part_number", nullable = false)
+    @JsonProperty("partNumber")
+    private int partNumber;
+
+    // ETag returned by storage for the uploaded part, required to complete the upload
+    @Column(name = "etag", nullable = false)
+    private String etag;
+
+    @Column(name = "part_size")
+    @JsonProperty("size")
+    private Long size;
+
+    @Builder.Default
+    @Column(name = "uploaded_at", nullable = false)
+    @JsonProperty("uploadedAt")
+    private OffsetDateTime uploadedAt = OffsetDateTime.now();
+}
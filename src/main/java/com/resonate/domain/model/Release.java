@@ -6,6 +6,8 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import lombok.*;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Generated;
+import org.hibernate.generator.EventType;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
@@ -45,9 +47,20 @@ public class Release {
     @JsonProperty("createdAt")
     private OffsetDateTime createdAt = OffsetDateTime.now();
 
+    // Bumped by a database trigger on every change to the release or its tracks; read back after each write
+    @Generated(event = {EventType.INSERT, EventType.UPDATE})
+    @Column(name = "version", insertable = false, updatable = false)
+    private Long version;
+
+    @Generated(event = {EventType.INSERT, EventType.UPDATE})
+    @Column(name = "updated_at", insertable = false, updatable = false)
+    @JsonProperty("updatedAt")
+    private OffsetDateTime updatedAt;
+
     @Builder.Default
     @OneToMany(mappedBy = "release", cascade = CascadeType.ALL, fetch = FetchType.EAGER)
     @JsonManagedReference
     @JsonDeserialize(contentAs = Track.class)
+    @OrderBy("position ASC, id ASC")
     private List<Track> tracks = new ArrayList<>();
 }
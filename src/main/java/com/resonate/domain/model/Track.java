@@ -2,10 +2,13 @@ package com.resonate.domain.model;
 
 import com.resonate.domain.media.AudioFile;
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import lombok.*;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Generated;
+import org.hibernate.generator.EventType;
 import java.time.OffsetDateTime;
 
 @Entity
@@ -44,13 +47,28 @@ public class Track {
     @JsonProperty("fileSize")
     private Long fileSize;
 
-    @OneToOne
+    // Several tracks (e.g. the same master on a single and an album) can share one audio file
+    @ManyToOne
     @JoinColumn(name = "audio_file_id")
-    @JsonProperty("audioFileId")
+    @JsonIgnore
     private AudioFile audioFile;
 
+    // 1-based place on the tracklist; assigned by a database trigger (after the last track) when left null
+    @Generated(event = EventType.INSERT, writable = true)
+    @Column(name = "position")
+    private Integer position;
+
     @Builder.Default
     @Column(name = "created_at", nullable = false)
     @JsonProperty("createdAt")
     private OffsetDateTime createdAt = OffsetDateTime.now();
+
+    /**
+     * Only the id is serialized: the audio file itself changes (HLS status, reference count) without
+     * the release changing, so embedding it would go stale behind the release ETag.
+     */
+    @JsonProperty("audioFileId")
+    public Long getAudioFileId() {
+        return audioFile != null ? audioFile.getId() : null;
+    }
 }
@@ -0,0 +1,256 @@
+package com.resonate.infrastructure.cache;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToLongBiFunction;
+
+/**
+ * In-memory cache bounded by a total weight (by default, the number of entries), with the least
+ * recently used entries evicted first. Entries can also expire, a fixed time after they were
+ * cached or at a time taken from the value itself.
+ * <p>
+ * Values are loaded outside the lock, so a slow load never blocks readers of other keys, and two
+ * callers missing the same key at once may both load it. A load that overlaps an invalidation is
+ * returned to its caller but not cached, so a value read before a change never outlives the
+ * invalidation. Null values, values heavier than the whole cache and values that have already
+ * expired are never cached.
+ */
+public class BoundedCache<K, V> {
+
+    private final long maxWeight;
+    private final ToLongBiFunction<? super K, ? super V> weigher;
+    private final Duration ttl;
+    private final Function<? super V, Instant> expiresAt;
+    private final BiConsumer<? super K, ? super V> evictionListener;
+    private final Clock clock;
+    private final LinkedHashMap<K, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long weight;
+    private long invalidations;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private BoundedCache(Builder<K, V> builder) {
+        this.maxWeight = builder.maxWeight;
+        this.weigher = builder.weigher;
+        this.ttl = builder.ttl;
+        this.expiresAt = builder.expiresAt;
+        this.evictionListener = builder.evictionListener;
+        this.clock = builder.clock;
+    }
+
+    /**
+     * @param maxWeight the total weight the cache holds; the number of entries unless a weigher is set
+     */
+    public static <K, V> Builder<K, V> builder(long maxWeight) {
+        return new Builder<>(maxWeight);
+    }
+
+    /**
+     * Returns the cached value, or loads it with {@code loader}.
+     *
+     * @return the value, or null if {@code loader} returned null (which is not cached)
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        long generation;
+        synchronized (this) {
+            V cached = lookup(key);
+            if (cached != null) {
+                hits.increment();
+                return cached;
+            }
+            generation = invalidations;
+        }
+
+        misses.increment();
+        V value = loader.apply(key);
+        synchronized (this) {
+            if (generation == invalidations) {
+                store(key, value);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * @return the cached value, or null if there is none or it has expired
+     */
+    public synchronized V getIfPresent(K key) {
+        V cached = lookup(key);
+        (cached != null ? hits : misses).increment();
+        return cached;
+    }
+
+    public synchronized void put(K key, V value) {
+        store(key, value);
+    }
+
+    public synchronized void invalidate(K key) {
+        invalidations++;
+        remove(key);
+    }
+
+    public synchronized void invalidateIf(Predicate<? super K> predicate) {
+        invalidations++;
+        Iterator<Map.Entry<K, Entry<V>>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<K, Entry<V>> entry = iterator.next();
+            if (predicate.test(entry.getKey())) {
+                weight -= entry.getValue().weight();
+                iterator.remove();
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        invalidations++;
+        entries.clear();
+        weight = 0;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long weight() {
+        return weight;
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    private V lookup(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt() != null && !clock.instant().isBefore(entry.expiresAt())) {
+            remove(key);
+            return null;
+        }
+        return entry.value();
+    }
+
+    private void store(K key, V value) {
+        remove(key);
+        if (value == null) {
+            return;
+        }
+        long valueWeight = weigher.applyAsLong(key, value);
+        if (valueWeight > maxWeight) {
+            return;
+        }
+        Instant now = clock.instant();
+        Instant expiry = expiresAt != null ? expiresAt.apply(value) : ttl != null ? now.plus(ttl) : null;
+        if (expiry != null && !now.isBefore(expiry)) {
+            return;
+        }
+        entries.put(key, new Entry<>(value, valueWeight, expiry));
+        weight += valueWeight;
+        evictToFit(key);
+    }
+
+    private void remove(K key) {
+        Entry<V> removed = entries.remove(key);
+        if (removed != null) {
+            weight -= removed.weight();
+        }
+    }
+
+    private void evictToFit(K newest) {
+        Iterator<Map.Entry<K, Entry<V>>> eldest = entries.entrySet().iterator();
+        while (weight > maxWeight && eldest.hasNext()) {
+            Map.Entry<K, Entry<V>> entry = eldest.next();
+            if (entry.getKey().equals(newest)) {
+                continue;
+            }
+            eldest.remove();
+            weight -= entry.getValue().weight();
+            evictions.increment();
+            if (evictionListener != null) {
+                evictionListener.accept(entry.getKey(), entry.getValue().value());
+            }
+        }
+    }
+
+    private record Entry<V>(V value, long weight, Instant expiresAt) {
+    }
+
+    public static class Builder<K, V> {
+        private final long maxWeight;
+        private ToLongBiFunction<? super K, ? super V> weigher = (key, value) -> 1;
+        private Duration ttl;
+        private Function<? super V, Instant> expiresAt;
+        private BiConsumer<? super K, ? super V> evictionListener;
+        private Clock clock = Clock.systemUTC();
+
+        private Builder(long maxWeight) {
+            if (maxWeight < 1) {
+                throw new IllegalArgumentException("maxWeight must be at least 1");
+            }
+            this.maxWeight = maxWeight;
+        }
+
+        /**
+         * Weighs entries, e.g. by their size in bytes, instead of counting each as one.
+         */
+        public Builder<K, V> weigher(ToLongBiFunction<? super K, ? super V> weigher) {
+            this.weigher = Objects.requireNonNull(weigher);
+            return this;
+        }
+
+        public Builder<K, V> expireAfterWrite(Duration ttl) {
+            if (ttl.isNegative() || ttl.isZero()) {
+                throw new IllegalArgumentException("ttl must be positive");
+            }
+            this.ttl = ttl;
+            return this;
+        }
+
+        /**
+         * Expires each entry at a time taken from its value, e.g. the expiry of a token.
+         */
+        public Builder<K, V> expireAt(Function<? super V, Instant> expiresAt) {
+            this.expiresAt = Objects.requireNonNull(expiresAt);
+            return this;
+        }
+
+        /**
+         * Called under the cache lock for every entry evicted to make room, not for entries that
+         * expire, are invalidated or are replaced.
+         */
+        public Builder<K, V> evictionListener(BiConsumer<? super K, ? super V> evictionListener) {
+            this.evictionListener = Objects.requireNonNull(evictionListener);
+            return this;
+        }
+
+        public Builder<K, V> clock(Clock clock) {
+            this.clock = Objects.requireNonNull(clock);
+            return this;
+        }
+
+        public BoundedCache<K, V> build() {
+            return new BoundedCache<>(this);
+        }
+    }
+}
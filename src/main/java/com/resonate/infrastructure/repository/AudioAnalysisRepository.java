@@ -0,0 +1,10 @@
+package com.resonate.infrastructure.repository;
+
+import com.resonate.domain.media.AudioAnalysis;
+import io.quarkus.hibernate.orm.panache.PanacheRepositoryBase;
+import jakarta.enterprise.context.ApplicationScoped;
+
+@ApplicationScoped
+public class AudioAnalysisRepository implements PanacheRepositoryBase<AudioAnalysis, Long> {
+    // Keyed by audio file ID
+}
@@ -4,7 +4,42 @@ import com.resonate.domain.media.AudioFile;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import jakarta.enterprise.context.ApplicationScoped;
 
+import java.util.Collection;
+import java.util.List;
+
 @ApplicationScoped
 public class AudioFileRepository implements PanacheRepository<AudioFile> {
     // PanacheRepository provides built-in CRUD operations.
+
+    public AudioFile findByChecksum(String checksum) {
+        return find("checksum", checksum).firstResult();
+    }
+
+    /**
+     * Serialises registrations of the same content until the end of the transaction, so two uploads
+     * of one file cannot both miss {@link #findByChecksum} and race on the unique index.
+     */
+    public void lockChecksum(String checksum) {
+        getEntityManager().createNativeQuery("SELECT 1 FROM pg_advisory_xact_lock(hashtext(:checksum))")
+                .setParameter("checksum", checksum)
+                .getSingleResult();
+    }
+
+    public List<AudioFile> findByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return list("id in ?1", ids);
+    }
+
+    /**
+     * Loads the audio files linked to a release's tracks in a single query, in track order.
+     */
+    public List<AudioFile> findByReleaseId(Long releaseId) {
+        return getEntityManager().createQuery(
+                        "SELECT a FROM Track t JOIN t.audioFile a WHERE t.release.id = :releaseId ORDER BY t.position, t.id",
+                        AudioFile.class)
+                .setParameter("releaseId", releaseId)
+                .getResultList();
+    }
 }
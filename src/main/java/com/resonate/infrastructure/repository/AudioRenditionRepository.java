@@ -0,0 +1,31 @@
+package com.resonate.infrastructure.repository;
+
+import com.resonate.domain.media.AudioQuality;
+import com.resonate.domain.media.AudioRendition;
+import io.quarkus.hibernate.orm.panache.PanacheRepository;
+import jakarta.enterprise.context.ApplicationScoped;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@ApplicationScoped
+public class AudioRenditionRepository implements PanacheRepository<AudioRendition> {
+
+    public AudioRendition findByAudioFile(Long audioFileId, AudioQuality quality) {
+        return find("audioFile.id = ?1 and quality = ?2", audioFileId, quality).firstResult();
+    }
+
+    /**
+     * @return the renditions of the given quality, keyed by audio file ID; files without one are absent
+     */
+    public Map<Long, AudioRendition> findByAudioFiles(Collection<Long> audioFileIds, AudioQuality quality) {
+        if (audioFileIds.isEmpty()) {
+            return Map.of();
+        }
+        List<AudioRendition> renditions = list("audioFile.id in ?1 and quality = ?2", audioFileIds, quality);
+        return renditions.stream()
+                .collect(Collectors.toMap(r -> r.getAudioFile().getId(), r -> r));
+    }
+}
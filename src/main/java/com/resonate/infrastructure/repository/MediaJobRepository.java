@@ -0,0 +1,95 @@
+package com.resonate.infrastructure.repository;
+
+import com.resonate.domain.media.MediaJob;
+import io.quarkus.hibernate.orm.panache.PanacheRepository;
+import jakarta.enterprise.context.ApplicationScoped;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@ApplicationScoped
+public class MediaJobRepository implements PanacheRepository<MediaJob> {
+
+    /**
+     * Claims up to {@code limit} runnable jobs, oldest first, and marks them RUNNING.
+     * SKIP LOCKED lets concurrent workers claim disjoint sets without waiting on each other.
+     * Must run inside a transaction.
+     */
+    @SuppressWarnings("unchecked")
+    public List<MediaJob> claim(int limit) {
+        return getEntityManager().createNativeQuery("""
+                        UPDATE media_jobs
+                        SET status = 'RUNNING', locked_at = now(), attempts = attempts + 1
+                        WHERE id IN (
+                            SELECT id FROM media_jobs
+                            WHERE status = 'QUEUED' AND run_after <= now()
+                            ORDER BY run_after, id
+                            LIMIT :limit
+                            FOR UPDATE SKIP LOCKED
+                        )
+                        RETURNING *
+                        """, MediaJob.class)
+                .setParameter("limit", limit)
+                .getResultList();
+    }
+
+    /**
+     * Gives up RUNNING jobs whose worker has not reported back since {@code lockedBefore} and that have
+     * already been claimed {@code maxAttempts} times, e.g. jobs that keep taking their instance down.
+     * Attempts are counted when a job is claimed, so the lost run is already included.
+     *
+     * @return the jobs marked FAILED
+     */
+    @SuppressWarnings("unchecked")
+    public List<MediaJob> failStale(OffsetDateTime lockedBefore, int maxAttempts) {
+        return getEntityManager().createNativeQuery("""
+                        UPDATE media_jobs
+                        SET status = 'FAILED', locked_at = NULL, finished_at = now(),
+                            last_error = 'Worker stopped reporting progress'
+                        WHERE status = 'RUNNING' AND locked_at < :lockedBefore AND attempts >= :maxAttempts
+                        RETURNING *
+                        """, MediaJob.class)
+                .setParameter("lockedBefore", lockedBefore)
+                .setParameter("maxAttempts", maxAttempts)
+                .getResultList();
+    }
+
+    /**
+     * Puts RUNNING jobs whose worker has not reported back since {@code lockedBefore} back in the queue,
+     * e.g. after the instance running them was stopped, unless they have used up their attempts
+     * (see {@link #failStale}).
+     *
+     * @return the number of jobs requeued
+     */
+    public int requeueStale(OffsetDateTime lockedBefore, int maxAttempts) {
+        return update("status = ?1, lockedAt = null where status = ?2 and lockedAt < ?3 and attempts < ?4",
+                MediaJob.Status.QUEUED, MediaJob.Status.RUNNING, lockedBefore, maxAttempts);
+    }
+
+    /**
+     * Refreshes the lock of jobs that are still running, so they are not taken for stale.
+     */
+    public int heartbeat(Collection<Long> jobIds) {
+        if (jobIds.isEmpty()) {
+            return 0;
+        }
+        return update("lockedAt = ?1 where id in ?2 and status = ?3",
+                OffsetDateTime.now(), jobIds, MediaJob.Status.RUNNING);
+    }
+
+    public void markDone(Long jobId) {
+        update("status = ?1, lockedAt = null, finishedAt = ?2, lastError = null where id = ?3",
+                MediaJob.Status.DONE, OffsetDateTime.now(), jobId);
+    }
+
+    public void markRetry(Long jobId, String error, OffsetDateTime runAfter) {
+        update("status = ?1, lockedAt = null, lastError = ?2, runAfter = ?3 where id = ?4",
+                MediaJob.Status.QUEUED, error, runAfter, jobId);
+    }
+
+    public void markFailed(Long jobId, String error) {
+        update("status = ?1, lockedAt = null, lastError = ?2, finishedAt = ?3 where id = ?4",
+                MediaJob.Status.FAILED, error, OffsetDateTime.now(), jobId);
+    }
+}
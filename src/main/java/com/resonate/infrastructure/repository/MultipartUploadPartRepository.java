@@ -0,0 +1,22 @@
+package com.resonate.infrastructure.repository;
+
+import com.resonate.domain.media.MultipartUploadPart;
+import io.quarkus.hibernate.orm.panache.PanacheRepository;
+import jakarta.enterprise.context.ApplicationScoped;
+
+import java.util.List;
+
+@ApplicationScoped
+public class MultipartUploadPartRepository implements PanacheRepository<MultipartUploadPart> {
+
+    /**
+     * @return the parts reported for an upload, ordered by part number
+     */
+    public List<MultipartUploadPart> findByUploadId(Long uploadId) {
+        return list("upload.id = ?1 order by partNumber", uploadId);
+    }
+
+    public MultipartUploadPart findPart(Long uploadId, int partNumber) {
+        return find("upload.id = ?1 and partNumber = ?2", uploadId, partNumber).firstResult();
+    }
+}
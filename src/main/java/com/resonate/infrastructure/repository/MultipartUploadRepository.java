@@ -0,0 +1,10 @@
+package com.resonate.infrastructure.repository;
+
+import com.resonate.domain.media.MultipartUpload;
+import io.quarkus.hibernate.orm.panache.PanacheRepository;
+import jakarta.enterprise.context.ApplicationScoped;
+
+@ApplicationScoped
+public class MultipartUploadRepository implements PanacheRepository<MultipartUpload> {
+    // PanacheRepository provides built-in CRUD operations.
+}
@@ -1,11 +1,19 @@
 package com.resonate.infrastructure.repository;
 
+import com.resonate.api.dto.CursorPage;
+import com.resonate.api.dto.PageCursor;
+import com.resonate.api.dto.ReleaseSummary;
+import com.resonate.api.dto.TrackSummary;
 import com.resonate.domain.model.Release;
 import com.resonate.domain.model.Track;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
+import jakarta.persistence.TypedQuery;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @ApplicationScoped
 public class ReleaseRepository implements PanacheRepository<Release> {
@@ -18,4 +26,62 @@ public class ReleaseRepository implements PanacheRepository<Release> {
     public List<Track> findTracksByReleaseId(Long releaseId) {
         return trackRepository.find("release.id", releaseId).list();
     }
+
+    /**
+     * Loads one page of the public catalogue as projections, newest releases first.
+     * Pages are addressed by keyset on (releaseDate, id) so deep pages cost the same as the first.
+     * Always issues exactly two statements (releases, then all of their tracks)
+     * regardless of the page size.
+     *
+     * @param after cursor of the last release on the previous page, or null for the first page
+     */
+    public CursorPage<ReleaseSummary> findPublicPage(PageCursor after, int size) {
+        String select = "SELECT new com.resonate.api.dto.ReleaseSummary(r.id, r.artistId, r.title, r.releaseDate, r.upc, r.createdAt, r.version) "
+                + "FROM Release r ";
+        String orderBy = "ORDER BY r.releaseDate DESC, r.id DESC";
+
+        TypedQuery<ReleaseSummary> query;
+        if (after == null) {
+            query = getEntityManager().createQuery(select + orderBy, ReleaseSummary.class);
+        } else {
+            query = getEntityManager().createQuery(
+                            select + "WHERE (r.releaseDate, r.id) < (:releaseDate, :id) " + orderBy, ReleaseSummary.class)
+                    .setParameter("releaseDate", after.releaseDate())
+                    .setParameter("id", after.id());
+        }
+
+        // Fetch one extra row to know whether another page follows
+        List<ReleaseSummary> releases = query.setMaxResults(size + 1).getResultList();
+        String nextCursor = null;
+        if (releases.size() > size) {
+            releases = releases.subList(0, size);
+            ReleaseSummary last = releases.get(size - 1);
+            nextCursor = new PageCursor(last.getReleaseDate(), last.getId()).encode();
+        }
+
+        attachTracks(releases);
+        return new CursorPage<>(releases, nextCursor);
+    }
+
+    private void attachTracks(List<ReleaseSummary> releases) {
+        if (releases.isEmpty()) {
+            return;
+        }
+
+        Map<Long, ReleaseSummary> byId = releases.stream()
+                .collect(Collectors.toMap(ReleaseSummary::getId, Function.identity()));
+
+        List<TrackSummary> tracks = getEntityManager().createQuery(
+                        "SELECT new com.resonate.api.dto.TrackSummary(t.release.id, t.id, t.title, t.duration, t.isrc, "
+                                + "t.filePath, t.fileSize, a.id, t.createdAt, t.position) "
+                                + "FROM Track t LEFT JOIN t.audioFile a WHERE t.release.id IN :releaseIds "
+                                + "ORDER BY t.position, t.id",
+                        TrackSummary.class)
+                .setParameter("releaseIds", byId.keySet())
+                .getResultList();
+
+        for (TrackSummary track : tracks) {
+            byId.get(track.getReleaseId()).getTracks().add(track);
+        }
+    }
 }
@@ -1,10 +1,58 @@
 package com.resonate.infrastructure.repository;
 
+import com.resonate.api.dto.CursorPage;
+import com.resonate.api.dto.PageCursor;
+import com.resonate.api.dto.TrackSummary;
 import com.resonate.domain.model.Track;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import jakarta.enterprise.context.ApplicationScoped;
 
+import java.util.List;
+
 @ApplicationScoped
 public class TrackRepository implements PanacheRepository<Track> {
     // Add additional domain-specific queries here
+
+    /**
+     * Loads one page of a release's tracks as projections in tracklist order, addressed by
+     * keyset on (position, id).
+     *
+     * @param after cursor of the last track on the previous page, or null for the first page
+     */
+    public CursorPage<TrackSummary> findPageByReleaseId(Long releaseId, PageCursor after, int size) {
+        List<TrackSummary> tracks = getEntityManager().createQuery(
+                        "SELECT new com.resonate.api.dto.TrackSummary(t.release.id, t.id, t.title, t.duration, t.isrc, "
+                                + "t.filePath, t.fileSize, a.id, t.createdAt, t.position) "
+                                + "FROM Track t LEFT JOIN t.audioFile a "
+                                + "WHERE t.release.id = :releaseId AND (t.position, t.id) > (:position, :afterId) "
+                                + "ORDER BY t.position, t.id",
+                        TrackSummary.class)
+                .setParameter("releaseId", releaseId)
+                .setParameter("position", after != null ? after.position() : 0)
+                .setParameter("afterId", after != null ? after.id() : 0L)
+                .setMaxResults(size + 1)
+                .getResultList();
+
+        String nextCursor = null;
+        if (tracks.size() > size) {
+            tracks = tracks.subList(0, size);
+            TrackSummary last = tracks.get(size - 1);
+            nextCursor = PageCursor.afterTrack(last.getPosition(), last.getId()).encode();
+        }
+        return new CursorPage<>(tracks, nextCursor);
+    }
+
+    /**
+     * All tracks of a release as projections, in tracklist order.
+     */
+    public List<TrackSummary> findSummariesByReleaseId(Long releaseId) {
+        return getEntityManager().createQuery(
+                        "SELECT new com.resonate.api.dto.TrackSummary(t.release.id, t.id, t.title, t.duration, t.isrc, "
+                                + "t.filePath, t.fileSize, a.id, t.createdAt, t.position) "
+                                + "FROM Track t LEFT JOIN t.audioFile a "
+                                + "WHERE t.release.id = :releaseId ORDER BY t.position, t.id",
+                        TrackSummary.class)
+                .setParameter("releaseId", releaseId)
+                .getResultList();
+    }
 }
@@ -0,0 +1,109 @@
+package com.resonate.media;
+
+import com.resonate.domain.media.AudioAnalysis;
+import com.resonate.domain.media.AudioFile;
+import com.resonate.infrastructure.repository.AudioAnalysisRepository;
+import com.resonate.infrastructure.repository.AudioFileRepository;
+import com.resonate.storage.BackblazeStorageService;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Computes the waveform peaks and integrated loudness of audio files so players do not have to
+ * download and decode the whole file. ffmpeg decodes to 32-bit float WAV on a pipe, which
+ * {@link AudioAnalyzer} consumes as it arrives.
+ * Runs as a {@link com.resonate.domain.media.MediaJob.Type#ANALYZE} job of the media job queue.
+ */
+@ApplicationScoped
+public class AudioAnalysisService {
+    private static final Logger LOG = Logger.getLogger(AudioAnalysisService.class);
+
+    @ConfigProperty(name = "media.analysis.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "media.analysis.points", defaultValue = "1024")
+    int points;
+
+    @ConfigProperty(name = "media.ffmpegPath", defaultValue = "ffmpeg")
+    String ffmpegPath;
+
+    @ConfigProperty(name = "media.ffmpegTimeout", defaultValue = "10m")
+    Duration ffmpegTimeout;
+
+    @Inject
+    BackblazeStorageService storageService;
+
+    @Inject
+    AudioFileRepository audioFileRepository;
+
+    @Inject
+    AudioAnalysisRepository analysisRepository;
+
+    private Ffmpeg ffmpeg;
+    private AudioAnalyzer analyzer;
+
+    @PostConstruct
+    void init() {
+        ffmpeg = new Ffmpeg(ffmpegPath, ffmpegTimeout);
+        analyzer = new AudioAnalyzer(points);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Analyses an audio file and stores the result, replacing an earlier analysis.
+     */
+    public void analyze(Long audioFileId) throws IOException {
+        String fileKey = QuarkusTransaction.requiringNew().call(() -> {
+            AudioFile audioFile = audioFileRepository.findById(audioFileId);
+            return audioFile != null ? audioFile.getFileIdentifier() : null;
+        });
+        if (fileKey == null) {
+            LOG.info("Audio file " + audioFileId + " no longer exists, skipping analysis");
+            return;
+        }
+
+        try (WorkDirectory workDirectory = WorkDirectory.create("analysis-" + audioFileId + "-")) {
+            Path source = workDirectory.resolve("source");
+            storageService.downloadToFile(fileKey, source);
+
+            AudioAnalyzer.Result result = ffmpeg.stream(workDirectory.path(), List.of(
+                    "-i", source.toString(),
+                    "-vn", "-map", "0:a:0",
+                    // BS.1770 weights are exact for mono and stereo, so surround is folded down to stereo
+                    "-af", "aformat=sample_fmts=flt:channel_layouts=mono|stereo",
+                    "-c:a", "pcm_f32le",
+                    "-f", "wav", "pipe:1"), analyzer::analyze);
+
+            QuarkusTransaction.requiringNew().run(() -> {
+                if (audioFileRepository.findById(audioFileId) == null) {
+                    return;
+                }
+                AudioAnalysis existing = analysisRepository.findById(audioFileId);
+                AudioAnalysis analysis = existing != null ? existing
+                        : AudioAnalysis.builder().audioFileId(audioFileId).build();
+                analysis.setPeaks(result.peaks());
+                analysis.setDurationMs(result.durationMs());
+                analysis.setSampleRate(result.sampleRate());
+                analysis.setChannels(result.channels());
+                analysis.setIntegratedLoudness(result.integratedLoudness());
+                if (existing == null) {
+                    analysisRepository.persist(analysis);
+                }
+            });
+            LOG.info("Analysed audio file " + audioFileId + ": " + result.durationMs() + " ms, "
+                    + result.integratedLoudness() + " LUFS");
+        }
+    }
+}
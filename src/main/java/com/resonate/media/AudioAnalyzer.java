@@ -0,0 +1,137 @@
+package com.resonate.media;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+
+/**
+ * Computes the waveform peaks and integrated loudness of a 32-bit float WAV stream in one pass,
+ * as produced by {@code ffmpeg -c:a pcm_f32le -f wav pipe:1}. The stream is read incrementally,
+ * so arbitrarily long files are analysed in constant memory apart from the per-window peaks.
+ */
+public class AudioAnalyzer {
+
+    private static final int FORMAT_PCM = 1;
+    private static final int FORMAT_IEEE_FLOAT = 3;
+    private static final int FORMAT_EXTENSIBLE = 0xFFFE;
+    private static final int FRAMES_PER_READ = 4096;
+
+    private final int points;
+
+    public AudioAnalyzer(int points) {
+        if (points <= 0) {
+            throw new IllegalArgumentException("points must be positive");
+        }
+        this.points = points;
+    }
+
+    public Result analyze(InputStream wav) throws IOException {
+        DataInputStream in = new DataInputStream(wav);
+        Format format = readHeader(in);
+
+        LoudnessMeter loudness = new LoudnessMeter(format.sampleRate(), format.channels());
+        WaveformPeaks peaks = new WaveformPeaks(format.sampleRate(), format.channels());
+
+        int frameBytes = format.channels() * Float.BYTES;
+        byte[] buffer = new byte[FRAMES_PER_READ * frameBytes];
+        float[] samples = new float[FRAMES_PER_READ * format.channels()];
+        int buffered = 0;
+        int read;
+        while ((read = in.read(buffer, buffered, buffer.length - buffered)) != -1) {
+            buffered += read;
+            int frames = buffered / frameBytes;
+            if (frames == 0) {
+                continue;
+            }
+            FloatBuffer floats = ByteBuffer.wrap(buffer, 0, frames * frameBytes).order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer();
+            floats.get(samples, 0, frames * format.channels());
+            loudness.process(samples, frames);
+            peaks.process(samples, frames);
+
+            // Keep a trailing partial frame for the next read
+            int remainder = buffered - frames * frameBytes;
+            System.arraycopy(buffer, frames * frameBytes, buffer, 0, remainder);
+            buffered = remainder;
+        }
+
+        double integrated = loudness.integratedLoudness();
+        return new Result(peaks.toBytes(points), peaks.getTotalFrames() * 1000 / format.sampleRate(),
+                Double.isInfinite(integrated) ? null : integrated, format.sampleRate(), format.channels());
+    }
+
+    /**
+     * Reads the RIFF header up to the start of the {@code data} chunk. The chunk sizes written by
+     * ffmpeg to a pipe are placeholders, so the data is read until the end of the stream instead.
+     */
+    private static Format readHeader(DataInputStream in) throws IOException {
+        try {
+            if (readTag(in) != 0x46464952 /* RIFF */) {
+                throw new IOException("Not a RIFF stream");
+            }
+            readIntLE(in);
+            if (readTag(in) != 0x45564157 /* WAVE */) {
+                throw new IOException("Not a WAVE stream");
+            }
+
+            Format format = null;
+            while (true) {
+                int tag = readTag(in);
+                long size = readIntLE(in) & 0xFFFFFFFFL;
+                if (tag == 0x61746164 /* data */) {
+                    if (format == null) {
+                        throw new IOException("WAV data chunk before fmt chunk");
+                    }
+                    return format;
+                }
+                if (tag == 0x20746D66 /* fmt  */) {
+                    int audioFormat = readShortLE(in);
+                    int channels = readShortLE(in);
+                    int sampleRate = readIntLE(in);
+                    in.skipNBytes(6); // byte rate, block align
+                    int bits = readShortLE(in);
+                    in.skipNBytes(size - 16 + (size & 1));
+                    boolean isFloat = audioFormat == FORMAT_IEEE_FLOAT || audioFormat == FORMAT_EXTENSIBLE;
+                    if (!isFloat || bits != 32) {
+                        throw new IOException("Expected 32-bit float samples, got format " + audioFormat + " with "
+                                + bits + " bits" + (audioFormat == FORMAT_PCM ? " (integer PCM)" : ""));
+                    }
+                    if (channels <= 0 || sampleRate <= 0) {
+                        throw new IOException("Invalid WAV format: " + channels + " channels at " + sampleRate + " Hz");
+                    }
+                    format = new Format(sampleRate, channels);
+                } else {
+                    in.skipNBytes(size + (size & 1));
+                }
+            }
+        } catch (EOFException e) {
+            throw new IOException("Truncated WAV header", e);
+        }
+    }
+
+    private static int readTag(DataInputStream in) throws IOException {
+        return readIntLE(in);
+    }
+
+    private static int readIntLE(DataInputStream in) throws IOException {
+        return Integer.reverseBytes(in.readInt());
+    }
+
+    private static int readShortLE(DataInputStream in) throws IOException {
+        return Short.toUnsignedInt(Short.reverseBytes(in.readShort()));
+    }
+
+    private record Format(int sampleRate, int channels) {
+    }
+
+    /**
+     * @param peaks              quantized peak envelope, one unsigned byte per point
+     * @param durationMs         decoded duration
+     * @param integratedLoudness integrated loudness in LUFS, null for silence
+     */
+    public record Result(byte[] peaks, long durationMs, Double integratedLoudness, int sampleRate, int channels) {
+    }
+}
@@ -0,0 +1,64 @@
+package com.resonate.media;
+
+import com.resonate.storage.AudioStreamingService;
+import com.resonate.storage.BackblazeStorageService;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.context.ManagedExecutor;
+import org.jboss.logging.Logger;
+
+/**
+ * Removes storage objects that no audio file points to any more: the original, HLS segments and
+ * renditions of a deleted file, and uploads that were not registered, e.g. re-uploads of content
+ * that is already stored.
+ * Failures are logged and leave the objects in the bucket; they never fail the request.
+ */
+@ApplicationScoped
+public class AudioFileCleanup {
+    private static final Logger LOG = Logger.getLogger(AudioFileCleanup.class);
+
+    @Inject
+    BackblazeStorageService storageService;
+
+    @Inject
+    AudioStreamingService streamingService;
+
+    @Inject
+    ManagedExecutor managedExecutor;
+
+    void onDeleted(@Observes(during = TransactionPhase.AFTER_SUCCESS) AudioFileDeleted event) {
+        streamingService.forget(event.fileKey());
+        managedExecutor.execute(() -> deleteStoredObjects(event));
+    }
+
+    void onDuplicateUpload(@Observes(during = TransactionPhase.AFTER_SUCCESS) DuplicateUploadDiscarded event) {
+        managedExecutor.execute(() -> discardUpload(event.fileKey()));
+    }
+
+    /**
+     * Deletes an uploaded object that no audio file was registered for.
+     */
+    void discardUpload(String fileKey) {
+        try {
+            storageService.deleteFile(fileKey);
+            LOG.info("Discarded duplicate upload " + fileKey);
+        } catch (RuntimeException e) {
+            LOG.warn("Could not discard duplicate upload " + fileKey + ", it is left in storage", e);
+        }
+    }
+
+    void deleteStoredObjects(AudioFileDeleted event) {
+        String fileKey = event.fileKey();
+        try {
+            storageService.deleteFile(fileKey);
+            int derived = storageService.deleteFilesWithPrefix(HlsPackagingService.keyPrefix(fileKey))
+                    + storageService.deleteFilesWithPrefix(AudioTranscodingService.keyPrefix(fileKey));
+            LOG.info("Deleted storage of audio file " + event.audioFileId() + " (" + (derived + 1) + " objects)");
+        } catch (RuntimeException e) {
+            LOG.error("Failed to delete storage of audio file " + event.audioFileId() + ", objects under "
+                    + fileKey + " are left in storage", e);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.resonate.media;
+
+/**
+ * Fired when an audio file row is deleted, so its storage objects can be removed once the
+ * deleting transaction has committed.
+ */
+public record AudioFileDeleted(Long audioFileId, String fileKey) {
+}
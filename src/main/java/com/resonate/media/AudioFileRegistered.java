@@ -0,0 +1,8 @@
+package com.resonate.media;
+
+/**
+ * Fired when an uploaded audio file has been registered, so derived renditions can be produced
+ * once the registering transaction has committed.
+ */
+public record AudioFileRegistered(Long audioFileId, String fileKey) {
+}
@@ -0,0 +1,45 @@
+package com.resonate.media;
+
+import com.resonate.domain.media.AudioQuality;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Transcodes an audio file to a lower-bitrate AAC rendition in an MP4 container, with the index
+ * moved to the front so players can start and seek before the whole file has arrived.
+ */
+public class AudioTranscoder {
+
+    public static final String CONTENT_TYPE = "audio/mp4";
+    public static final String EXTENSION = ".m4a";
+
+    private final Ffmpeg ffmpeg;
+
+    public AudioTranscoder(Ffmpeg ffmpeg) {
+        this.ffmpeg = ffmpeg;
+    }
+
+    /**
+     * @return the transcoded file, written to {@code target}
+     * @throws IOException if ffmpeg fails or produces no output
+     */
+    public Path transcode(Path source, AudioQuality quality, Path target) throws IOException {
+        ffmpeg.run(target.getParent(), arguments(source, quality, target));
+        if (!Files.exists(target)) {
+            throw new IOException("ffmpeg did not write a " + quality + " rendition of " + source);
+        }
+        return target;
+    }
+
+    List<String> arguments(Path source, AudioQuality quality, Path target) {
+        return List.of(
+                "-i", source.toString(),
+                "-vn", "-map", "0:a:0",
+                "-c:a", "aac", "-b:a", quality.getBitrateKbps() + "k",
+                "-movflags", "+faststart",
+                target.toString());
+    }
+}
@@ -0,0 +1,122 @@
+package com.resonate.media;
+
+import com.resonate.domain.media.AudioFile;
+import com.resonate.domain.media.AudioQuality;
+import com.resonate.domain.media.AudioRendition;
+import com.resonate.infrastructure.repository.AudioFileRepository;
+import com.resonate.infrastructure.repository.AudioRenditionRepository;
+import com.resonate.storage.BackblazeStorageService;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Produces the lower-bitrate renditions of an audio file and records them in {@code audio_renditions}.
+ * Renditions are stored next to the original under {@code <fileKey>.renditions/}.
+ * Runs as a {@link com.resonate.domain.media.MediaJob.Type#TRANSCODE} job of the media job queue.
+ */
+@ApplicationScoped
+public class AudioTranscodingService {
+    private static final Logger LOG = Logger.getLogger(AudioTranscodingService.class);
+
+    static final String KEY_SUFFIX = ".renditions/";
+
+    @ConfigProperty(name = "media.transcode.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "media.transcode.qualities", defaultValue = "LOW,MEDIUM,HIGH")
+    List<AudioQuality> qualities;
+
+    @ConfigProperty(name = "media.ffmpegPath", defaultValue = "ffmpeg")
+    String ffmpegPath;
+
+    @ConfigProperty(name = "media.ffmpegTimeout", defaultValue = "10m")
+    Duration ffmpegTimeout;
+
+    @Inject
+    BackblazeStorageService storageService;
+
+    @Inject
+    AudioFileRepository audioFileRepository;
+
+    @Inject
+    AudioRenditionRepository renditionRepository;
+
+    private AudioTranscoder transcoder;
+
+    @PostConstruct
+    void init() {
+        transcoder = new AudioTranscoder(new Ffmpeg(ffmpegPath, ffmpegTimeout));
+    }
+
+    /**
+     * @return the renditions to produce for every new audio file, empty when transcoding is disabled
+     */
+    public List<AudioQuality> getQualities() {
+        return enabled ? qualities : List.of();
+    }
+
+    /**
+     * @return the storage key prefix under which the renditions of a file are stored
+     */
+    public static String keyPrefix(String fileKey) {
+        return fileKey + KEY_SUFFIX;
+    }
+
+    public static String renditionKey(String fileKey, AudioQuality quality) {
+        return keyPrefix(fileKey) + quality.name().toLowerCase() + AudioTranscoder.EXTENSION;
+    }
+
+    /**
+     * Transcodes an audio file to the given quality and records the rendition, replacing an earlier one.
+     */
+    public void transcode(Long audioFileId, AudioQuality quality) throws IOException {
+        String fileKey = QuarkusTransaction.requiringNew().call(() -> {
+            AudioFile audioFile = audioFileRepository.findById(audioFileId);
+            return audioFile != null ? audioFile.getFileIdentifier() : null;
+        });
+        if (fileKey == null) {
+            LOG.info("Audio file " + audioFileId + " no longer exists, skipping " + quality + " rendition");
+            return;
+        }
+
+        try (WorkDirectory workDirectory = WorkDirectory.create("transcode-" + audioFileId + "-")) {
+            Path source = workDirectory.resolve("source");
+            storageService.downloadToFile(fileKey, source);
+
+            Path rendition = transcoder.transcode(source, quality, workDirectory.resolve(quality.name() + AudioTranscoder.EXTENSION));
+            String renditionKey = renditionKey(fileKey, quality);
+            storageService.uploadFile(renditionKey, rendition, AudioTranscoder.CONTENT_TYPE);
+            long size = Files.size(rendition);
+
+            QuarkusTransaction.requiringNew().run(() -> {
+                AudioFile audioFile = audioFileRepository.findById(audioFileId);
+                if (audioFile == null) {
+                    return;
+                }
+                AudioRendition existing = renditionRepository.findByAudioFile(audioFileId, quality);
+                AudioRendition record = existing != null ? existing : AudioRendition.builder()
+                        .audioFile(audioFile)
+                        .quality(quality)
+                        .build();
+                record.setFileIdentifier(renditionKey);
+                record.setContentType(AudioTranscoder.CONTENT_TYPE);
+                record.setBitrateKbps(quality.getBitrateKbps());
+                record.setFileSize(size);
+                if (existing == null) {
+                    renditionRepository.persist(record);
+                }
+            });
+            LOG.info("Transcoded audio file " + audioFileId + " to " + quality + " (" + size + " bytes)");
+        }
+    }
+}
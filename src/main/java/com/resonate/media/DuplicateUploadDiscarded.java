@@ -0,0 +1,8 @@
+package com.resonate.media;
+
+/**
+ * Fired when an upload turns out to duplicate an existing audio file, or not to match its checksum,
+ * so the uploaded object can be removed once the transaction that decided so has committed.
+ */
+public record DuplicateUploadDiscarded(String fileKey) {
+}
@@ -0,0 +1,115 @@
+package com.resonate.media;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the ffmpeg binary with a time limit, surfacing the tail of its log when it fails.
+ */
+public class Ffmpeg {
+
+    private static final int MAX_LOG_CHARS = 2000;
+
+    private final String path;
+    private final Duration timeout;
+
+    public Ffmpeg(String path, Duration timeout) {
+        this.path = path;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Runs ffmpeg with the given arguments, writing its log to a temporary file in {@code workDirectory}.
+     *
+     * @throws IOException if ffmpeg cannot be started, fails or does not finish in time
+     */
+    public void run(Path workDirectory, List<String> arguments) throws IOException {
+        Path log = Files.createTempFile(workDirectory, "ffmpeg-", ".log");
+        try {
+            Process process = new ProcessBuilder(command(arguments))
+                    .redirectErrorStream(true)
+                    .redirectOutput(log.toFile())
+                    .start();
+            try {
+                if (!process.waitFor(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                    process.destroyForcibly();
+                    throw new IOException("ffmpeg did not finish within " + timeout);
+                }
+            } catch (InterruptedException e) {
+                process.destroyForcibly();
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while waiting for ffmpeg", e);
+            }
+            if (process.exitValue() != 0) {
+                throw new IOException("ffmpeg exited with " + process.exitValue() + ": " + tail(log));
+            }
+        } finally {
+            Files.deleteIfExists(log);
+        }
+    }
+
+    /**
+     * Runs ffmpeg with its output written to stdout (e.g. {@code pipe:1}) and hands that stream to
+     * {@code reader}. ffmpeg is killed if it has not finished within the timeout.
+     *
+     * @throws IOException if ffmpeg cannot be started, fails, does not finish in time or the reader fails
+     */
+    public <T> T stream(Path workDirectory, List<String> arguments, OutputReader<T> reader) throws IOException {
+        Path log = Files.createTempFile(workDirectory, "ffmpeg-", ".log");
+        try {
+            Process process = new ProcessBuilder(command(arguments))
+                    .redirectError(log.toFile())
+                    .start();
+            CompletableFuture<Void> watchdog = CompletableFuture.runAsync(process::destroyForcibly,
+                    CompletableFuture.delayedExecutor(timeout.toMillis(), TimeUnit.MILLISECONDS));
+            T result;
+            try (InputStream output = process.getInputStream()) {
+                result = reader.read(output);
+                // Drain whatever the reader did not consume so ffmpeg can exit
+                output.transferTo(OutputStream.nullOutputStream());
+                process.waitFor();
+            } catch (InterruptedException e) {
+                process.destroyForcibly();
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while waiting for ffmpeg", e);
+            } catch (IOException e) {
+                process.destroyForcibly();
+                throw e;
+            } finally {
+                watchdog.cancel(false);
+            }
+            if (process.exitValue() != 0) {
+                throw new IOException("ffmpeg exited with " + process.exitValue() + ": " + tail(log));
+            }
+            return result;
+        } finally {
+            Files.deleteIfExists(log);
+        }
+    }
+
+    private List<String> command(List<String> arguments) {
+        List<String> command = new ArrayList<>(arguments.size() + 4);
+        command.add(path);
+        command.addAll(List.of("-hide_banner", "-nostdin", "-y"));
+        command.addAll(arguments);
+        return command;
+    }
+
+    private static String tail(Path log) throws IOException {
+        String output = Files.readString(log);
+        return output.length() <= MAX_LOG_CHARS ? output : output.substring(output.length() - MAX_LOG_CHARS);
+    }
+
+    @FunctionalInterface
+    public interface OutputReader<T> {
+        T read(InputStream output) throws IOException;
+    }
+}
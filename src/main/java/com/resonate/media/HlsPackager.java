@@ -0,0 +1,66 @@
+package com.resonate.media;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Segments an audio file into fixed-duration AAC/MPEG-TS chunks plus a VOD playlist by running ffmpeg.
+ */
+public class HlsPackager {
+
+    public static final String PLAYLIST_NAME = "playlist.m3u8";
+
+    private static final String SEGMENT_PATTERN = "segment_%05d.ts";
+
+    private final Ffmpeg ffmpeg;
+    private final Duration segmentDuration;
+    private final String bitrate;
+
+    public HlsPackager(Ffmpeg ffmpeg, Duration segmentDuration, String bitrate) {
+        if (segmentDuration.toSeconds() < 1) {
+            throw new IllegalArgumentException("segmentDuration must be at least one second");
+        }
+        this.ffmpeg = ffmpeg;
+        this.segmentDuration = segmentDuration;
+        this.bitrate = bitrate;
+    }
+
+    /**
+     * Packages {@code source} into {@code outputDirectory}.
+     *
+     * @return the playlist and its segments, in playback order
+     * @throws IOException if ffmpeg fails, times out or produces no playlist
+     */
+    public Result segment(Path source, Path outputDirectory) throws IOException {
+        Files.createDirectories(outputDirectory);
+        ffmpeg.run(outputDirectory.getParent(), arguments(source, outputDirectory));
+
+        Path playlist = outputDirectory.resolve(PLAYLIST_NAME);
+        if (!Files.exists(playlist)) {
+            throw new IOException("ffmpeg did not write a playlist for " + source);
+        }
+        List<Path> segments = HlsPlaylist.segmentUris(Files.readString(playlist)).stream()
+                .map(outputDirectory::resolve)
+                .toList();
+        return new Result(playlist, segments);
+    }
+
+    List<String> arguments(Path source, Path outputDirectory) {
+        return List.of(
+                "-i", source.toString(),
+                "-vn", "-map", "0:a:0",
+                "-c:a", "aac", "-b:a", bitrate,
+                "-f", "hls",
+                "-hls_time", String.valueOf(segmentDuration.toSeconds()),
+                "-hls_playlist_type", "vod",
+                "-hls_segment_type", "mpegts",
+                "-hls_segment_filename", outputDirectory.resolve(SEGMENT_PATTERN).toString(),
+                outputDirectory.resolve(PLAYLIST_NAME).toString());
+    }
+
+    public record Result(Path playlist, List<Path> segments) {
+    }
+}
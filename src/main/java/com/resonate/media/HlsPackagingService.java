@@ -0,0 +1,123 @@
+package com.resonate.media;
+
+import com.resonate.domain.media.AudioFile;
+import com.resonate.infrastructure.repository.AudioFileRepository;
+import com.resonate.storage.BackblazeStorageService;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Packages audio files for HLS: the original is downloaded, segmented by {@link HlsPackager} and
+ * the segments and playlist are uploaded next to it under {@code <fileKey>.hls/}.
+ * Runs as a {@link com.resonate.domain.media.MediaJob.Type#HLS} job of the media job queue.
+ */
+@ApplicationScoped
+public class HlsPackagingService {
+    private static final Logger LOG = Logger.getLogger(HlsPackagingService.class);
+
+    static final String KEY_SUFFIX = ".hls/";
+
+    @ConfigProperty(name = "media.hls.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "media.ffmpegPath", defaultValue = "ffmpeg")
+    String ffmpegPath;
+
+    @ConfigProperty(name = "media.ffmpegTimeout", defaultValue = "10m")
+    Duration ffmpegTimeout;
+
+    @ConfigProperty(name = "media.hls.segmentDuration", defaultValue = "6s")
+    Duration segmentDuration;
+
+    @ConfigProperty(name = "media.hls.bitrate", defaultValue = "160k")
+    String bitrate;
+
+    @Inject
+    BackblazeStorageService storageService;
+
+    @Inject
+    AudioFileRepository audioFileRepository;
+
+    private HlsPackager packager;
+
+    @PostConstruct
+    void init() {
+        packager = new HlsPackager(new Ffmpeg(ffmpegPath, ffmpegTimeout), segmentDuration, bitrate);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return the storage key prefix under which the segments and playlist of a file are stored
+     */
+    public static String keyPrefix(String fileKey) {
+        return fileKey + KEY_SUFFIX;
+    }
+
+    /**
+     * Packages an audio file and marks it READY. On failure the file goes back to PENDING,
+     * the job queue decides whether it is retried or given up with {@link #markFailed}.
+     */
+    public void packageAudioFile(Long audioFileId) throws IOException {
+        String fileKey = QuarkusTransaction.requiringNew().call(() -> {
+            AudioFile audioFile = audioFileRepository.findById(audioFileId);
+            if (audioFile == null) {
+                return null;
+            }
+            audioFile.setHlsStatus(AudioFile.HlsStatus.PROCESSING);
+            return audioFile.getFileIdentifier();
+        });
+        if (fileKey == null) {
+            LOG.info("Audio file " + audioFileId + " no longer exists, skipping HLS packaging");
+            return;
+        }
+
+        try (WorkDirectory workDirectory = WorkDirectory.create("hls-" + audioFileId + "-")) {
+            Path source = workDirectory.resolve("source");
+            storageService.downloadToFile(fileKey, source);
+
+            HlsPackager.Result result = packager.segment(source, workDirectory.resolve("out"));
+            String prefix = keyPrefix(fileKey);
+            for (Path segment : result.segments()) {
+                storageService.uploadFile(prefix + segment.getFileName(), segment, HlsPlaylist.SEGMENT_CONTENT_TYPE);
+            }
+            // The playlist goes up last so it never points at a segment that is not there yet
+            String playlistKey = prefix + HlsPackager.PLAYLIST_NAME;
+            storageService.uploadFile(playlistKey, result.playlist(), HlsPlaylist.CONTENT_TYPE);
+
+            String playlist = Files.readString(result.playlist());
+            QuarkusTransaction.requiringNew().run(() -> {
+                AudioFile audioFile = audioFileRepository.findById(audioFileId);
+                if (audioFile != null) {
+                    audioFile.setHlsStatus(AudioFile.HlsStatus.READY);
+                    audioFile.setHlsPlaylistKey(playlistKey);
+                    audioFile.setHlsPlaylist(playlist);
+                }
+            });
+            LOG.info("Packaged audio file " + audioFileId + " into " + result.segments().size() + " HLS segments");
+        } catch (IOException | RuntimeException e) {
+            updateStatus(audioFileId, AudioFile.HlsStatus.PENDING);
+            throw e;
+        }
+    }
+
+    public void markFailed(Long audioFileId) {
+        updateStatus(audioFileId, AudioFile.HlsStatus.FAILED);
+    }
+
+    private void updateStatus(Long audioFileId, AudioFile.HlsStatus status) {
+        QuarkusTransaction.requiringNew().run(() -> audioFileRepository.update(
+                "hlsStatus = ?1 where id = ?2", status, audioFileId));
+    }
+}
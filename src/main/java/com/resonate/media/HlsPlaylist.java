@@ -0,0 +1,46 @@
+package com.resonate.media;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Helpers for the media playlists (RFC 8216) written by the HLS packager.
+ * Every line that is neither blank nor a tag ({@code #...}) is a segment URI.
+ */
+public final class HlsPlaylist {
+
+    public static final String CONTENT_TYPE = "application/vnd.apple.mpegurl";
+    public static final String SEGMENT_CONTENT_TYPE = "video/mp2t";
+
+    private HlsPlaylist() {
+    }
+
+    /**
+     * @return the segment URIs of a playlist, in playback order
+     */
+    public static List<String> segmentUris(String playlist) {
+        List<String> uris = new ArrayList<>();
+        for (String line : playlist.split("\\R")) {
+            if (isUri(line)) {
+                uris.add(line.trim());
+            }
+        }
+        return uris;
+    }
+
+    /**
+     * Returns a copy of the playlist with every segment URI replaced, e.g. by a signed URL.
+     */
+    public static String rewrite(String playlist, Function<String, String> uriMapper) {
+        StringBuilder rewritten = new StringBuilder(playlist.length() * 2);
+        for (String line : playlist.split("\\R")) {
+            rewritten.append(isUri(line) ? uriMapper.apply(line.trim()) : line).append('\n');
+        }
+        return rewritten.toString();
+    }
+
+    private static boolean isUri(String line) {
+        return !line.isBlank() && !line.startsWith("#");
+    }
+}
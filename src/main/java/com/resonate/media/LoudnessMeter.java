@@ -0,0 +1,158 @@
+package com.resonate.media;
+
+import java.util.Arrays;
+
+/**
+ * Integrated loudness of a programme per ITU-R BS.1770-4, in LUFS.
+ * <p>
+ * Samples are K-weighted (a high shelf followed by a high pass, with coefficients derived for the
+ * actual sample rate), then the mean square is taken over 400 ms blocks overlapping by 75%.
+ * Blocks below -70 LUFS are discarded, then blocks more than 10 LU below the loudness of the remaining
+ * ones. Every channel is weighted 1.0, which is exact for mono and stereo input.
+ */
+public class LoudnessMeter {
+
+    private static final double ABSOLUTE_GATE_LUFS = -70.0;
+    private static final double RELATIVE_GATE_LU = -10.0;
+    private static final int STEPS_PER_BLOCK = 4;
+
+    private final int channels;
+    private final int stepFrames;
+    private final Biquad[] shelf;
+    private final Biquad[] highPass;
+
+    // Sum of K-weighted squares of all channels per 100 ms step
+    private double[] stepPower = new double[64];
+    private int steps;
+    private double currentStep;
+    private int currentStepFrames;
+
+    public LoudnessMeter(int sampleRate, int channels) {
+        if (sampleRate <= 0 || channels <= 0) {
+            throw new IllegalArgumentException("sampleRate and channels must be positive");
+        }
+        this.channels = channels;
+        this.stepFrames = sampleRate / 10;
+        this.shelf = new Biquad[channels];
+        this.highPass = new Biquad[channels];
+        for (int c = 0; c < channels; c++) {
+            shelf[c] = Biquad.highShelf(sampleRate);
+            highPass[c] = Biquad.highPass(sampleRate);
+        }
+    }
+
+    /**
+     * Adds {@code frames} frames of interleaved samples in [-1, 1].
+     */
+    public void process(float[] interleaved, int frames) {
+        for (int frame = 0; frame < frames; frame++) {
+            int offset = frame * channels;
+            for (int c = 0; c < channels; c++) {
+                double weighted = highPass[c].filter(shelf[c].filter(interleaved[offset + c]));
+                currentStep += weighted * weighted;
+            }
+            if (++currentStepFrames == stepFrames) {
+                if (steps == stepPower.length) {
+                    stepPower = Arrays.copyOf(stepPower, steps * 2);
+                }
+                stepPower[steps++] = currentStep;
+                currentStep = 0;
+                currentStepFrames = 0;
+            }
+        }
+    }
+
+    /**
+     * @return the gated integrated loudness in LUFS, or negative infinity for silence and programmes
+     * shorter than one block
+     */
+    public double integratedLoudness() {
+        int blocks = steps - STEPS_PER_BLOCK + 1;
+        if (blocks <= 0) {
+            return Double.NEGATIVE_INFINITY;
+        }
+        double blockFrames = (double) stepFrames * STEPS_PER_BLOCK;
+        double[] blockPower = new double[blocks];
+        double window = 0;
+        for (int i = 0; i < steps; i++) {
+            window += stepPower[i];
+            if (i >= STEPS_PER_BLOCK) {
+                window -= stepPower[i - STEPS_PER_BLOCK];
+            }
+            if (i >= STEPS_PER_BLOCK - 1) {
+                blockPower[i - STEPS_PER_BLOCK + 1] = Math.max(0, window) / blockFrames;
+            }
+        }
+
+        double absoluteGate = power(ABSOLUTE_GATE_LUFS);
+        double relativeGate = power(loudness(mean(blockPower, absoluteGate)) + RELATIVE_GATE_LU);
+        return loudness(mean(blockPower, Math.max(absoluteGate, relativeGate)));
+    }
+
+    private static double mean(double[] blockPower, double gate) {
+        double sum = 0;
+        int count = 0;
+        for (double power : blockPower) {
+            if (power > gate) {
+                sum += power;
+                count++;
+            }
+        }
+        return count == 0 ? 0 : sum / count;
+    }
+
+    private static double loudness(double power) {
+        return power <= 0 ? Double.NEGATIVE_INFINITY : -0.691 + 10 * Math.log10(power);
+    }
+
+    private static double power(double loudness) {
+        return Math.pow(10, (loudness + 0.691) / 10);
+    }
+
+    /**
+     * Second-order IIR section in direct form I.
+     */
+    private static final class Biquad {
+        private final double b0, b1, b2, a1, a2;
+        private double x1, x2, y1, y2;
+
+        private Biquad(double b0, double b1, double b2, double a1, double a2) {
+            this.b0 = b0;
+            this.b1 = b1;
+            this.b2 = b2;
+            this.a1 = a1;
+            this.a2 = a2;
+        }
+
+        // Stage 1 of the K-weighting: models the acoustic effect of the head
+        static Biquad highShelf(int sampleRate) {
+            double f0 = 1681.974450955533;
+            double gain = 3.999843853973347;
+            double q = 0.7071752369554196;
+            double k = Math.tan(Math.PI * f0 / sampleRate);
+            double vh = Math.pow(10, gain / 20);
+            double vb = Math.pow(vh, 0.4996667741545416);
+            double a0 = 1 + k / q + k * k;
+            return new Biquad((vh + vb * k / q + k * k) / a0, 2 * (k * k - vh) / a0, (vh - vb * k / q + k * k) / a0,
+                    2 * (k * k - 1) / a0, (1 - k / q + k * k) / a0);
+        }
+
+        // Stage 2 of the K-weighting: RLB high pass
+        static Biquad highPass(int sampleRate) {
+            double f0 = 38.13547087602444;
+            double q = 0.5003270373238773;
+            double k = Math.tan(Math.PI * f0 / sampleRate);
+            double a0 = 1 + k / q + k * k;
+            return new Biquad(1, -2, 1, 2 * (k * k - 1) / a0, (1 - k / q + k * k) / a0);
+        }
+
+        double filter(double x) {
+            double y = b0 * x + b1 * x1 + b2 * x2 - a1 * y1 - a2 * y2;
+            x2 = x1;
+            x1 = x;
+            y2 = y1;
+            y1 = y;
+            return y;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.resonate.media;
+
+import com.resonate.domain.media.AudioFile;
+import com.resonate.domain.media.AudioQuality;
+import com.resonate.domain.media.MediaJob;
+import com.resonate.infrastructure.repository.MediaJobRepository;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.inject.Inject;
+
+/**
+ * Queues the background work for a newly registered audio file. Jobs are inserted in the
+ * registering transaction, so they exist exactly when the audio file does, and run on
+ * {@link MediaJobWorker}.
+ */
+@ApplicationScoped
+public class MediaJobQueue {
+
+    @Inject
+    MediaJobRepository jobRepository;
+
+    @Inject
+    HlsPackagingService hlsPackagingService;
+
+    @Inject
+    AudioTranscodingService transcodingService;
+
+    @Inject
+    AudioAnalysisService analysisService;
+
+    @Inject
+    Event<AudioFileRegistered> audioFileRegistered;
+
+    /**
+     * Queues HLS packaging, analysis and transcoding for a persisted audio file. Must run inside the
+     * transaction that registers it.
+     */
+    public void enqueue(AudioFile audioFile) {
+        boolean queued = false;
+        if (hlsPackagingService.isEnabled()) {
+            audioFile.setHlsStatus(AudioFile.HlsStatus.PENDING);
+            jobRepository.persist(job(audioFile, MediaJob.Type.HLS, null));
+            queued = true;
+        }
+        if (analysisService.isEnabled()) {
+            jobRepository.persist(job(audioFile, MediaJob.Type.ANALYZE, null));
+            queued = true;
+        }
+        for (AudioQuality quality : transcodingService.getQualities()) {
+            jobRepository.persist(job(audioFile, MediaJob.Type.TRANSCODE, quality));
+            queued = true;
+        }
+        if (queued) {
+            // Lets the worker pick the jobs up as soon as they are committed instead of on its next poll
+            audioFileRegistered.fire(new AudioFileRegistered(audioFile.getId(), audioFile.getFileIdentifier()));
+        }
+    }
+
+    private static MediaJob job(AudioFile audioFile, MediaJob.Type type, AudioQuality quality) {
+        return MediaJob.builder()
+                .audioFileId(audioFile.getId())
+                .type(type)
+                .quality(quality)
+                .build();
+    }
+}
@@ -0,0 +1,194 @@
+package com.resonate.media;
+
+import com.resonate.domain.media.MediaJob;
+import com.resonate.infrastructure.repository.MediaJobRepository;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.context.ManagedExecutor;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Drains the {@code media_jobs} queue on a fixed pool of {@code media.jobs.concurrency} threads,
+ * so ffmpeg never competes with request threads. Jobs are only claimed when a thread is free to run
+ * them, which leaves the rest to other instances. Failed jobs are retried with exponential backoff
+ * up to {@code media.jobs.maxAttempts} times.
+ * <p>
+ * Running jobs are kept locked by a heartbeat every {@code media.jobs.heartbeatInterval}; a job whose
+ * lock is older than {@code media.jobs.staleAfter} lost its worker and is requeued, or failed once it
+ * has used up its attempts, so a job that crashes the JVM is not retried forever.
+ */
+@ApplicationScoped
+public class MediaJobWorker {
+    private static final Logger LOG = Logger.getLogger(MediaJobWorker.class);
+
+    private static final int MAX_ERROR_LENGTH = 2000;
+
+    @ConfigProperty(name = "media.jobs.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "media.jobs.concurrency", defaultValue = "2")
+    int concurrency;
+
+    @ConfigProperty(name = "media.jobs.maxAttempts", defaultValue = "3")
+    int maxAttempts;
+
+    @ConfigProperty(name = "media.jobs.retryDelay", defaultValue = "1m")
+    Duration retryDelay;
+
+    @ConfigProperty(name = "media.jobs.staleAfter", defaultValue = "5m")
+    Duration staleAfter;
+
+    @ConfigProperty(name = "media.jobs.heartbeatInterval", defaultValue = "1m")
+    Duration heartbeatInterval;
+
+    @Inject
+    MediaJobRepository jobRepository;
+
+    @Inject
+    HlsPackagingService hlsPackagingService;
+
+    @Inject
+    AudioTranscodingService transcodingService;
+
+    @Inject
+    AudioAnalysisService analysisService;
+
+    @Inject
+    ManagedExecutor managedExecutor;
+
+    private ExecutorService executor;
+    private Semaphore permits;
+    private final Set<Long> runningJobs = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    void init() {
+        if (heartbeatInterval.compareTo(staleAfter) >= 0) {
+            LOG.warn("media.jobs.heartbeatInterval (" + heartbeatInterval + ") should be well below media.jobs.staleAfter ("
+                    + staleAfter + "), running jobs may be requeued");
+        }
+        permits = new Semaphore(concurrency);
+        AtomicInteger threads = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(concurrency, runnable -> {
+            Thread thread = new Thread(runnable, "media-job-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Scheduled(every = "${media.jobs.pollInterval:5s}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void poll() {
+        if (enabled) {
+            dispatch();
+        }
+    }
+
+    @Scheduled(every = "${media.jobs.heartbeatInterval:1m}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void heartbeat() {
+        if (!runningJobs.isEmpty()) {
+            QuarkusTransaction.requiringNew().run(() -> jobRepository.heartbeat(Set.copyOf(runningJobs)));
+        }
+    }
+
+    @Scheduled(every = "${media.jobs.staleCheckInterval:1m}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void requeueStaleJobs() {
+        if (!enabled) {
+            return;
+        }
+        OffsetDateTime lockedBefore = OffsetDateTime.now().minus(staleAfter);
+        List<MediaJob> failed = QuarkusTransaction.requiringNew().call(
+                () -> jobRepository.failStale(lockedBefore, maxAttempts));
+        for (MediaJob job : failed) {
+            LOG.error("Media job " + job.getId() + " (" + job.getType() + ") stopped reporting progress after "
+                    + job.getAttempts() + " attempts, giving up");
+            if (job.getType() == MediaJob.Type.HLS) {
+                hlsPackagingService.markFailed(job.getAudioFileId());
+            }
+        }
+        int requeued = QuarkusTransaction.requiringNew().call(
+                () -> jobRepository.requeueStale(lockedBefore, maxAttempts));
+        if (requeued > 0) {
+            LOG.warn("Requeued " + requeued + " media jobs that stopped reporting progress");
+        }
+    }
+
+    void onRegistered(@Observes(during = TransactionPhase.AFTER_SUCCESS) AudioFileRegistered event) {
+        if (enabled) {
+            managedExecutor.execute(this::dispatch);
+        }
+    }
+
+    /**
+     * Claims as many jobs as there are free worker threads and hands them over.
+     */
+    synchronized void dispatch() {
+        int capacity = permits.availablePermits();
+        if (capacity == 0) {
+            return;
+        }
+        List<MediaJob> jobs = QuarkusTransaction.requiringNew().call(() -> jobRepository.claim(capacity));
+        for (MediaJob job : jobs) {
+            permits.acquireUninterruptibly();
+            runningJobs.add(job.getId());
+            executor.execute(() -> {
+                try {
+                    run(job);
+                } finally {
+                    runningJobs.remove(job.getId());
+                    permits.release();
+                }
+            });
+        }
+    }
+
+    void run(MediaJob job) {
+        try {
+            switch (job.getType()) {
+                case HLS -> hlsPackagingService.packageAudioFile(job.getAudioFileId());
+                case TRANSCODE -> transcodingService.transcode(job.getAudioFileId(), job.getQuality());
+                case ANALYZE -> analysisService.analyze(job.getAudioFileId());
+            }
+            QuarkusTransaction.requiringNew().run(() -> jobRepository.markDone(job.getId()));
+        } catch (Exception e) {
+            String error = truncate(String.valueOf(e.getMessage()));
+            if (job.getAttempts() < maxAttempts) {
+                OffsetDateTime runAfter = OffsetDateTime.now().plus(retryDelay.multipliedBy(1L << (job.getAttempts() - 1)));
+                LOG.warn("Media job " + job.getId() + " (" + job.getType() + ") failed on attempt " + job.getAttempts()
+                        + ", retrying after " + runAfter, e);
+                QuarkusTransaction.requiringNew().run(() -> jobRepository.markRetry(job.getId(), error, runAfter));
+            } else {
+                LOG.error("Media job " + job.getId() + " (" + job.getType() + ") failed after " + job.getAttempts()
+                        + " attempts", e);
+                QuarkusTransaction.requiringNew().run(() -> jobRepository.markFailed(job.getId(), error));
+                if (job.getType() == MediaJob.Type.HLS) {
+                    hlsPackagingService.markFailed(job.getAudioFileId());
+                }
+            }
+        }
+    }
+
+    private static String truncate(String message) {
+        return message.length() <= MAX_ERROR_LENGTH ? message : message.substring(0, MAX_ERROR_LENGTH);
+    }
+}
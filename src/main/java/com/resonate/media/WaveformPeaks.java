@@ -0,0 +1,85 @@
+package com.resonate.media;
+
+import java.util.Arrays;
+
+/**
+ * Downsampled peak envelope of a programme for waveform rendering. Peaks are first collected per
+ * 10 ms window, since the total length is not known while streaming, then reduced to the requested
+ * number of points and quantized to one unsigned byte each (0 = silence, 255 = full scale).
+ */
+public class WaveformPeaks {
+
+    private final int channels;
+    private final int windowFrames;
+
+    private float[] windows = new float[1024];
+    private int windowCount;
+    private float currentPeak;
+    private int currentFrames;
+    private long totalFrames;
+
+    public WaveformPeaks(int sampleRate, int channels) {
+        if (sampleRate <= 0 || channels <= 0) {
+            throw new IllegalArgumentException("sampleRate and channels must be positive");
+        }
+        this.channels = channels;
+        this.windowFrames = Math.max(1, sampleRate / 100);
+    }
+
+    /**
+     * Adds {@code frames} frames of interleaved samples in [-1, 1].
+     */
+    public void process(float[] interleaved, int frames) {
+        for (int frame = 0; frame < frames; frame++) {
+            int offset = frame * channels;
+            for (int c = 0; c < channels; c++) {
+                currentPeak = Math.max(currentPeak, Math.abs(interleaved[offset + c]));
+            }
+            if (++currentFrames == windowFrames) {
+                closeWindow();
+            }
+        }
+        totalFrames += frames;
+    }
+
+    public long getTotalFrames() {
+        return totalFrames;
+    }
+
+    /**
+     * @return at most {@code points} peaks, fewer when the programme is shorter than {@code points} windows
+     */
+    public byte[] toBytes(int points) {
+        if (points <= 0) {
+            throw new IllegalArgumentException("points must be positive");
+        }
+        float[] all = windows;
+        int count = windowCount;
+        if (currentFrames > 0) {
+            all = Arrays.copyOf(windows, windowCount + 1);
+            all[count++] = currentPeak;
+        }
+
+        int size = Math.min(points, count);
+        byte[] peaks = new byte[size];
+        for (int i = 0; i < size; i++) {
+            int from = (int) ((long) i * count / size);
+            int to = (int) ((long) (i + 1) * count / size);
+            float peak = 0;
+            for (int w = from; w < to; w++) {
+                peak = Math.max(peak, all[w]);
+            }
+            peaks[i] = (byte) Math.min(255, Math.round(peak * 255));
+        }
+        return peaks;
+    }
+
+    private void closeWindow() {
+        if (windowCount == windows.length) {
+            windows = Arrays.copyOf(windows, windowCount * 2);
+        }
+        windows[windowCount++] = currentPeak;
+        currentPeak = 0;
+        currentFrames = 0;
+    }
+}
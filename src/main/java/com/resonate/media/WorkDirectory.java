@@ -0,0 +1,43 @@
+package com.resonate.media;
+
+import org.jboss.logging.Logger;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * Temporary directory for a single media job, removed with everything in it when closed.
+ */
+class WorkDirectory implements AutoCloseable {
+    private static final Logger LOG = Logger.getLogger(WorkDirectory.class);
+
+    private final Path path;
+
+    private WorkDirectory(Path path) {
+        this.path = path;
+    }
+
+    static WorkDirectory create(String prefix) throws IOException {
+        return new WorkDirectory(Files.createTempDirectory(prefix));
+    }
+
+    Path path() {
+        return path;
+    }
+
+    Path resolve(String name) {
+        return path.resolve(name);
+    }
+
+    @Override
+    public void close() {
+        try (Stream<Path> paths = Files.walk(path)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        } catch (IOException e) {
+            LOG.warn("Could not remove work directory " + path, e);
+        }
+    }
+}
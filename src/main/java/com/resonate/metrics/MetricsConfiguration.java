@@ -0,0 +1,47 @@
+package com.resonate.metrics;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import jakarta.enterprise.inject.Produces;
+import jakarta.inject.Singleton;
+
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Publishes latency histograms for the timers we set SLOs on, so p50/p95/p99 can be
+ * computed in Prometheus with {@code histogram_quantile} across instances.
+ */
+public class MetricsConfiguration {
+
+    public static final String STORAGE_PRESIGN = "storage.presign";
+    public static final String STORAGE_REQUESTS = "storage.requests";
+    public static final String SUPABASE_REQUESTS = "supabase.auth.requests";
+    public static final String SUPABASE_ERRORS = "supabase.auth.errors";
+    public static final String PLAY_EVENTS = "play.events";
+    public static final String PLAY_EVENTS_BUFFERED = "play.events.buffered";
+    public static final String PLAY_EVENTS_FLUSH = "play.events.flush";
+
+    private static final Set<String> HISTOGRAM_TIMERS = Set.of(
+            "http.server.requests", STORAGE_PRESIGN, STORAGE_REQUESTS, SUPABASE_REQUESTS, PLAY_EVENTS_FLUSH);
+
+    @Produces
+    @Singleton
+    public MeterFilter latencyHistograms() {
+        return new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                if (!HISTOGRAM_TIMERS.contains(id.getName())) {
+                    return config;
+                }
+                return DistributionStatisticConfig.builder()
+                        .percentilesHistogram(true)
+                        .minimumExpectedValue((double) Duration.ofMillis(1).toNanos())
+                        .maximumExpectedValue((double) Duration.ofSeconds(30).toNanos())
+                        .build()
+                        .merge(config);
+            }
+        };
+    }
+}
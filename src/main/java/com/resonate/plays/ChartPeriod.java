@@ -0,0 +1,21 @@
+package com.resonate.plays;
+
+/**
+ * Time span a chart covers. The day chart is summed from hourly counters (the last 24 hours), longer
+ * charts from daily counters (today and the previous UTC days).
+ */
+public enum ChartPeriod {
+    DAY(1),
+    WEEK(7),
+    MONTH(30);
+
+    private final int days;
+
+    ChartPeriod(int days) {
+        this.days = days;
+    }
+
+    public int getDays() {
+        return days;
+    }
+}
@@ -0,0 +1,103 @@
+package com.resonate.plays;
+
+import com.resonate.api.dto.ChartEntry;
+import com.resonate.infrastructure.cache.BoundedCache;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Top-track charts summed from the rollup counters maintained by {@link PlayCountRollup}. Results are
+ * cached for {@code plays.charts.cacheTtl}; the counters themselves only move once per rollup run.
+ */
+@ApplicationScoped
+public class ChartService {
+
+    @ConfigProperty(name = "plays.charts.cacheTtl", defaultValue = "1m")
+    Duration cacheTtl;
+
+    @ConfigProperty(name = "plays.charts.cacheMaxSize", defaultValue = "1000")
+    int cacheMaxSize;
+
+    @Inject
+    EntityManager entityManager;
+
+    private BoundedCache<ChartKey, List<ChartEntry>> cache;
+
+    @PostConstruct
+    void init() {
+        cache = BoundedCache.<ChartKey, List<ChartEntry>>builder(cacheMaxSize)
+                .expireAfterWrite(cacheTtl)
+                .build();
+    }
+
+    /**
+     * @param artistId restricts the chart to one artist's tracks, or null for the global chart
+     */
+    public List<ChartEntry> topTracks(ChartPeriod period, UUID artistId, int limit) {
+        return cache.get(new ChartKey(period, artistId, limit), this::load);
+    }
+
+    public Duration getCacheTtl() {
+        return cacheTtl;
+    }
+
+    public void clearCache() {
+        cache.clear();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<ChartEntry> load(ChartKey key) {
+        // Counters are summed per track before joining, so only the chart's tracks are looked up;
+        // an artist chart only sums the counters of that artist's tracks
+        String table = key.period() == ChartPeriod.DAY
+                ? "track_play_counts_hourly WHERE hour >= :since"
+                : "track_play_counts_daily WHERE day >= :since";
+        String artistFilter = key.artistId() == null ? "" : " AND track_id IN ("
+                + "SELECT t.id FROM tracks t JOIN releases r ON r.id = t.release_id WHERE r.artist_id = :artistId)";
+        Query query = entityManager.createNativeQuery("""
+                SELECT c.track_id, t.title, r.id, r.title, r.artist_id, c.plays
+                FROM (SELECT track_id, sum(plays) AS plays FROM %s%s GROUP BY track_id) c
+                JOIN tracks t ON t.id = c.track_id
+                JOIN releases r ON r.id = t.release_id
+                ORDER BY c.plays DESC, c.track_id
+                LIMIT :limit
+                """.formatted(table, artistFilter))
+                .setParameter("limit", key.limit());
+        if (key.period() == ChartPeriod.DAY) {
+            query.setParameter("since", OffsetDateTime.now(ZoneOffset.UTC).truncatedTo(ChronoUnit.HOURS).minusHours(23));
+        } else {
+            query.setParameter("since", LocalDate.now(ZoneOffset.UTC).minusDays(key.period().getDays() - 1));
+        }
+        if (key.artistId() != null) {
+            query.setParameter("artistId", key.artistId());
+        }
+
+        List<Object[]> rows = query.getResultList();
+        List<ChartEntry> entries = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            entries.add(new ChartEntry(entries.size() + 1, ((Number) row[0]).longValue(), (String) row[1],
+                    ((Number) row[2]).longValue(), (String) row[3], toUuid(row[4]), ((Number) row[5]).longValue()));
+        }
+        return List.copyOf(entries);
+    }
+
+    private static UUID toUuid(Object value) {
+        return value instanceof UUID uuid ? uuid : UUID.fromString(value.toString());
+    }
+
+    private record ChartKey(ChartPeriod period, UUID artistId, int limit) {
+    }
+}
@@ -0,0 +1,113 @@
+package com.resonate.plays;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Rolls {@code play_events} into the hourly and daily per-track counters incrementally: each run only
+ * reads the events between the stored watermark and {@code now - plays.rollup.lag}, adds them to the
+ * counters and moves the watermark, all in one transaction. The lag leaves room for plays that are
+ * still buffered in {@link PlayEventService}; a play written later than that is not counted.
+ */
+@ApplicationScoped
+public class PlayCountRollup {
+    private static final Logger LOG = Logger.getLogger(PlayCountRollup.class);
+
+    @ConfigProperty(name = "plays.rollup.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "plays.rollup.lag", defaultValue = "2m")
+    Duration lag;
+
+    @ConfigProperty(name = "plays.rollup.maxWindow", defaultValue = "1d")
+    Duration maxWindow;
+
+    @ConfigProperty(name = "plays.rollup.hourlyRetention", defaultValue = "7d")
+    Duration hourlyRetention;
+
+    @Inject
+    EntityManager entityManager;
+
+    @Scheduled(every = "${plays.rollup.interval:1m}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void scheduledRollUp() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            rollUp();
+        } catch (RuntimeException e) {
+            LOG.error("Failed to roll up play events", e);
+        }
+    }
+
+    /**
+     * Counts every play up to {@code now - lag}, one window of at most {@code plays.rollup.maxWindow}
+     * per transaction so a long backfill never holds a single huge transaction open.
+     *
+     * @return the number of windows rolled up
+     */
+    public int rollUp() {
+        int windows = 0;
+        while (QuarkusTransaction.requiringNew().call(this::rollUpWindow)) {
+            windows++;
+        }
+        if (windows > 0) {
+            QuarkusTransaction.requiringNew().run(this::pruneHourly);
+        }
+        return windows;
+    }
+
+    private boolean rollUpWindow() {
+        // Row lock: concurrent instances wait here instead of counting the same window twice
+        OffsetDateTime from = ((OffsetDateTime) entityManager.createNativeQuery(
+                        "SELECT rolled_up_to FROM play_rollup_state WHERE id = 1 FOR UPDATE", OffsetDateTime.class)
+                .getSingleResult()).withOffsetSameInstant(ZoneOffset.UTC);
+        OffsetDateTime caughtUp = OffsetDateTime.now(ZoneOffset.UTC).minus(lag);
+        OffsetDateTime to = from.plus(maxWindow).isBefore(caughtUp) ? from.plus(maxWindow) : caughtUp;
+        if (!to.isAfter(from)) {
+            return false;
+        }
+
+        entityManager.createNativeQuery("""
+                        INSERT INTO track_play_counts_hourly (track_id, hour, plays)
+                        SELECT track_id, date_trunc('hour', played_at), count(*)
+                        FROM play_events
+                        WHERE played_at >= :from AND played_at < :to
+                        GROUP BY 1, 2
+                        ON CONFLICT (track_id, hour) DO UPDATE SET plays = track_play_counts_hourly.plays + EXCLUDED.plays
+                        """)
+                .setParameter("from", from)
+                .setParameter("to", to)
+                .executeUpdate();
+        entityManager.createNativeQuery("""
+                        INSERT INTO track_play_counts_daily (track_id, day, plays)
+                        SELECT track_id, (played_at AT TIME ZONE 'UTC')::date, count(*)
+                        FROM play_events
+                        WHERE played_at >= :from AND played_at < :to
+                        GROUP BY 1, 2
+                        ON CONFLICT (track_id, day) DO UPDATE SET plays = track_play_counts_daily.plays + EXCLUDED.plays
+                        """)
+                .setParameter("from", from)
+                .setParameter("to", to)
+                .executeUpdate();
+        entityManager.createNativeQuery("UPDATE play_rollup_state SET rolled_up_to = :to WHERE id = 1")
+                .setParameter("to", to)
+                .executeUpdate();
+        return true;
+    }
+
+    private void pruneHourly() {
+        entityManager.createNativeQuery("DELETE FROM track_play_counts_hourly WHERE hour < :before")
+                .setParameter("before", OffsetDateTime.now(ZoneOffset.UTC).minus(hourlyRetention))
+                .executeUpdate();
+    }
+}
@@ -0,0 +1,13 @@
+package com.resonate.plays;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A single play of a track, as buffered before it is written to {@code play_events}.
+ *
+ * @param userId     the listener, null for anonymous plays
+ * @param listenedMs how much of the track was played, null when unknown
+ */
+public record PlayEvent(long trackId, UUID userId, Integer listenedMs, Instant playedAt) {
+}
@@ -0,0 +1,79 @@
+package com.resonate.plays;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded in-memory buffer of play events waiting to be written, backed by a fixed-size circular
+ * array. Producers never block: when the buffer is full the event is rejected and counted, so a
+ * stalled database slows nothing but play counting.
+ */
+public class PlayEventBuffer {
+
+    private final ArrayBlockingQueue<PlayEvent> events;
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    public PlayEventBuffer(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be at least 1");
+        }
+        this.events = new ArrayBlockingQueue<>(capacity);
+    }
+
+    /**
+     * @return false if the buffer is full and the event was dropped
+     */
+    public boolean offer(PlayEvent event) {
+        if (events.offer(event)) {
+            accepted.increment();
+            return true;
+        }
+        rejected.increment();
+        return false;
+    }
+
+    /**
+     * Puts back events that were drained but could not be written, behind those buffered since.
+     * They are not counted as accepted again.
+     *
+     * @return how many events fitted, the rest are dropped
+     */
+    public int requeue(List<PlayEvent> drained) {
+        int requeued = 0;
+        for (PlayEvent event : drained) {
+            if (!events.offer(event)) {
+                break;
+            }
+            requeued++;
+        }
+        return requeued;
+    }
+
+    /**
+     * Removes up to {@code maxEvents} events, oldest first.
+     */
+    public List<PlayEvent> drain(int maxEvents) {
+        List<PlayEvent> drained = new ArrayList<>(Math.min(maxEvents, events.size()));
+        events.drainTo(drained, maxEvents);
+        return drained;
+    }
+
+    public int size() {
+        return events.size();
+    }
+
+    public int capacity() {
+        return events.size() + events.remainingCapacity();
+    }
+
+    public long acceptedCount() {
+        return accepted.sum();
+    }
+
+    public long rejectedCount() {
+        return rejected.sum();
+    }
+}
@@ -0,0 +1,196 @@
+package com.resonate.plays;
+
+import com.resonate.metrics.MetricsConfiguration;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.context.ManagedExecutor;
+import org.jboss.logging.Logger;
+import org.postgresql.PGConnection;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Ingests play events: {@link #record} only appends to an in-memory {@link PlayEventBuffer}, and the
+ * buffer is written to the partitioned {@code play_events} table with one {@code COPY} per batch,
+ * every {@code plays.flushInterval} or as soon as a full batch is waiting. A batch that fails on a
+ * transient database error is put back for the next flush. Events still buffered when an instance
+ * crashes are lost, which is acceptable for play counts.
+ */
+@ApplicationScoped
+public class PlayEventService {
+    private static final Logger LOG = Logger.getLogger(PlayEventService.class);
+
+    private static final String COPY_SQL =
+            "COPY play_events (track_id, user_id, listened_ms, played_at) FROM STDIN WITH (FORMAT csv)";
+
+    @ConfigProperty(name = "plays.buffer.capacity", defaultValue = "200000")
+    int capacity;
+
+    @ConfigProperty(name = "plays.flush.batchSize", defaultValue = "10000")
+    int batchSize;
+
+    @Inject
+    DataSource dataSource;
+
+    @Inject
+    ManagedExecutor managedExecutor;
+
+    @Inject
+    MeterRegistry registry;
+
+    private final ReentrantLock flushLock = new ReentrantLock();
+    // At most one early flush is queued on the executor, however many plays arrive meanwhile
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private PlayEventBuffer buffer;
+    private Counter written;
+    private Counter lost;
+    private Timer flushTimer;
+
+    @PostConstruct
+    void init() {
+        buffer = new PlayEventBuffer(capacity);
+        Gauge.builder(MetricsConfiguration.PLAY_EVENTS_BUFFERED, buffer, PlayEventBuffer::size).register(registry);
+        FunctionCounter.builder(MetricsConfiguration.PLAY_EVENTS, buffer, PlayEventBuffer::acceptedCount)
+                .tag("outcome", "accepted").register(registry);
+        FunctionCounter.builder(MetricsConfiguration.PLAY_EVENTS, buffer, PlayEventBuffer::rejectedCount)
+                .tag("outcome", "rejected").register(registry);
+        written = registry.counter(MetricsConfiguration.PLAY_EVENTS, "outcome", "written");
+        lost = registry.counter(MetricsConfiguration.PLAY_EVENTS, "outcome", "lost");
+        flushTimer = registry.timer(MetricsConfiguration.PLAY_EVENTS_FLUSH);
+    }
+
+    /**
+     * Buffers a play for the next flush.
+     *
+     * @return false if the buffer is full and the play was dropped
+     */
+    public boolean record(PlayEvent event) {
+        if (!buffer.offer(event)) {
+            return false;
+        }
+        if (buffer.size() >= batchSize && !flushLock.isLocked() && flushScheduled.compareAndSet(false, true)) {
+            try {
+                managedExecutor.execute(this::flushIfIdle);
+            } catch (RejectedExecutionException e) {
+                // The scheduled flush picks the batch up instead
+                flushScheduled.set(false);
+            }
+        }
+        return true;
+    }
+
+    @Scheduled(every = "${plays.flushInterval:1s}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void flushIfIdle() {
+        flushScheduled.set(false);
+        if (flushLock.tryLock()) {
+            try {
+                writeBuffered();
+            } finally {
+                flushLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Writes everything buffered so far, waiting for a flush already in progress.
+     */
+    public void flush() {
+        flushLock.lock();
+        try {
+            writeBuffered();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    void onStop(@Observes ShutdownEvent ev) {
+        flush();
+    }
+
+    /**
+     * Creates next month's partition ahead of time, so plays never land in the default partition.
+     */
+    @Scheduled(cron = "${plays.partitionCron:0 0 3 * * ?}")
+    void createUpcomingPartition() {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("SELECT create_play_events_partition((CURRENT_DATE + INTERVAL '1 month')::date)");
+        } catch (SQLException e) {
+            LOG.error("Failed to create the next play_events partition", e);
+        }
+    }
+
+    public PlayEventBuffer getBuffer() {
+        return buffer;
+    }
+
+    private void writeBuffered() {
+        List<PlayEvent> batch;
+        while (!(batch = buffer.drain(batchSize)).isEmpty()) {
+            List<PlayEvent> events = batch;
+            try {
+                long rows = flushTimer.recordCallable(() -> copy(events));
+                written.increment(rows);
+            } catch (Exception e) {
+                int requeued = isTransient(e) ? buffer.requeue(events) : 0;
+                int dropped = events.size() - requeued;
+                LOG.error("Failed to write " + events.size() + " play events, " + requeued
+                        + " put back for the next flush and " + dropped + " lost", e);
+                lost.increment(dropped);
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return whether the same rows may be written once the database recovers: a lost connection,
+     * a serialization failure or deadlock, exhausted resources, or a cancelled statement
+     */
+    static boolean isTransient(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLTransientException) {
+                return true;
+            }
+            if (cause instanceof SQLException sqlException && sqlException.getSQLState() != null) {
+                String sqlState = sqlException.getSQLState();
+                return sqlState.startsWith("08") || sqlState.startsWith("40")
+                        || sqlState.startsWith("53") || sqlState.startsWith("57");
+            }
+        }
+        return false;
+    }
+
+    private long copy(List<PlayEvent> events) throws SQLException, IOException {
+        StringBuilder csv = new StringBuilder(events.size() * 80);
+        for (PlayEvent event : events) {
+            // Empty unquoted CSV fields are NULL
+            csv.append(event.trackId()).append(',')
+                    .append(event.userId() != null ? event.userId() : "").append(',')
+                    .append(event.listenedMs() != null ? event.listenedMs() : "").append(',')
+                    .append(event.playedAt()).append('\n');
+        }
+        try (Connection connection = dataSource.getConnection()) {
+            return connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_SQL, new StringReader(csv.toString()));
+        }
+    }
+}
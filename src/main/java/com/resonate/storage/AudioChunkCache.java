@@ -0,0 +1,205 @@
+package com.resonate.storage;
+
+import com.resonate.infrastructure.cache.BoundedCache;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Disk cache of fixed-size chunks of stored audio objects.
+ * <p>
+ * Objects are split into {@code chunkSize} chunks, each fetched from storage on first use and kept
+ * as a file in {@code directory}. Reads stream the requested part of each chunk file to the
+ * target with {@link FileChannel#transferTo}; when the target is not a file or socket channel (such
+ * as a wrapped servlet stream) the JDK copies through a small buffer, so a chunk is never held in
+ * memory as a whole, but the bytes are copied rather than sent zero-copy.
+ * The least recently used chunks are deleted once the cache holds more than {@code maxBytes}.
+ * Concurrent misses for the same chunk share a single fetch.
+ */
+public class AudioChunkCache {
+
+    private static final String CHUNK_SUFFIX = ".chunk";
+
+    /**
+     * Fetches an inclusive byte range of a stored object.
+     */
+    @FunctionalInterface
+    public interface ChunkLoader {
+        byte[] load(String fileKey, long start, long end);
+    }
+
+    private final Path directory;
+    private final int chunkSize;
+    private final ChunkLoader loader;
+
+    // Chunk file name -> size in bytes
+    private final BoundedCache<String, Long> chunks;
+    private final Map<String, CompletableFuture<Path>> loading = new ConcurrentHashMap<>();
+
+    public AudioChunkCache(Path directory, int chunkSize, long maxBytes, ChunkLoader loader) throws IOException {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be at least 1");
+        }
+        if (maxBytes < chunkSize) {
+            throw new IllegalArgumentException("maxBytes must hold at least one chunk");
+        }
+        this.directory = Files.createDirectories(directory);
+        this.chunkSize = chunkSize;
+        this.loader = loader;
+        // Readers that already opened an evicted file keep reading it, the data goes away on close
+        this.chunks = BoundedCache.<String, Long>builder(maxBytes)
+                .weigher((name, size) -> size)
+                .evictionListener((name, size) -> deleteQuietly(this.directory.resolve(name)))
+                .build();
+        clearDirectory();
+    }
+
+    /**
+     * Writes bytes {@code start} to {@code end} (inclusive) of an object to {@code target},
+     * loading any chunk that is not cached yet.
+     *
+     * @param objectLength total length of the object, used to size its last chunk
+     */
+    public void transferTo(String fileKey, long start, long end, long objectLength, WritableByteChannel target)
+            throws IOException {
+        long position = start;
+        while (position <= end) {
+            long index = position / chunkSize;
+            long chunkStart = index * chunkSize;
+            long count = Math.min(end, chunkStart + chunkSize - 1) - position + 1;
+            transferChunk(fileKey, index, objectLength, position - chunkStart, count, target);
+            position += count;
+        }
+    }
+
+    private void transferChunk(String fileKey, long index, long objectLength, long offset, long count,
+                               WritableByteChannel target) throws IOException {
+        for (int attempt = 0; ; attempt++) {
+            Path path = chunk(fileKey, index, objectLength);
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                long transferred = 0;
+                while (transferred < count) {
+                    transferred += channel.transferTo(offset + transferred, count - transferred, target);
+                }
+                return;
+            } catch (NoSuchFileException e) {
+                // Evicted between lookup and open; load it again once
+                if (attempt > 0) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private Path chunk(String fileKey, long index, long objectLength) throws IOException {
+        String name = chunkName(fileKey, index);
+        if (chunks.getIfPresent(name) != null) {
+            return directory.resolve(name);
+        }
+
+        CompletableFuture<Path> load = new CompletableFuture<>();
+        CompletableFuture<Path> inFlight = loading.putIfAbsent(name, load);
+        if (inFlight != null) {
+            return await(inFlight);
+        }
+
+        try {
+            long start = index * chunkSize;
+            long end = Math.min(start + chunkSize, objectLength) - 1;
+            byte[] data = loader.load(fileKey, start, end);
+
+            Path tmp = Files.createTempFile(directory, "load", ".tmp");
+            Files.write(tmp, data);
+            Path path = Files.move(tmp, directory.resolve(name),
+                    StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            chunks.put(name, (long) data.length);
+            load.complete(path);
+            return path;
+        } catch (IOException | RuntimeException e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(name);
+        }
+    }
+
+    public void clear() throws IOException {
+        chunks.clear();
+        clearDirectory();
+    }
+
+    public int chunkCount() {
+        return chunks.size();
+    }
+
+    public long cachedBytes() {
+        return chunks.weight();
+    }
+
+    public long hitCount() {
+        return chunks.hitCount();
+    }
+
+    public long missCount() {
+        return chunks.missCount();
+    }
+
+    public long evictionCount() {
+        return chunks.evictionCount();
+    }
+
+    private void clearDirectory() throws IOException {
+        // The index lives in memory only, chunks left over from a previous run are unknown to it
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(p -> p.getFileName().toString().endsWith(CHUNK_SUFFIX)
+                            || p.getFileName().toString().endsWith(".tmp"))
+                    .forEach(AudioChunkCache::deleteQuietly);
+        }
+    }
+
+    private static String chunkName(String fileKey, long index) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(fileKey.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 16) + "-" + index + CHUNK_SUFFIX;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Path await(CompletableFuture<Path> future) throws IOException {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw e;
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            // Best effort: an orphaned chunk file is overwritten when the chunk is loaded again
+        }
+    }
+}
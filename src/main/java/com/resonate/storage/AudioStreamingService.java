@@ -0,0 +1,106 @@
+package com.resonate.storage;
+
+import com.resonate.infrastructure.cache.BoundedCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.runtime.StartupEvent;
+import io.quarkus.runtime.configuration.MemorySize;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.file.Path;
+
+/**
+ * Proxy streaming mode: serves audio bytes from the local {@link AudioChunkCache} instead of
+ * handing players a presigned Backblaze URL, so seeks and replays of popular tracks do not cost
+ * storage egress. Disabled unless {@code streaming.proxy.enabled} is set.
+ * <p>
+ * A range can span several chunk files, so it is written to the servlet output stream chunk by
+ * chunk (a buffered copy) rather than handed to the server as a single file region.
+ */
+@ApplicationScoped
+public class AudioStreamingService {
+    private static final Logger LOG = Logger.getLogger(AudioStreamingService.class);
+
+    private static final int MAX_KNOWN_LENGTHS = 10_000;
+
+    @ConfigProperty(name = "streaming.proxy.enabled", defaultValue = "false")
+    boolean enabled;
+
+    @ConfigProperty(name = "streaming.cache.directory", defaultValue = "${java.io.tmpdir}/resonate-audio-cache")
+    String cacheDirectory;
+
+    @ConfigProperty(name = "streaming.cache.chunkSize", defaultValue = "1M")
+    MemorySize chunkSize;
+
+    @ConfigProperty(name = "streaming.cache.maxSize", defaultValue = "2G")
+    MemorySize maxSize;
+
+    @Inject
+    BackblazeStorageService storageService;
+
+    @Inject
+    MeterRegistry registry;
+
+    private AudioChunkCache cache;
+
+    // Object lengths are needed for every range request, keep them instead of asking storage each time
+    private final BoundedCache<String, Long> objectLengths = BoundedCache.<String, Long>builder(MAX_KNOWN_LENGTHS).build();
+
+    void onStart(@Observes StartupEvent ev) throws IOException {
+        if (!enabled) {
+            return;
+        }
+        cache = new AudioChunkCache(Path.of(cacheDirectory), (int) chunkSize.asLongValue(), maxSize.asLongValue(),
+                storageService::readRange);
+        Gauge.builder("streaming.cache.bytes", cache, AudioChunkCache::cachedBytes).register(registry);
+        FunctionCounter.builder("streaming.cache.requests", cache, AudioChunkCache::hitCount)
+                .tag("result", "hit").register(registry);
+        FunctionCounter.builder("streaming.cache.requests", cache, AudioChunkCache::missCount)
+                .tag("result", "miss").register(registry);
+        FunctionCounter.builder("streaming.cache.evictions", cache, AudioChunkCache::evictionCount).register(registry);
+        LOG.info("Proxy streaming enabled, caching up to " + maxSize.asLongValue() + " bytes in " + cacheDirectory);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long objectLength(String fileKey) {
+        return objectLengths.get(fileKey, storageService::getObjectLength);
+    }
+
+    /**
+     * Forgets the known lengths of a stored file and of everything derived from it (renditions, HLS
+     * segments), whose keys all start with the file's key.
+     */
+    public void forget(String fileKey) {
+        objectLengths.invalidateIf(key -> key.startsWith(fileKey));
+    }
+
+    /**
+     * Writes a range of a stored file to the response.
+     */
+    public void write(String fileKey, ByteRange range, long objectLength, OutputStream output) {
+        try {
+            cache.transferTo(fileKey, range.start(), range.end(), objectLength, Channels.newChannel(output));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @return the chunk cache, or null when proxy streaming is disabled
+     */
+    public AudioChunkCache getCache() {
+        return cache;
+    }
+}
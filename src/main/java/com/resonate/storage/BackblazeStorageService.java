@@ -1,8 +1,15 @@
 package com.resonate.storage;
 
+import com.resonate.metrics.MetricsConfiguration;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import io.quarkus.runtime.StartupEvent;
+import io.quarkus.runtime.configuration.MemorySize;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.jboss.logging.Logger;
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
@@ -10,22 +17,42 @@ import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
 import software.amazon.awssdk.core.exception.SdkException;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3Configuration;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
 import software.amazon.awssdk.services.s3.model.HeadBucketRequest;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
+import software.amazon.awssdk.services.s3.model.ObjectIdentifier;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
 import software.amazon.awssdk.services.s3.presigner.model.PutObjectPresignRequest;
+import software.amazon.awssdk.services.s3.presigner.model.UploadPartPresignRequest;
 
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
 import java.time.Duration;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 
 @ApplicationScoped
 public class BackblazeStorageService {
     private static final Logger LOG = Logger.getLogger(BackblazeStorageService.class);
 
+    // S3 multipart limits: every part but the last must be at least 5 MB, and at most 10000 parts
+    static final long MIN_PART_SIZE = 5L * 1024 * 1024;
+    static final int MAX_PART_COUNT = 10_000;
+
     private S3Client s3Client;
     private S3Presigner presigner;
     private boolean initialized = false;
@@ -42,13 +69,44 @@ public class BackblazeStorageService {
     @ConfigProperty(name = "backblaze.endpoint", defaultValue = "https://s3.eu-central-003.backblazeb2.com")
     String endpoint;
 
+    // Path-style bucket addressing, needed for S3-compatible stand-ins such as MinIO in the load-test setup
+    @ConfigProperty(name = "backblaze.pathStyleAccess", defaultValue = "false")
+    boolean pathStyleAccess;
+
+    // How long a presigned download URL stays valid
+    @ConfigProperty(name = "backblaze.downloadUrl.signatureDuration", defaultValue = "60m")
+    Duration downloadSignatureDuration;
+
+    // How long a signed URL is handed out from the cache before it is re-signed.
+    // Must be shorter than the signature duration so cached URLs never reach clients close to expiry.
+    @ConfigProperty(name = "backblaze.downloadUrl.cacheTtl", defaultValue = "45m")
+    Duration downloadCacheTtl;
+
+    @ConfigProperty(name = "backblaze.downloadUrl.cacheMaxSize", defaultValue = "10000")
+    int downloadCacheMaxSize;
+
+    @ConfigProperty(name = "backblaze.downloadUrl.cacheEnabled", defaultValue = "true")
+    boolean downloadCacheEnabled;
+
+    // Preferred part size for multipart uploads, raised automatically for files that would need too many parts
+    @ConfigProperty(name = "backblaze.multipart.partSize", defaultValue = "64M")
+    MemorySize multipartPartSize;
+
+    // How long a presigned URL for a single part of a multipart upload stays valid
+    @ConfigProperty(name = "backblaze.multipart.partUrlDuration", defaultValue = "60m")
+    Duration partUrlDuration;
+
+    @Inject
+    MeterRegistry registry;
+
+    private PresignedUrlCache downloadUrlCache;
 
     void onStart(@Observes StartupEvent ev) {
         initClients();
         validateConnection();
     }
 
-    private void initClients() {
+    void initClients() {
         try {
             LOG.info("Initializing Backblaze B2 storage client");
 
@@ -59,14 +117,21 @@ public class BackblazeStorageService {
                     .region(Region.EU_CENTRAL_1)
                     .endpointOverride(java.net.URI.create(endpoint))
                     .credentialsProvider(StaticCredentialsProvider.create(credentials))
+                    .forcePathStyle(pathStyleAccess)
                     .build();
 
             presigner = S3Presigner.builder()
                     .region(Region.EU_CENTRAL_1)
                     .endpointOverride(java.net.URI.create(endpoint))
                     .credentialsProvider(StaticCredentialsProvider.create(credentials))
+                    .serviceConfiguration(S3Configuration.builder().pathStyleAccessEnabled(pathStyleAccess).build())
                     .build();
 
+            if (downloadCacheEnabled) {
+                downloadUrlCache = new PresignedUrlCache(downloadCacheMaxSize, effectiveCacheTtl());
+                bindCacheMetrics(downloadUrlCache);
+            }
+
             initialized = true;
             LOG.info("Backblaze B2 storage client initialized successfully");
         } catch (Exception e) {
@@ -75,6 +140,30 @@ public class BackblazeStorageService {
         }
     }
 
+    private void bindCacheMetrics(PresignedUrlCache cache) {
+        Gauge.builder("storage.presign.cache.size", cache, PresignedUrlCache::size)
+                .description("Presigned download URLs currently cached")
+                .register(registry);
+        FunctionCounter.builder("storage.presign.cache.requests", cache, PresignedUrlCache::hitCount)
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("storage.presign.cache.requests", cache, PresignedUrlCache::missCount)
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("storage.presign.cache.evictions", cache, PresignedUrlCache::evictionCount)
+                .register(registry);
+    }
+
+    private Duration effectiveCacheTtl() {
+        if (downloadCacheTtl.compareTo(downloadSignatureDuration) < 0) {
+            return downloadCacheTtl;
+        }
+        Duration clamped = downloadSignatureDuration.dividedBy(2);
+        LOG.warn("backblaze.downloadUrl.cacheTtl (" + downloadCacheTtl + ") must be shorter than the signature duration ("
+                + downloadSignatureDuration + "), using " + clamped);
+        return clamped;
+    }
+
     private void validateConnection() {
         if (!initialized) {
             LOG.warn("Cannot validate connection: client not initialized");
@@ -88,7 +177,7 @@ public class BackblazeStorageService {
                     .bucket(bucketName)
                     .build();
 
-            s3Client.headBucket(headBucketRequest);
+            timed("headBucket", () -> s3Client.headBucket(headBucketRequest));
             LOG.info("Successfully connected to Backblaze B2 bucket: " + bucketName);
         } catch (SdkException e) {
             LOG.error("Failed to connect to Backblaze B2 bucket: " + bucketName, e);
@@ -108,7 +197,7 @@ public class BackblazeStorageService {
             throw new IllegalStateException("Storage service not properly initialized");
         }
 
-        String key = UUID.randomUUID() + "-" + fileName;
+        String key = newFileKey(fileName);
         LOG.debug("Generating upload URL for file: " + key);
 
         try {
@@ -123,7 +212,7 @@ public class BackblazeStorageService {
                     .putObjectRequest(objectRequest)
                     .build();
 
-            String uploadUrl = presigner.presignPutObject(presignRequest).url().toString();
+            String uploadUrl = presignTimer("upload").record(() -> presigner.presignPutObject(presignRequest).url().toString());
             LOG.debug("Generated upload URL: " + uploadUrl);
 
             Map<String, String> result = new HashMap<>();
@@ -138,8 +227,271 @@ public class BackblazeStorageService {
         }
     }
 
+    /**
+     * Starts a multipart upload for a large file. Parts are then uploaded directly by the client
+     * using URLs from {@link #presignUploadParts}.
+     *
+     * @param fileName Original file name (will be prefixed with a UUID)
+     * @param contentType MIME type of the file
+     * @return Map containing the file key and the storage upload ID
+     */
+    public Map<String, String> createMultipartUpload(String fileName, String contentType) {
+        if (!initialized) {
+            throw new IllegalStateException("Storage service not properly initialized");
+        }
+
+        String key = newFileKey(fileName);
+        LOG.debug("Creating multipart upload for file: " + key);
+
+        try {
+            String uploadId = timed("createMultipartUpload", () -> s3Client.createMultipartUpload(
+                    r -> r.bucket(bucketName).key(key).contentType(contentType))).uploadId();
+
+            Map<String, String> result = new HashMap<>();
+            result.put("fileKey", key);
+            result.put("uploadId", uploadId);
+            return result;
+        } catch (Exception e) {
+            LOG.error("Failed to create multipart upload", e);
+            throw new RuntimeException("Failed to create multipart upload", e);
+        }
+    }
+
+    /**
+     * Picks the part size for a multipart upload of the given file size, staying within the
+     * storage limits on minimum part size and maximum part count.
+     */
+    public long partSizeFor(long fileSize) {
+        long partSize = Math.max(multipartPartSize.asLongValue(), MIN_PART_SIZE);
+        long minimumForFile = (fileSize + MAX_PART_COUNT - 1) / MAX_PART_COUNT;
+        return Math.max(partSize, minimumForFile);
+    }
+
+    /**
+     * Generates a signed URL for uploading one part of a multipart upload.
+     *
+     * @param fileKey The file identifier in Backblaze B2
+     * @param uploadId The storage upload ID returned by {@link #createMultipartUpload}
+     * @param partNumber Part number, starting at 1
+     * @return Signed URL the client PUTs the part to
+     */
+    public String presignUploadPart(String fileKey, String uploadId, int partNumber) {
+        if (!initialized) {
+            throw new IllegalStateException("Storage service not properly initialized");
+        }
+
+        try {
+            UploadPartPresignRequest presignRequest = UploadPartPresignRequest.builder()
+                    .signatureDuration(partUrlDuration)
+                    .uploadPartRequest(r -> r.bucket(bucketName).key(fileKey).uploadId(uploadId).partNumber(partNumber))
+                    .build();
+
+            return presignTimer("uploadPart").record(() -> presigner.presignUploadPart(presignRequest).url().toString());
+        } catch (Exception e) {
+            LOG.error("Failed to generate upload URL for part " + partNumber + " of file: " + fileKey, e);
+            throw new RuntimeException("Failed to generate part upload URL", e);
+        }
+    }
+
+    /**
+     * Generates signed part upload URLs for several parts at once. Signing is done in parallel,
+     * so presigning every part of a multi-gigabyte master stays a single fast call.
+     *
+     * @return Signed URLs keyed by part number, in ascending part order
+     */
+    public Map<Integer, String> presignUploadParts(String fileKey, String uploadId, Collection<Integer> partNumbers) {
+        return partNumbers.parallelStream()
+                .distinct()
+                .collect(Collectors.toMap(partNumber -> partNumber,
+                        partNumber -> presignUploadPart(fileKey, uploadId, partNumber),
+                        (a, b) -> a,
+                        TreeMap::new));
+    }
+
+    /**
+     * Assembles the uploaded parts into the final object.
+     *
+     * @param partETags ETag of every part keyed by part number
+     */
+    public void completeMultipartUpload(String fileKey, String uploadId, Map<Integer, String> partETags) {
+        if (!initialized) {
+            throw new IllegalStateException("Storage service not properly initialized");
+        }
+
+        List<CompletedPart> parts = new TreeMap<>(partETags).entrySet().stream()
+                .map(e -> CompletedPart.builder().partNumber(e.getKey()).eTag(e.getValue()).build())
+                .toList();
+
+        try {
+            timed("completeMultipartUpload", () -> s3Client.completeMultipartUpload(
+                    r -> r.bucket(bucketName).key(fileKey).uploadId(uploadId).multipartUpload(u -> u.parts(parts))));
+            LOG.debug("Completed multipart upload of " + parts.size() + " parts for file: " + fileKey);
+        } catch (Exception e) {
+            LOG.error("Failed to complete multipart upload for file: " + fileKey, e);
+            throw new RuntimeException("Failed to complete multipart upload", e);
+        }
+    }
+
+    /**
+     * Aborts a multipart upload so storage discards the parts uploaded so far.
+     */
+    public void abortMultipartUpload(String fileKey, String uploadId) {
+        if (!initialized) {
+            throw new IllegalStateException("Storage service not properly initialized");
+        }
+
+        try {
+            timed("abortMultipartUpload", () -> s3Client.abortMultipartUpload(
+                    r -> r.bucket(bucketName).key(fileKey).uploadId(uploadId)));
+            LOG.debug("Aborted multipart upload for file: " + fileKey);
+        } catch (Exception e) {
+            LOG.error("Failed to abort multipart upload for file: " + fileKey, e);
+            throw new RuntimeException("Failed to abort multipart upload", e);
+        }
+    }
+
+    /**
+     * @return the size in bytes of a stored file
+     */
+    public long getObjectLength(String fileKey) {
+        if (!initialized) {
+            throw new IllegalStateException("Storage service not properly initialized");
+        }
+
+        try {
+            return timed("headObject", () -> s3Client.headObject(r -> r.bucket(bucketName).key(fileKey))).contentLength();
+        } catch (Exception e) {
+            LOG.error("Failed to read metadata of file: " + fileKey, e);
+            throw new RuntimeException("Failed to read file metadata", e);
+        }
+    }
+
+    /**
+     * Reads an inclusive byte range of a stored file.
+     */
+    public byte[] readRange(String fileKey, long start, long end) {
+        if (!initialized) {
+            throw new IllegalStateException("Storage service not properly initialized");
+        }
+
+        try {
+            return timed("getObjectRange", () -> s3Client.getObjectAsBytes(
+                    r -> r.bucket(bucketName).key(fileKey).range("bytes=" + start + "-" + end))).asByteArray();
+        } catch (Exception e) {
+            LOG.error("Failed to read bytes " + start + "-" + end + " of file: " + fileKey, e);
+            throw new RuntimeException("Failed to read file", e);
+        }
+    }
+
+    /**
+     * Hashes a stored file as it is read, without keeping it in memory or on disk.
+     *
+     * @return the SHA-256 digest of the file, as lowercase hex
+     */
+    public String sha256(String fileKey) {
+        if (!initialized) {
+            throw new IllegalStateException("Storage service not properly initialized");
+        }
+
+        try (InputStream content = timed("getObject", () -> s3Client.getObject(r -> r.bucket(bucketName).key(fileKey)))) {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] buffer = new byte[64 * 1024];
+            int read;
+            while ((read = content.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (Exception e) {
+            LOG.error("Failed to hash file: " + fileKey, e);
+            throw new RuntimeException("Failed to hash file", e);
+        }
+    }
+
+    /**
+     * Downloads a stored file to a local path, replacing anything already there.
+     */
+    public void downloadToFile(String fileKey, Path target) {
+        if (!initialized) {
+            throw new IllegalStateException("Storage service not properly initialized");
+        }
+
+        try {
+            Files.deleteIfExists(target);
+            timed("getObject", () -> s3Client.getObject(r -> r.bucket(bucketName).key(fileKey), target));
+        } catch (Exception e) {
+            LOG.error("Failed to download file: " + fileKey, e);
+            throw new RuntimeException("Failed to download file", e);
+        }
+    }
+
+    /**
+     * Uploads a local file under the given key, e.g. derived renditions of an audio file.
+     */
+    public void uploadFile(String fileKey, Path source, String contentType) {
+        if (!initialized) {
+            throw new IllegalStateException("Storage service not properly initialized");
+        }
+
+        try {
+            timed("putObject", () -> s3Client.putObject(
+                    r -> r.bucket(bucketName).key(fileKey).contentType(contentType), source));
+        } catch (Exception e) {
+            LOG.error("Failed to upload file: " + fileKey, e);
+            throw new RuntimeException("Failed to upload file", e);
+        }
+    }
+
+    /**
+     * Deletes a stored file. Deleting a missing file is not an error.
+     */
+    public void deleteFile(String fileKey) {
+        if (!initialized) {
+            throw new IllegalStateException("Storage service not properly initialized");
+        }
+
+        try {
+            timed("deleteObject", () -> s3Client.deleteObject(r -> r.bucket(bucketName).key(fileKey)));
+            if (downloadUrlCache != null) {
+                downloadUrlCache.invalidate(fileKey);
+            }
+        } catch (Exception e) {
+            LOG.error("Failed to delete file: " + fileKey, e);
+            throw new RuntimeException("Failed to delete file", e);
+        }
+    }
+
+    /**
+     * Deletes every stored file whose key starts with {@code prefix}, e.g. the derived renditions of a file.
+     *
+     * @return the number of files deleted
+     */
+    public int deleteFilesWithPrefix(String prefix) {
+        if (!initialized) {
+            throw new IllegalStateException("Storage service not properly initialized");
+        }
+
+        try {
+            int deleted = 0;
+            for (ListObjectsV2Response page : s3Client.listObjectsV2Paginator(r -> r.bucket(bucketName).prefix(prefix))) {
+                if (page.contents().isEmpty()) {
+                    continue;
+                }
+                List<ObjectIdentifier> keys = page.contents().stream()
+                        .map(object -> ObjectIdentifier.builder().key(object.key()).build())
+                        .toList();
+                timed("deleteObjects", () -> s3Client.deleteObjects(r -> r.bucket(bucketName).delete(d -> d.objects(keys))));
+                deleted += keys.size();
+            }
+            return deleted;
+        } catch (Exception e) {
+            LOG.error("Failed to delete files under: " + prefix, e);
+            throw new RuntimeException("Failed to delete files", e);
+        }
+    }
+
     /**
      * Generates a signed URL for downloading/streaming a file from Backblaze B2.
+     * Signed URLs are cached per file key and re-signed before they get close to expiry.
      *
      * @param fileKey The file identifier in Backblaze B2
      * @return Signed URL for downloading/streaming the file
@@ -149,15 +501,66 @@ public class BackblazeStorageService {
             throw new IllegalStateException("Storage service not properly initialized");
         }
 
+        if (downloadUrlCache == null) {
+            return presignDownloadUrl(fileKey);
+        }
+        return downloadUrlCache.get(fileKey, this::presignDownloadUrl);
+    }
+
+    /**
+     * Generates signed download URLs for several files at once, e.g. every track of a release.
+     *
+     * @param fileKeys The file identifiers in Backblaze B2
+     * @return Signed URLs keyed by file identifier, in the order the keys were given
+     */
+    public Map<String, String> generateDownloadUrls(Collection<String> fileKeys) {
+        Map<String, String> urls = new LinkedHashMap<>();
+        for (String fileKey : fileKeys) {
+            urls.computeIfAbsent(fileKey, this::generateDownloadUrl);
+        }
+        return urls;
+    }
+
+    /**
+     * @return the download URL cache, or null when caching is disabled
+     */
+    public PresignedUrlCache getDownloadUrlCache() {
+        return downloadUrlCache;
+    }
+
+    private Timer presignTimer(String operation) {
+        return registry.timer(MetricsConfiguration.STORAGE_PRESIGN, "operation", operation);
+    }
+
+    /**
+     * Times a call to the storage API, tagged with its operation and whether it succeeded.
+     */
+    private <T> T timed(String operation, Supplier<T> call) {
+        Timer.Sample sample = Timer.start(registry);
+        String outcome = "error";
+        try {
+            T result = call.get();
+            outcome = "success";
+            return result;
+        } finally {
+            sample.stop(registry.timer(MetricsConfiguration.STORAGE_REQUESTS, "operation", operation, "outcome", outcome));
+        }
+    }
+
+    private String newFileKey(String fileName) {
+        return UUID.randomUUID() + "-" + fileName;
+    }
+
+    private String presignDownloadUrl(String fileKey) {
         LOG.debug("Generating download URL for file: " + fileKey);
 
         try {
             GetObjectPresignRequest presignRequest = GetObjectPresignRequest.builder()
-                    .signatureDuration(Duration.ofMinutes(60))
+                    .signatureDuration(downloadSignatureDuration)
                     .getObjectRequest(r -> r.bucket(bucketName).key(fileKey))
                     .build();
 
-            String downloadUrl = presigner.presignGetObject(presignRequest).url().toString();
+            String downloadUrl = presignTimer("download").record(() -> presigner.presignGetObject(presignRequest).url().toString());
             LOG.debug("Generated download URL: " + downloadUrl);
 
             return downloadUrl;
@@ -0,0 +1,65 @@
+package com.resonate.storage;
+
+/**
+ * A single inclusive byte range of a resource, as requested with an HTTP {@code Range} header.
+ */
+public record ByteRange(long start, long end) {
+
+    private static final String UNIT = "bytes=";
+
+    public long length() {
+        return end - start + 1;
+    }
+
+    /**
+     * @return the {@code Content-Range} header value for this range
+     */
+    public String contentRange(long totalLength) {
+        return "bytes " + start + "-" + end + "/" + totalLength;
+    }
+
+    /**
+     * Parses a {@code Range} header against a resource of {@code totalLength} bytes.
+     * Supports {@code bytes=a-b}, {@code bytes=a-} and suffix ranges ({@code bytes=-n}).
+     * Headers that are missing, malformed or ask for several ranges are ignored, as RFC 9110 allows,
+     * and the whole resource is served.
+     *
+     * @return the range clamped to the resource, or null to serve the whole resource
+     * @throws IllegalArgumentException if the range lies outside the resource (416)
+     */
+    public static ByteRange parse(String header, long totalLength) {
+        if (header == null || !header.regionMatches(true, 0, UNIT, 0, UNIT.length())) {
+            return null;
+        }
+        String spec = header.substring(UNIT.length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0 || spec.indexOf(',') >= 0) {
+            return null;
+        }
+
+        String first = spec.substring(0, dash).trim();
+        String last = spec.substring(dash + 1).trim();
+        try {
+            if (first.isEmpty()) {
+                // Suffix range: the last n bytes
+                long suffix = Long.parseLong(last);
+                if (suffix <= 0 || totalLength == 0) {
+                    throw new IllegalArgumentException("Unsatisfiable range: " + header);
+                }
+                return new ByteRange(Math.max(0, totalLength - suffix), totalLength - 1);
+            }
+
+            long start = Long.parseLong(first);
+            long end = last.isEmpty() ? Long.MAX_VALUE : Long.parseLong(last);
+            if (start < 0 || end < start) {
+                return null;
+            }
+            if (start >= totalLength) {
+                throw new IllegalArgumentException("Unsatisfiable range: " + header);
+            }
+            return new ByteRange(start, Math.min(end, totalLength - 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
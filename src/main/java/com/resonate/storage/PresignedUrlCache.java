@@ -0,0 +1,68 @@
+package com.resonate.storage;
+
+import com.resonate.infrastructure.cache.BoundedCache;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Bounded, time-aware cache of presigned URLs keyed by storage file key.
+ * <p>
+ * An entry is handed out for {@code ttl} after it was signed, so with a ttl
+ * shorter than the signature duration callers always receive a URL that stays
+ * valid for at least {@code signatureDuration - ttl}. After that the URL is
+ * re-signed and the entry replaced. The least recently used entry is evicted
+ * when the cache grows beyond {@code maxSize}.
+ */
+public class PresignedUrlCache {
+
+    private final BoundedCache<String, String> urls;
+
+    public PresignedUrlCache(int maxSize, Duration ttl) {
+        this(maxSize, ttl, Clock.systemUTC());
+    }
+
+    public PresignedUrlCache(int maxSize, Duration ttl, Clock clock) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize must be at least 1");
+        }
+        this.urls = BoundedCache.<String, String>builder(maxSize)
+                .expireAfterWrite(ttl)
+                .clock(clock)
+                .build();
+    }
+
+    /**
+     * Returns a cached URL for the key, or signs a new one with {@code signer}.
+     * Signing happens outside the lock so a slow signature never blocks readers
+     * of other keys.
+     */
+    public String get(String fileKey, Function<String, String> signer) {
+        return urls.get(fileKey, signer);
+    }
+
+    public void invalidate(String fileKey) {
+        urls.invalidate(fileKey);
+    }
+
+    public void clear() {
+        urls.clear();
+    }
+
+    public int size() {
+        return urls.size();
+    }
+
+    public long hitCount() {
+        return urls.hitCount();
+    }
+
+    public long missCount() {
+        return urls.missCount();
+    }
+
+    public long evictionCount() {
+        return urls.evictionCount();
+    }
+}
@@ -0,0 +1,34 @@
+-- Append-only log of plays, written in batches with COPY. Partitioned by month so old months can
+-- be detached or dropped cheaply; no foreign keys, so inserts cost no per-row lookups.
+
+CREATE TABLE play_events (
+    track_id BIGINT NOT NULL,
+    user_id UUID,
+    listened_ms INT,
+    played_at TIMESTAMPTZ NOT NULL
+) PARTITION BY RANGE (played_at);
+
+-- Catches rows outside every monthly partition so a late partition never loses plays
+CREATE TABLE play_events_default PARTITION OF play_events DEFAULT;
+
+CREATE INDEX idx_play_events_track_played_at ON play_events (track_id, played_at);
+
+-- Rollups scan a time window across all tracks. Rows arrive roughly in played_at order, so a BRIN index
+-- narrows that scan to the recent blocks for a fraction of a B-tree's size and insert cost.
+-- Indexes on the parent also apply to the default partition and every partition created later.
+CREATE INDEX idx_play_events_played_at ON play_events USING brin (played_at);
+
+-- Creates the partition covering the month of the given date, if it does not exist yet
+CREATE OR REPLACE FUNCTION create_play_events_partition(month DATE) RETURNS void AS $$
+DECLARE
+    start_date DATE := date_trunc('month', month)::date;
+BEGIN
+    EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF play_events FOR VALUES FROM (%L) TO (%L)',
+                   'play_events_' || to_char(start_date, 'YYYY_MM'),
+                   start_date,
+                   (start_date + INTERVAL '1 month')::date);
+END;
+$$ LANGUAGE plpgsql;
+
+SELECT create_play_events_partition(CURRENT_DATE);
+SELECT create_play_events_partition((CURRENT_DATE + INTERVAL '1 month')::date);
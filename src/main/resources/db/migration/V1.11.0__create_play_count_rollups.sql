@@ -0,0 +1,30 @@
+-- Per-track play counters rolled up from play_events, so charts never aggregate raw events.
+-- Hourly buckets serve the last 24 hours, daily buckets (UTC days) everything longer.
+
+CREATE TABLE track_play_counts_hourly (
+    track_id BIGINT NOT NULL,
+    hour TIMESTAMPTZ NOT NULL,
+    plays BIGINT NOT NULL,
+    PRIMARY KEY (track_id, hour)
+);
+
+CREATE INDEX idx_track_play_counts_hourly_hour ON track_play_counts_hourly (hour);
+
+CREATE TABLE track_play_counts_daily (
+    track_id BIGINT NOT NULL,
+    day DATE NOT NULL,
+    plays BIGINT NOT NULL,
+    PRIMARY KEY (track_id, day)
+);
+
+CREATE INDEX idx_track_play_counts_daily_day ON track_play_counts_daily (day);
+
+-- Single-row watermark: play_events before rolled_up_to are already counted. Starting at the
+-- oldest recorded play makes the first runs backfill everything that was recorded so far.
+CREATE TABLE play_rollup_state (
+    id SMALLINT PRIMARY KEY CHECK (id = 1),
+    rolled_up_to TIMESTAMPTZ NOT NULL
+);
+
+INSERT INTO play_rollup_state (id, rolled_up_to)
+SELECT 1, date_trunc('hour', COALESCE(min(played_at), now())) FROM play_events;
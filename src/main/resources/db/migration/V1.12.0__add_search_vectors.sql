@@ -0,0 +1,22 @@
+-- Full-text search vectors, kept up to date by PostgreSQL as generated columns.
+-- The 'simple' configuration (no stemming, no stop words) suits titles, names and codes,
+-- and keeps prefix (typeahead) matches predictable. ISRC/UPC are indexed both as written
+-- (PostgreSQL splits hyphenated codes into parts) and with hyphens removed.
+
+ALTER TABLE releases ADD COLUMN search_vector tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector('simple', title), 'A') ||
+    setweight(to_tsvector('simple', coalesce(upc, '') || ' ' || replace(coalesce(upc, ''), '-', '')), 'B')
+) STORED;
+
+ALTER TABLE tracks ADD COLUMN search_vector tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector('simple', title), 'A') ||
+    setweight(to_tsvector('simple', coalesce(isrc, '') || ' ' || replace(coalesce(isrc, ''), '-', '')), 'B')
+) STORED;
+
+ALTER TABLE artist_profiles ADD COLUMN search_vector tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector('simple', coalesce(biography, '')), 'C')
+) STORED;
+
+CREATE INDEX idx_releases_search_vector ON releases USING GIN (search_vector);
+CREATE INDEX idx_tracks_search_vector ON tracks USING GIN (search_vector);
+CREATE INDEX idx_artist_profiles_search_vector ON artist_profiles USING GIN (search_vector);
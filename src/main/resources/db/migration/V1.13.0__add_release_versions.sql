@@ -0,0 +1,34 @@
+-- Per-release version, bumped by the database on every change to the release or to one of its
+-- tracks, so catalogue reads can be tagged (ETag) and revalidated without loading the release.
+
+ALTER TABLE releases ADD COLUMN version BIGINT NOT NULL DEFAULT 1;
+ALTER TABLE releases ADD COLUMN updated_at TIMESTAMPTZ NOT NULL DEFAULT now();
+
+CREATE OR REPLACE FUNCTION bump_release_version() RETURNS trigger AS $$
+BEGIN
+    NEW.version := OLD.version + 1;
+    NEW.updated_at := now();
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_releases_version
+    BEFORE UPDATE ON releases
+    FOR EACH ROW EXECUTE FUNCTION bump_release_version();
+
+-- Tracks are part of a release's representation: touching the release fires the trigger above
+CREATE OR REPLACE FUNCTION touch_track_release() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        UPDATE releases SET updated_at = now() WHERE id = OLD.release_id;
+    END IF;
+    IF TG_OP = 'INSERT' OR (TG_OP = 'UPDATE' AND NEW.release_id IS DISTINCT FROM OLD.release_id) THEN
+        UPDATE releases SET updated_at = now() WHERE id = NEW.release_id;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_tracks_touch_release
+    AFTER INSERT OR UPDATE OR DELETE ON tracks
+    FOR EACH ROW EXECUTE FUNCTION touch_track_release();
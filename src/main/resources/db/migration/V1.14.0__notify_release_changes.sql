@@ -0,0 +1,41 @@
+-- Publishes every release change on the release_changed channel, with the release ID as payload.
+-- NOTIFY is delivered when the transaction commits (and not at all if it rolls back), so every
+-- instance LISTENing can evict its cached copy no matter which instance or job made the change.
+
+CREATE OR REPLACE FUNCTION bump_release_version() RETURNS trigger AS $$
+BEGIN
+    NEW.version := OLD.version + 1;
+    NEW.updated_at := now();
+    PERFORM pg_notify('release_changed', NEW.id::text);
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION notify_release_deleted() RETURNS trigger AS $$
+BEGIN
+    PERFORM pg_notify('release_changed', OLD.id::text);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_releases_notify_deleted
+    AFTER DELETE ON releases
+    FOR EACH ROW EXECUTE FUNCTION notify_release_deleted();
+
+-- Release details embed their tracks' audio files, so a change to one of the serialized audio file
+-- columns (e.g. HLS status, reference count) is a change to every release using that file
+CREATE OR REPLACE FUNCTION touch_audio_file_releases() RETURNS trigger AS $$
+BEGIN
+    UPDATE releases SET updated_at = now()
+    WHERE id IN (SELECT release_id FROM tracks WHERE audio_file_id = NEW.id);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_audio_files_touch_releases
+    AFTER UPDATE OF file_identifier, file_url, file_size, checksum, reference_count, hls_status ON audio_files
+    FOR EACH ROW
+    WHEN ((OLD.file_identifier, OLD.file_url, OLD.file_size, OLD.checksum, OLD.reference_count, OLD.hls_status)
+          IS DISTINCT FROM
+          (NEW.file_identifier, NEW.file_url, NEW.file_size, NEW.checksum, NEW.reference_count, NEW.hls_status))
+    EXECUTE FUNCTION touch_audio_file_releases();
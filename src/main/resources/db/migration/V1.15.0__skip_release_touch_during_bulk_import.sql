@@ -0,0 +1,18 @@
+-- Bulk imports insert releases together with their tracks. Touching the release once per imported
+-- track would double the writes for a release nobody can have cached yet, so the importer sets
+-- resonate.bulk_import for its transactions and tracks inserted then leave the release alone.
+
+CREATE OR REPLACE FUNCTION touch_track_release() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'INSERT' AND current_setting('resonate.bulk_import', true) = 'on' THEN
+        RETURN NULL;
+    END IF;
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        UPDATE releases SET updated_at = now() WHERE id = OLD.release_id;
+    END IF;
+    IF TG_OP = 'INSERT' OR (TG_OP = 'UPDATE' AND NEW.release_id IS DISTINCT FROM OLD.release_id) THEN
+        UPDATE releases SET updated_at = now() WHERE id = NEW.release_id;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
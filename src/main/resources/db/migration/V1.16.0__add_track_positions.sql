@@ -0,0 +1,50 @@
+-- Explicit tracklist order. Existing tracks are numbered in creation order; a track inserted
+-- without a position is placed after the last track of its release.
+
+-- Batched track writes (bulk import, tracklist updates) set resonate.batch_track_writes and
+-- touch the release once themselves, instead of once per track. Replaces resonate.bulk_import.
+CREATE OR REPLACE FUNCTION touch_track_release() RETURNS trigger AS $$
+BEGIN
+    IF current_setting('resonate.batch_track_writes', true) = 'on' THEN
+        RETURN NULL;
+    END IF;
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        UPDATE releases SET updated_at = now() WHERE id = OLD.release_id;
+    END IF;
+    IF TG_OP = 'INSERT' OR (TG_OP = 'UPDATE' AND NEW.release_id IS DISTINCT FROM OLD.release_id) THEN
+        UPDATE releases SET updated_at = now() WHERE id = NEW.release_id;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+ALTER TABLE tracks ADD COLUMN position INT;
+
+-- Numbering existing tracks is not a change to their releases
+SELECT set_config('resonate.batch_track_writes', 'on', true);
+
+UPDATE tracks t
+SET position = numbered.position
+FROM (SELECT id, row_number() OVER (PARTITION BY release_id ORDER BY id) AS position FROM tracks) numbered
+WHERE t.id = numbered.id;
+
+SELECT set_config('resonate.batch_track_writes', 'off', true);
+
+ALTER TABLE tracks ALTER COLUMN position SET NOT NULL;
+
+CREATE OR REPLACE FUNCTION assign_track_position() RETURNS trigger AS $$
+BEGIN
+    IF NEW.position IS NULL THEN
+        SELECT coalesce(max(position), 0) + 1 INTO NEW.position FROM tracks WHERE release_id = NEW.release_id;
+    END IF;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_tracks_assign_position
+    BEFORE INSERT ON tracks
+    FOR EACH ROW EXECUTE FUNCTION assign_track_position();
+
+-- Track listing per release: WHERE release_id = ? ORDER BY position, id
+DROP INDEX idx_tracks_release_id_id;
+CREATE INDEX idx_tracks_release_id_position_id ON tracks (release_id, position, id);
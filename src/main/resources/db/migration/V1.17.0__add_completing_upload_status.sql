@@ -0,0 +1,5 @@
+-- A multipart upload is claimed while its parts are assembled and checked, so a retried or
+-- concurrent completion cannot assemble it a second time
+ALTER TABLE multipart_uploads DROP CONSTRAINT multipart_uploads_status_check;
+ALTER TABLE multipart_uploads ADD CONSTRAINT multipart_uploads_status_check
+    CHECK (status IN ('IN_PROGRESS', 'COMPLETING', 'COMPLETED', 'ABORTED'));
@@ -0,0 +1,4 @@
+-- Release details now carry only the id of each track's audio file, which lives on tracks, so
+-- changes to the audio file row itself no longer change any release.
+DROP TRIGGER IF EXISTS trg_audio_files_touch_releases ON audio_files;
+DROP FUNCTION IF EXISTS touch_audio_file_releases();
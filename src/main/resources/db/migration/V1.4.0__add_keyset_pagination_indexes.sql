@@ -0,0 +1,7 @@
+-- Indexes backing keyset (cursor) pagination of catalogue listings.
+
+-- Public release listing: ORDER BY release_date DESC, id DESC
+CREATE INDEX idx_releases_release_date_id ON releases (release_date DESC, id DESC);
+
+-- Track listing per release: WHERE release_id = ? ORDER BY id
+CREATE INDEX idx_tracks_release_id_id ON tracks (release_id, id);
@@ -0,0 +1,26 @@
+-- Tracks multipart uploads of large audio masters so clients can resume after a failure
+
+CREATE TABLE multipart_uploads (
+    id BIGSERIAL PRIMARY KEY,
+    file_identifier TEXT NOT NULL,
+    storage_upload_id TEXT NOT NULL,
+    content_type TEXT NOT NULL,
+    file_size BIGINT NOT NULL,
+    part_size BIGINT NOT NULL,
+    part_count INT NOT NULL,
+    status TEXT NOT NULL DEFAULT 'IN_PROGRESS'
+        CHECK (status IN ('IN_PROGRESS', 'COMPLETED', 'ABORTED')),
+    audio_file_id BIGINT REFERENCES audio_files(id) ON DELETE SET NULL,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+
+-- One row per part the client has reported as uploaded
+CREATE TABLE multipart_upload_parts (
+    id BIGSERIAL PRIMARY KEY,
+    upload_id BIGINT NOT NULL REFERENCES multipart_uploads(id) ON DELETE CASCADE,
+    part_number INT NOT NULL,
+    etag TEXT NOT NULL,
+    part_size BIGINT,
+    uploaded_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+    CONSTRAINT uq_multipart_upload_parts_upload_part UNIQUE (upload_id, part_number)
+);
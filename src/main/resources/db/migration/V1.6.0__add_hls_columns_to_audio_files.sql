@@ -0,0 +1,12 @@
+-- HLS packaging state of each audio file. The playlist is kept here as well as in storage so the
+-- manifest endpoint can sign segment URLs without reading it back from Backblaze.
+
+ALTER TABLE audio_files
+ADD COLUMN hls_status TEXT
+    CHECK (hls_status IN ('PENDING', 'PROCESSING', 'READY', 'FAILED'));
+
+ALTER TABLE audio_files
+ADD COLUMN hls_playlist_key TEXT;
+
+ALTER TABLE audio_files
+ADD COLUMN hls_playlist TEXT;
@@ -0,0 +1,35 @@
+-- Persistent queue of background media work (HLS packaging, transcoding). Workers claim rows
+-- with FOR UPDATE SKIP LOCKED, so several instances can drain the queue without double work.
+
+CREATE TABLE media_jobs (
+    id BIGSERIAL PRIMARY KEY,
+    audio_file_id BIGINT NOT NULL REFERENCES audio_files(id) ON DELETE CASCADE,
+    job_type TEXT NOT NULL CHECK (job_type IN ('HLS', 'TRANSCODE')),
+    quality TEXT,
+    status TEXT NOT NULL DEFAULT 'QUEUED'
+        CHECK (status IN ('QUEUED', 'RUNNING', 'DONE', 'FAILED')),
+    attempts INT NOT NULL DEFAULT 0,
+    last_error TEXT,
+    run_after TIMESTAMPTZ NOT NULL DEFAULT now(),
+    locked_at TIMESTAMPTZ,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+    finished_at TIMESTAMPTZ
+);
+
+-- Only runnable jobs are scanned when claiming
+CREATE INDEX idx_media_jobs_runnable ON media_jobs (run_after, id) WHERE status = 'QUEUED';
+CREATE INDEX idx_media_jobs_running ON media_jobs (locked_at) WHERE status = 'RUNNING';
+CREATE INDEX idx_media_jobs_audio_file ON media_jobs (audio_file_id);
+
+-- Lower-bitrate renditions produced from an audio file's original upload
+CREATE TABLE audio_renditions (
+    id BIGSERIAL PRIMARY KEY,
+    audio_file_id BIGINT NOT NULL REFERENCES audio_files(id) ON DELETE CASCADE,
+    quality TEXT NOT NULL,
+    file_identifier TEXT NOT NULL,
+    content_type TEXT NOT NULL,
+    bitrate_kbps INT NOT NULL,
+    file_size BIGINT,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+    CONSTRAINT uq_audio_renditions_file_quality UNIQUE (audio_file_id, quality)
+);
@@ -0,0 +1,35 @@
+-- Uses the checksum as a content address: one audio_files row per distinct upload, shared by
+-- every track that uses it, and a reference count so a file is only removed when unused.
+
+-- Checksums were stored as clients sent them, never checked against the content. They are dropped
+-- rather than trusted: a forged one would otherwise make this migration merge unrelated files.
+-- From now on only checksums the server has computed itself are stored.
+UPDATE audio_files SET checksum = NULL WHERE checksum IS NOT NULL;
+
+CREATE UNIQUE INDEX uq_audio_files_checksum ON audio_files (checksum) WHERE checksum IS NOT NULL;
+
+-- Number of tracks pointing at the file, maintained by the trigger below
+ALTER TABLE audio_files
+ADD COLUMN reference_count INT NOT NULL DEFAULT 0 CHECK (reference_count >= 0);
+
+UPDATE audio_files a
+SET reference_count = (SELECT count(*) FROM tracks t WHERE t.audio_file_id = a.id);
+
+CREATE OR REPLACE FUNCTION count_audio_file_references() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'UPDATE' AND OLD.audio_file_id IS NOT DISTINCT FROM NEW.audio_file_id THEN
+        RETURN NULL;
+    END IF;
+    IF TG_OP IN ('UPDATE', 'DELETE') AND OLD.audio_file_id IS NOT NULL THEN
+        UPDATE audio_files SET reference_count = reference_count - 1 WHERE id = OLD.audio_file_id;
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') AND NEW.audio_file_id IS NOT NULL THEN
+        UPDATE audio_files SET reference_count = reference_count + 1 WHERE id = NEW.audio_file_id;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_tracks_audio_file_references
+AFTER INSERT OR DELETE OR UPDATE OF audio_file_id ON tracks
+FOR EACH ROW EXECUTE FUNCTION count_audio_file_references();
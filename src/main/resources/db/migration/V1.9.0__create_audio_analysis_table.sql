@@ -0,0 +1,17 @@
+-- Waveform peaks and loudness computed once per audio file by the ANALYZE media job
+
+ALTER TABLE media_jobs DROP CONSTRAINT media_jobs_job_type_check;
+ALTER TABLE media_jobs ADD CONSTRAINT media_jobs_job_type_check
+    CHECK (job_type IN ('HLS', 'TRANSCODE', 'ANALYZE'));
+
+CREATE TABLE audio_analysis (
+    audio_file_id BIGINT PRIMARY KEY REFERENCES audio_files(id) ON DELETE CASCADE,
+    -- One unsigned byte per point, 0 = silence, 255 = full scale
+    peaks BYTEA NOT NULL,
+    duration_ms BIGINT NOT NULL,
+    sample_rate INT NOT NULL,
+    channels INT NOT NULL,
+    -- ITU-R BS.1770 integrated loudness in LUFS, NULL for silence
+    integrated_loudness DOUBLE PRECISION,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT now()
+);
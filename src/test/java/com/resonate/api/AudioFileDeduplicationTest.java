@@ -0,0 +1,182 @@
+package com.resonate.api;
+
+import com.resonate.domain.media.AudioFile;
+import com.resonate.domain.model.Release;
+import com.resonate.domain.model.Track;
+import com.resonate.util.MockBackblazeStorageService;
+import com.resonate.util.TestDataSetup;
+import com.resonate.util.TestUtil;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.security.TestSecurity;
+import io.restassured.http.ContentType;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.equalTo;
+
+@QuarkusTest
+public class AudioFileDeduplicationTest {
+
+    private final String basePath = "/api/audio-files";
+
+    @Inject
+    TestDataSetup testDataSetup;
+
+    @Inject
+    MockBackblazeStorageService storageService;
+
+    @AfterEach
+    public void tearDown() {
+        testDataSetup.cleanupTestData();
+    }
+
+    private AudioFileResource.AudioFileRegistration registration(String fileKey, String checksum) {
+        AudioFileResource.AudioFileRegistration registration = new AudioFileResource.AudioFileRegistration();
+        registration.fileKey = fileKey;
+        registration.fileSize = 2048L;
+        registration.checksum = checksum;
+        return registration;
+    }
+
+    @Test
+    @TestSecurity(user = TestUtil.ARTIST_ID_STRING, roles = {"user"})
+    public void testSameContentIsRegisteredOnce() {
+        byte[] content = "same master".getBytes(StandardCharsets.UTF_8);
+        storageService.putContent("first-upload", content);
+        storageService.putContent("second-upload", content);
+        String checksum = MockBackblazeStorageService.checksumOf(content);
+
+        Integer id = given()
+                .contentType(ContentType.JSON)
+                .body(registration("first-upload", checksum))
+                .when()
+                .post(basePath + "/register")
+                .then()
+                .statusCode(201)
+                .extract().path("id");
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(registration("second-upload", checksum.toUpperCase()))
+                .when()
+                .post(basePath + "/register")
+                .then()
+                .statusCode(200)
+                .body("id", equalTo(id))
+                .body("fileIdentifier", equalTo("first-upload"));
+
+        given()
+                .queryParam("checksum", checksum.substring("sha256:".length()))
+                .when()
+                .get(basePath + "/lookup")
+                .then()
+                .statusCode(200)
+                .body("id", equalTo(id));
+    }
+
+    @Test
+    @TestSecurity(user = TestUtil.ARTIST_ID_STRING, roles = {"user"})
+    public void testChecksumMustMatchTheUploadedContent() {
+        byte[] content = "original master".getBytes(StandardCharsets.UTF_8);
+        storageService.putContent("original-upload", content);
+        storageService.putContent("other-upload", "something else".getBytes(StandardCharsets.UTF_8));
+        String checksum = MockBackblazeStorageService.checksumOf(content);
+
+        Integer id = given()
+                .contentType(ContentType.JSON)
+                .body(registration("original-upload", checksum))
+                .when()
+                .post(basePath + "/register")
+                .then()
+                .statusCode(201)
+                .extract().path("id");
+
+        // Claiming the checksum of stored content does not hand out that file
+        given()
+                .contentType(ContentType.JSON)
+                .body(registration("other-upload", checksum))
+                .when()
+                .post(basePath + "/register")
+                .then()
+                .statusCode(400);
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(registration("other-upload", "sha256:not-a-digest"))
+                .when()
+                .post(basePath + "/register")
+                .then()
+                .statusCode(400);
+
+        given()
+                .queryParam("checksum", checksum)
+                .when()
+                .get(basePath + "/lookup")
+                .then()
+                .statusCode(200)
+                .body("id", equalTo(id))
+                .body("fileIdentifier", equalTo("original-upload"));
+    }
+
+    @Test
+    @TestSecurity(user = TestUtil.ARTIST_ID_STRING, roles = {"user"})
+    public void testLookupOfUnknownChecksum() {
+        given()
+                .queryParam("checksum", MockBackblazeStorageService.checksumOf("never-uploaded"))
+                .when()
+                .get(basePath + "/lookup")
+                .then()
+                .statusCode(404);
+
+        given()
+                .queryParam("checksum", "sha256:unknown")
+                .when()
+                .get(basePath + "/lookup")
+                .then()
+                .statusCode(400);
+
+        given()
+                .when()
+                .get(basePath + "/lookup")
+                .then()
+                .statusCode(400);
+    }
+
+    @Test
+    @TestSecurity(user = TestUtil.ARTIST_ID_STRING, roles = {"user"})
+    public void testAudioFileIsOnlyDeletedOnceNoTrackUsesIt() {
+        AudioFile audioFile = testDataSetup.createAudioFile("shared-master");
+        Release single = testDataSetup.createRelease(TestUtil.ARTIST_UUID, "Single");
+        Release album = testDataSetup.createRelease(TestUtil.ARTIST_UUID, "Album");
+        Track singleTrack = testDataSetup.createTrack(single, "Song");
+        Track albumTrack = testDataSetup.createTrack(album, "Song (album version)");
+        testDataSetup.linkTrackToAudioFile(singleTrack, audioFile);
+        testDataSetup.linkTrackToAudioFile(albumTrack, audioFile);
+
+        given()
+                .when()
+                .delete(basePath + "/" + audioFile.getId())
+                .then()
+                .statusCode(409)
+                .body("referenceCount", equalTo(2));
+
+        given().when().delete("/api/tracks/" + singleTrack.getId()).then().statusCode(204);
+        given().when().delete("/api/tracks/" + albumTrack.getId()).then().statusCode(204);
+
+        given()
+                .when()
+                .delete(basePath + "/" + audioFile.getId())
+                .then()
+                .statusCode(204);
+
+        given()
+                .when()
+                .delete(basePath + "/" + audioFile.getId())
+                .then()
+                .statusCode(404);
+    }
+}
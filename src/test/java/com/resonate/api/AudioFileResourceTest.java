@@ -1,18 +1,31 @@
 package com.resonate.api;
 
+import com.resonate.domain.media.MultipartUpload;
+import com.resonate.infrastructure.repository.MultipartUploadRepository;
+import com.resonate.util.MockBackblazeStorageService;
 import com.resonate.util.TestUtil;
+import io.quarkus.narayana.jta.QuarkusTransaction;
 import io.quarkus.test.junit.QuarkusTest;
 import io.quarkus.test.security.TestSecurity;
 import io.restassured.http.ContentType;
+import jakarta.inject.Inject;
 import org.junit.jupiter.api.Test;
 import static io.restassured.RestAssured.given;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.Matchers.hasSize;
 
 @QuarkusTest
 public class AudioFileResourceTest {
 
     private final String basePath = "/api/audio-files";
 
+    @Inject
+    MultipartUploadRepository multipartUploadRepository;
+
 
     @Test
     @TestSecurity(user = TestUtil.ARTIST_ID_STRING, roles = {"user"})
@@ -38,7 +51,7 @@ public class AudioFileResourceTest {
         AudioFileResource.AudioFileRegistration registration = new AudioFileResource.AudioFileRegistration();
         registration.fileKey = "test-file-key";
         registration.fileSize = 1024L;
-        registration.checksum = "test-checksum";
+        registration.checksum = MockBackblazeStorageService.checksumOf("test-file-key");
 
         given()
                 .contentType(ContentType.JSON)
@@ -51,4 +64,309 @@ public class AudioFileResourceTest {
                 .body("fileIdentifier", notNullValue())
                 .body("fileUrl", notNullValue());
     }
+
+    @Test
+    @TestSecurity(user = TestUtil.ARTIST_ID_STRING, roles = {"user"})
+    public void testGetStreamingUrlsInBatch() {
+        AudioFileResource.AudioFileRegistration registration = new AudioFileResource.AudioFileRegistration();
+        registration.fileKey = "batch-file-key";
+        registration.fileSize = 2048L;
+        registration.checksum = MockBackblazeStorageService.checksumOf("batch-file-key");
+
+        Integer id = given()
+                .contentType(ContentType.JSON)
+                .body(registration)
+                .when()
+                .post(basePath + "/register")
+                .then()
+                .statusCode(201)
+                .extract().path("id");
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(Map.of("audioFileIds", List.of(id, 999999)))
+                .when()
+                .post(basePath + "/stream")
+                .then()
+                .statusCode(200)
+                .body("streamingUrls", hasSize(1))
+                .body("streamingUrls[0].audioFileId", equalTo(id))
+                .body("streamingUrls[0].streamingUrl", equalTo("https://test-bucket.backblaze.com/file/batch-file-key"))
+                .body("notFound[0]", equalTo(999999));
+    }
+
+    @Test
+    @TestSecurity(user = TestUtil.ARTIST_ID_STRING, roles = {"user"})
+    public void testStreamingUrlFallsBackToOriginalUntilRenditionIsReady() {
+        AudioFileResource.AudioFileRegistration registration = new AudioFileResource.AudioFileRegistration();
+        registration.fileKey = "rendition-file-key";
+        registration.fileSize = 4096L;
+
+        Integer id = given()
+                .contentType(ContentType.JSON)
+                .body(registration)
+                .when()
+                .post(basePath + "/register")
+                .then()
+                .statusCode(201)
+                .extract().path("id");
+
+        given()
+                .queryParam("quality", "low")
+                .when()
+                .get(basePath + "/" + id + "/stream")
+                .then()
+                .statusCode(200)
+                .body("quality", equalTo("original"))
+                .body("streamingUrl", equalTo("https://test-bucket.backblaze.com/file/rendition-file-key"));
+
+        given()
+                .queryParam("quality", "lossless")
+                .when()
+                .get(basePath + "/" + id + "/stream")
+                .then()
+                .statusCode(400);
+    }
+
+    @Test
+    @TestSecurity(user = TestUtil.ARTIST_ID_STRING, roles = {"user"})
+    public void testGetStreamingUrlsRequiresSingleSelector() {
+        given()
+                .contentType(ContentType.JSON)
+                .body(Map.of("audioFileIds", List.of(1), "releaseId", 1))
+                .when()
+                .post(basePath + "/stream")
+                .then()
+                .statusCode(400);
+    }
+
+    @Test
+    @TestSecurity(user = TestUtil.ARTIST_ID_STRING, roles = {"user"})
+    public void testGetStreamingUrlsForUnknownReleaseIsNotFound() {
+        given()
+                .contentType(ContentType.JSON)
+                .body(Map.of("releaseId", Long.MAX_VALUE))
+                .when()
+                .post(basePath + "/stream")
+                .then()
+                .statusCode(404);
+    }
+
+    @Test
+    @TestSecurity(user = TestUtil.ARTIST_ID_STRING, roles = {"user"})
+    public void testHlsManifestIsNotFoundWhenFileWasNotPackaged() {
+        AudioFileResource.AudioFileRegistration registration = new AudioFileResource.AudioFileRegistration();
+        registration.fileKey = "unpackaged-file-key";
+        registration.fileSize = 1024L;
+
+        Integer id = given()
+                .contentType(ContentType.JSON)
+                .body(registration)
+                .when()
+                .post(basePath + "/register")
+                .then()
+                .statusCode(201)
+                .extract().path("id");
+
+        given()
+                .when()
+                .get(basePath + "/" + id + "/hls")
+                .then()
+                .statusCode(404);
+
+        given()
+                .when()
+                .get(basePath + "/" + id + "/hls/playlist.m3u8")
+                .then()
+                .statusCode(404);
+    }
+
+    @Test
+    @TestSecurity(user = TestUtil.ARTIST_ID_STRING, roles = {"user"})
+    public void testWaveformIsNotFoundBeforeAnalysis() {
+        given()
+                .when()
+                .get(basePath + "/999999/waveform")
+                .then()
+                .statusCode(404);
+    }
+
+    @Test
+    @TestSecurity(user = TestUtil.ARTIST_ID_STRING, roles = {"user"})
+    public void testProxyContentIsUnavailableWhenDisabled() {
+        given()
+                .header("Range", "bytes=0-1023")
+                .when()
+                .get(basePath + "/1/content")
+                .then()
+                .statusCode(404);
+    }
+
+    @Test
+    @TestSecurity(user = TestUtil.ARTIST_ID_STRING, roles = {"user"})
+    public void testMultipartUploadCanBeResumedAndCompleted() {
+        AudioFileResource.MultipartUploadInitiation initiation = new AudioFileResource.MultipartUploadInitiation();
+        initiation.fileName = "master.wav";
+        initiation.contentType = "audio/wav";
+        initiation.fileSize = 150L * 1024 * 1024;
+
+        Integer uploadId = given()
+                .contentType(ContentType.JSON)
+                .body(initiation)
+                .when()
+                .post(basePath + "/multipart")
+                .then()
+                .statusCode(201)
+                .body("fileKey", equalTo("mock-key-master.wav"))
+                .body("partSize", equalTo(64 * 1024 * 1024))
+                .body("partCount", equalTo(3))
+                .body("missingParts", equalTo(List.of(1, 2, 3)))
+                .extract().path("uploadId");
+
+        given()
+                .when()
+                .get(basePath + "/multipart/" + uploadId + "/part-urls")
+                .then()
+                .statusCode(200)
+                .body("partUrls", hasSize(3))
+                .body("partUrls[0].partNumber", equalTo(1))
+                .body("partUrls[0].uploadUrl", notNullValue());
+
+        AudioFileResource.UploadedPart part = new AudioFileResource.UploadedPart();
+        part.etag = "\"etag-1\"";
+        given()
+                .contentType(ContentType.JSON)
+                .body(part)
+                .when()
+                .put(basePath + "/multipart/" + uploadId + "/parts/1")
+                .then()
+                .statusCode(200)
+                .body("partNumber", equalTo(1));
+
+        // A resuming client sees which parts are still missing
+        given()
+                .when()
+                .get(basePath + "/multipart/" + uploadId)
+                .then()
+                .statusCode(200)
+                .body("uploadedParts", hasSize(1))
+                .body("missingParts", equalTo(List.of(2, 3)));
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(Map.of())
+                .when()
+                .post(basePath + "/multipart/" + uploadId + "/complete")
+                .then()
+                .statusCode(409)
+                .body("missingParts", equalTo(List.of(2, 3)));
+
+        for (int partNumber = 2; partNumber <= 3; partNumber++) {
+            part.etag = "\"etag-" + partNumber + "\"";
+            given()
+                    .contentType(ContentType.JSON)
+                    .body(part)
+                    .when()
+                    .put(basePath + "/multipart/" + uploadId + "/parts/" + partNumber)
+                    .then()
+                    .statusCode(200);
+        }
+
+        AudioFileResource.MultipartCompletion completion = new AudioFileResource.MultipartCompletion();
+        completion.checksum = MockBackblazeStorageService.checksumOf("mock-key-master.wav");
+        Integer audioFileId = given()
+                .contentType(ContentType.JSON)
+                .body(completion)
+                .when()
+                .post(basePath + "/multipart/" + uploadId + "/complete")
+                .then()
+                .statusCode(201)
+                .body("id", notNullValue())
+                .body("fileIdentifier", equalTo("mock-key-master.wav"))
+                .body("checksum", equalTo(completion.checksum))
+                .extract().path("id");
+
+        given()
+                .when()
+                .get(basePath + "/multipart/" + uploadId)
+                .then()
+                .statusCode(200)
+                .body("status", equalTo("COMPLETED"))
+                .body("audioFileId", equalTo(audioFileId));
+
+        // A retried completion returns the audio file already registered
+        given()
+                .contentType(ContentType.JSON)
+                .body(completion)
+                .when()
+                .post(basePath + "/multipart/" + uploadId + "/complete")
+                .then()
+                .statusCode(200)
+                .body("id", equalTo(audioFileId));
+    }
+
+    @Test
+    @TestSecurity(user = TestUtil.ARTIST_ID_STRING, roles = {"user"})
+    public void testAbortMultipartUpload() {
+        AudioFileResource.MultipartUploadInitiation initiation = new AudioFileResource.MultipartUploadInitiation();
+        initiation.fileName = "aborted.flac";
+        initiation.fileSize = 10L * 1024 * 1024;
+
+        Integer uploadId = given()
+                .contentType(ContentType.JSON)
+                .body(initiation)
+                .when()
+                .post(basePath + "/multipart")
+                .then()
+                .statusCode(201)
+                .extract().path("uploadId");
+
+        given()
+                .when()
+                .delete(basePath + "/multipart/" + uploadId)
+                .then()
+                .statusCode(204);
+
+        given()
+                .when()
+                .get(basePath + "/multipart/" + uploadId + "/part-urls")
+                .then()
+                .statusCode(409);
+    }
+
+    @Test
+    @TestSecurity(user = TestUtil.ARTIST_ID_STRING, roles = {"user"})
+    public void testUploadBeingCompletedCannotBeCompletedOrAbortedAgain() {
+        AudioFileResource.MultipartUploadInitiation initiation = new AudioFileResource.MultipartUploadInitiation();
+        initiation.fileName = "completing.flac";
+        initiation.fileSize = 1024L;
+
+        Integer uploadId = given()
+                .contentType(ContentType.JSON)
+                .body(initiation)
+                .when()
+                .post(basePath + "/multipart")
+                .then()
+                .statusCode(201)
+                .extract().path("uploadId");
+
+        // As left by a completion that has claimed the upload and is assembling it
+        QuarkusTransaction.requiringNew().run(() -> multipartUploadRepository.findById(uploadId.longValue())
+                .setStatus(MultipartUpload.Status.COMPLETING));
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(Map.of())
+                .when()
+                .post(basePath + "/multipart/" + uploadId + "/complete")
+                .then()
+                .statusCode(409)
+                .body("message", equalTo("Upload is COMPLETING"));
+
+        given()
+                .when()
+                .delete(basePath + "/multipart/" + uploadId)
+                .then()
+                .statusCode(409);
+    }
 }
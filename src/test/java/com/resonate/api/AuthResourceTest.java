@@ -6,14 +6,23 @@ import com.resonate.util.TestUtil;
 import io.quarkus.test.InjectMock;
 import io.quarkus.test.junit.QuarkusTest;
 import io.restassured.http.ContentType;
+import io.smallrye.jwt.algorithm.SignatureAlgorithm;
+import io.smallrye.jwt.build.Jwt;
 import org.junit.jupiter.api.Test;
 import io.quarkus.test.security.TestSecurity;
 
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+
 import static io.restassured.RestAssured.given;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.CoreMatchers.containsString;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @QuarkusTest
@@ -28,7 +37,7 @@ public class AuthResourceTest {
     public void testRegisterArtist() throws Exception {
         // Use fixed test UUID and token for artist registration.
         when(supabaseAuthService.signUp(anyString(), anyString()))
-                .thenReturn(new AuthResult(TestUtil.ARTIST_UUID, "mock-artist-token"));
+                .thenReturn(CompletableFuture.completedFuture(new AuthResult(TestUtil.ARTIST_UUID, "mock-artist-token")));
 
         AuthResource.RegisterRequest request = new AuthResource.RegisterRequest();
         request.email = "test-artist@example.com";
@@ -53,7 +62,7 @@ public class AuthResourceTest {
     public void testRegisterFan() throws Exception {
         // Use fixed test UUID and token for fan registration.
         when(supabaseAuthService.signUp(anyString(), anyString()))
-                .thenReturn(new AuthResult(TestUtil.FAN_UUID, "mock-fan-token"));
+                .thenReturn(CompletableFuture.completedFuture(new AuthResult(TestUtil.FAN_UUID, "mock-fan-token")));
 
         AuthResource.RegisterRequest request = new AuthResource.RegisterRequest();
         request.email = "test-fan@example.com";
@@ -85,11 +94,31 @@ public class AuthResourceTest {
                 .statusCode(400);
     }
 
+    @Test
+    public void testRegisterWithInvalidUserType() throws Exception {
+        AuthResource.RegisterRequest request = new AuthResource.RegisterRequest();
+        request.email = "test-other@example.com";
+        request.password = "password123";
+        request.userType = "label";
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(request)
+                .when()
+                .post(basePath + "/register")
+                .then()
+                .statusCode(400)
+                .body("message", equalTo("Invalid user type"));
+
+        // Rejected before any Supabase user is created
+        verify(supabaseAuthService, never()).signUp(anyString(), anyString());
+    }
+
     @Test
     public void testLogin() throws Exception {
         // Use a fixed UUID and token for the login endpoint.
         when(supabaseAuthService.signIn(anyString(), anyString()))
-                .thenReturn(new AuthResult(TestUtil.ARTIST_UUID, "mock-login-token"));
+                .thenReturn(CompletableFuture.completedFuture(new AuthResult(TestUtil.ARTIST_UUID, "mock-login-token")));
 
         AuthResource.LoginRequest request = new AuthResource.LoginRequest();
         request.email = "existing@example.com";
@@ -109,7 +138,8 @@ public class AuthResourceTest {
     @Test
     public void testLoginWithInvalidCredentials() throws Exception {
         when(supabaseAuthService.signIn(anyString(), anyString()))
-                .thenThrow(new io.quarkus.security.UnauthorizedException("Authentication failed"));
+                .thenReturn(CompletableFuture.failedFuture(
+                        new io.quarkus.security.UnauthorizedException("Authentication failed")));
 
         AuthResource.LoginRequest request = new AuthResource.LoginRequest();
         request.email = "wrong@example.com";
@@ -136,4 +166,35 @@ public class AuthResourceTest {
                 .statusCode(200)
                 .body("message", equalTo("Logged out successfully"));
     }
+
+    @Test
+    public void testGetCurrentUser() {
+        String token = Jwt.issuer("http://localhost:5432/auth/v1")
+                .subject(TestUtil.ARTIST_ID_STRING)
+                .claim("email", "existing@example.com")
+                .issuedAt(Instant.now())
+                .expiresAt(Instant.now().plusSeconds(3600))
+                .jws()
+                .algorithm(SignatureAlgorithm.HS256)
+                .sign(new SecretKeySpec("test-jwt-secret-that-is-at-least-32-bytes-long".getBytes(StandardCharsets.UTF_8),
+                        "HmacSHA256"));
+
+        given()
+                .header("Authorization", "Bearer " + token)
+                .when()
+                .get(basePath + "/me")
+                .then()
+                .statusCode(200)
+                .body("userId", equalTo(TestUtil.ARTIST_ID_STRING))
+                .body("email", equalTo("existing@example.com"));
+    }
+
+    @Test
+    public void testGetCurrentUserWithoutToken() {
+        given()
+                .when()
+                .get(basePath + "/me")
+                .then()
+                .statusCode(401);
+    }
 }
@@ -0,0 +1,91 @@
+package com.resonate.api;
+
+import com.resonate.domain.model.ArtistProfile;
+import com.resonate.domain.model.Release;
+import com.resonate.domain.model.Track;
+import com.resonate.plays.ChartService;
+import com.resonate.plays.PlayCountRollup;
+import com.resonate.plays.PlayEvent;
+import com.resonate.plays.PlayEventService;
+import com.resonate.util.TestDataSetup;
+import com.resonate.util.TestUtil;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.security.TestSecurity;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+
+@QuarkusTest
+public class ChartResourceTest {
+
+    private final String basePath = "/api/charts";
+
+    @Inject
+    TestDataSetup testDataSetup;
+
+    @Inject
+    PlayEventService playEventService;
+
+    @Inject
+    PlayCountRollup playCountRollup;
+
+    @Inject
+    ChartService chartService;
+
+    @AfterEach
+    public void tearDown() {
+        testDataSetup.cleanupTestData();
+    }
+
+    private void play(Track track, int times) {
+        for (int i = 0; i < times; i++) {
+            playEventService.record(new PlayEvent(track.getId(), null, 30_000, Instant.now()));
+        }
+    }
+
+    @Test
+    @TestSecurity(user = TestUtil.ARTIST_ID_STRING, roles = {"user"})
+    public void testArtistChartRanksTracksByRolledUpPlays() {
+        ArtistProfile artist = testDataSetup.createArtistProfile(UUID.randomUUID());
+        Release release = testDataSetup.createRelease(artist.getUserId(), "Charting Release");
+        Track hit = testDataSetup.createTrack(release, "Hit");
+        Track deepCut = testDataSetup.createTrack(release, "Deep Cut");
+
+        play(hit, 3);
+        play(deepCut, 1);
+        playEventService.flush();
+        playCountRollup.rollUp();
+        chartService.clearCache();
+
+        given()
+                .queryParam("period", "day")
+                .when()
+                .get(basePath + "/artists/" + artist.getUserId())
+                .then()
+                .statusCode(200)
+                .header("Cache-Control", startsWith("public"))
+                .body("size()", is(2))
+                .body("[0].trackId", is(hit.getId().intValue()))
+                .body("[0].rank", is(1))
+                .body("[0].plays", is(3))
+                .body("[1].trackId", is(deepCut.getId().intValue()))
+                .body("[1].plays", is(1));
+    }
+
+    @Test
+    @TestSecurity(user = TestUtil.ARTIST_ID_STRING, roles = {"user"})
+    public void testUnknownPeriodIsRejected() {
+        given()
+                .queryParam("period", "decade")
+                .when()
+                .get(basePath)
+                .then()
+                .statusCode(400);
+    }
+}
@@ -0,0 +1,69 @@
+package com.resonate.api;
+
+import com.resonate.plays.PlayEventService;
+import com.resonate.util.TestUtil;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.security.TestSecurity;
+import io.restassured.http.ContentType;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.*;
+
+@QuarkusTest
+public class PlayEventResourceTest {
+
+    private final String basePath = "/api/plays";
+
+    @Inject
+    PlayEventService playEventService;
+
+    @Inject
+    EntityManager entityManager;
+
+    private long countPlays(long trackId, UUID userId) {
+        return QuarkusTransaction.requiringNew().call(() -> ((Number) entityManager.createNativeQuery(
+                        "SELECT count(*) FROM play_events WHERE track_id = :trackId AND user_id = :userId")
+                .setParameter("trackId", trackId)
+                .setParameter("userId", userId)
+                .getSingleResult()).longValue());
+    }
+
+    @Test
+    @TestSecurity(user = TestUtil.ARTIST_ID_STRING, roles = {"user"})
+    public void testPlaysAreWrittenInBatches() {
+        long trackId = 424242L;
+        for (int i = 0; i < 5; i++) {
+            given()
+                    .contentType(ContentType.JSON)
+                    .body(Map.of("trackId", trackId, "listenedMs", 30_000))
+                    .when()
+                    .post(basePath)
+                    .then()
+                    .statusCode(202);
+        }
+
+        playEventService.flush();
+
+        assertEquals(5, countPlays(trackId, TestUtil.ARTIST_UUID));
+        assertEquals(0, playEventService.getBuffer().size());
+    }
+
+    @Test
+    @TestSecurity(user = TestUtil.ARTIST_ID_STRING, roles = {"user"})
+    public void testPlayWithoutTrackIsRejected() {
+        given()
+                .contentType(ContentType.JSON)
+                .body(Map.of("listenedMs", 1000))
+                .when()
+                .post(basePath)
+                .then()
+                .statusCode(400);
+    }
+}
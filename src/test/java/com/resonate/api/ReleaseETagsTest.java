@@ -0,0 +1,52 @@
+package com.resonate.api;
+
+import com.resonate.api.dto.CursorPage;
+import com.resonate.api.dto.ReleaseSummary;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReleaseETagsTest {
+
+    private static ReleaseSummary release(long id, long version) {
+        return new ReleaseSummary(id, UUID.randomUUID(), "Release " + id, LocalDate.now(), null,
+                OffsetDateTime.now(), version);
+    }
+
+    @Test
+    public void testReleaseTagIsStrongAndFollowsVersion() {
+        assertFalse(ReleaseETags.release(7L, 1L).isWeak());
+        assertEquals(ReleaseETags.release(7L, 1L), ReleaseETags.release(7L, 1L));
+        assertNotEquals(ReleaseETags.release(7L, 1L), ReleaseETags.release(7L, 2L));
+    }
+
+    @Test
+    public void testPageTagIgnoresEverythingButIdsAndVersions() {
+        CursorPage<ReleaseSummary> page = new CursorPage<>(List.of(release(2, 1), release(1, 4)), "next");
+        CursorPage<ReleaseSummary> same = new CursorPage<>(List.of(release(2, 1), release(1, 4)), "next");
+
+        assertEquals(ReleaseETags.page(page), ReleaseETags.page(same));
+    }
+
+    @Test
+    public void testPageTagChangesWithContent() {
+        EntityTagBaseline baseline = new EntityTagBaseline(
+                new CursorPage<>(List.of(release(2, 1), release(1, 4)), "next"));
+
+        baseline.assertChangedBy(new CursorPage<>(List.of(release(2, 2), release(1, 4)), "next"));
+        baseline.assertChangedBy(new CursorPage<>(List.of(release(3, 1), release(2, 1)), "next"));
+        baseline.assertChangedBy(new CursorPage<>(List.of(release(2, 1)), "next"));
+        baseline.assertChangedBy(new CursorPage<>(List.of(release(2, 1), release(1, 4)), null));
+    }
+
+    private record EntityTagBaseline(CursorPage<ReleaseSummary> page) {
+        void assertChangedBy(CursorPage<ReleaseSummary> other) {
+            assertNotEquals(ReleaseETags.page(page), ReleaseETags.page(other));
+        }
+    }
+}
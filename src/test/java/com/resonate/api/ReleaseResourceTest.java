@@ -0,0 +1,282 @@
+package com.resonate.api;
+
+import com.resonate.api.dto.PageCursor;
+import com.resonate.domain.media.AudioFile;
+import com.resonate.domain.model.ArtistProfile;
+import com.resonate.domain.model.Release;
+import com.resonate.domain.model.Track;
+import com.resonate.util.TestDataSetup;
+import com.resonate.util.TestUtil;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.security.TestSecurity;
+import io.restassured.http.ContentType;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.junit.jupiter.api.Assertions.*;
+
+@QuarkusTest
+public class ReleaseResourceTest {
+
+    private final String basePath = "/api/releases";
+
+    @Inject
+    TestDataSetup testDataSetup;
+
+    private ArtistProfile artist;
+
+    @BeforeEach
+    public void setUp() {
+        testDataSetup.cleanupTestData();
+        artist = testDataSetup.createArtistProfile();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        testDataSetup.cleanupTestData();
+    }
+
+    @Test
+    @TestSecurity(user = TestUtil.ARTIST_ID_STRING, roles = {"user"})
+    public void testExportCatalogueAsNdjson() {
+        Release first = testDataSetup.createRelease(artist.getUserId(), "Export One");
+        testDataSetup.createTrack(first, "Export Track 1");
+        testDataSetup.createTrack(first, "Export Track 2");
+        testDataSetup.createRelease(artist.getUserId(), "Export Two");
+
+        String body = given()
+                .when()
+                .get(basePath + "/export")
+                .then()
+                .statusCode(200)
+                .contentType(containsString("application/x-ndjson"))
+                .extract().asString();
+
+        assertTrue(body.endsWith("\n"));
+        List<String> lines = Arrays.asList(body.substring(0, body.length() - 1).split("\n", -1));
+        for (String line : lines) {
+            assertTrue(line.startsWith("{\"id\":") && line.endsWith("}"), "not a bare JSON line: " + line);
+        }
+        assertTrue(lines.stream().anyMatch(line -> line.contains("\"title\":\"Export One\"")
+                && line.contains("Export Track 1") && line.contains("Export Track 2")));
+        assertTrue(lines.stream().anyMatch(line -> line.contains("\"title\":\"Export Two\"")
+                && line.contains("\"tracks\":[]")));
+    }
+
+    @Test
+    @TestSecurity(user = TestUtil.ARTIST_ID_STRING, roles = {"user"})
+    public void testReleaseDetailsAreRevalidatedWithETag() {
+        Release release = testDataSetup.createRelease(artist.getUserId(), "Conditional");
+        String path = basePath + "/public/" + release.getId();
+
+        String etag = given()
+                .when()
+                .get(path)
+                .then()
+                .statusCode(200)
+                .header("ETag", notNullValue())
+                .header("Cache-Control", containsString("public"))
+                .extract().header("ETag");
+
+        given()
+                .header("If-None-Match", etag)
+                .when()
+                .get(path)
+                .then()
+                .statusCode(304)
+                .header("ETag", etag);
+
+        // Adding a track changes the release's representation, so its version and ETag change
+        given()
+                .contentType(ContentType.JSON)
+                .body(Map.of("title", "New Track", "duration", 200, "filePath", "/test/new.mp3"))
+                .when()
+                .post(basePath + "/" + release.getId() + "/tracks")
+                .then()
+                .statusCode(201);
+        String changed = given()
+                .header("If-None-Match", etag)
+                .when()
+                .get(path)
+                .then()
+                .statusCode(200)
+                .extract().header("ETag");
+        assertNotEquals(etag, changed);
+    }
+
+    @Test
+    @TestSecurity(user = TestUtil.ARTIST_ID_STRING, roles = {"user"})
+    public void testReleaseDetailsCarryOnlyTheAudioFileId() {
+        Release release = testDataSetup.createRelease(artist.getUserId(), "Linked");
+        AudioFile audioFile = testDataSetup.createAudioFile("linked-master");
+        testDataSetup.linkTrackToAudioFile(testDataSetup.createTrack(release, "Linked Track"), audioFile);
+
+        given()
+                .when()
+                .get(basePath + "/public/" + release.getId())
+                .then()
+                .statusCode(200)
+                .body("tracks[0].audioFileId", is(audioFile.getId().intValue()));
+    }
+
+    @Test
+    @TestSecurity(user = TestUtil.ARTIST_ID_STRING, roles = {"user"})
+    public void testCataloguePageIsRevalidatedWithETag() {
+        testDataSetup.createRelease(artist.getUserId(), "Page One");
+
+        String etag = given()
+                .when()
+                .get(basePath + "/public")
+                .then()
+                .statusCode(200)
+                .extract().header("ETag");
+
+        given()
+                .header("If-None-Match", etag)
+                .when()
+                .get(basePath + "/public")
+                .then()
+                .statusCode(304);
+
+        testDataSetup.createRelease(artist.getUserId(), "Page Two");
+        given()
+                .header("If-None-Match", etag)
+                .when()
+                .get(basePath + "/public")
+                .then()
+                .statusCode(200);
+    }
+
+    @Test
+    @TestSecurity(user = TestUtil.ARTIST_ID_STRING, roles = {"user"})
+    public void testCursorOfAnotherListingIsRejected() {
+        Release release = testDataSetup.createRelease(artist.getUserId(), "Cursor Kinds");
+        String trackCursor = PageCursor.afterTrack(1, 1L).encode();
+        String releaseCursor = new PageCursor(release.getReleaseDate(), release.getId()).encode();
+
+        given()
+                .queryParam("cursor", trackCursor)
+                .when()
+                .get(basePath + "/public")
+                .then()
+                .statusCode(400)
+                .body(is("Invalid cursor"));
+
+        given()
+                .queryParam("cursor", releaseCursor)
+                .when()
+                .get(basePath + "/" + release.getId() + "/tracks")
+                .then()
+                .statusCode(400)
+                .body(is("Invalid cursor"));
+    }
+
+    @Test
+    @TestSecurity(user = TestUtil.ARTIST_ID_STRING, roles = {"user"})
+    public void testCachedReleaseDetailsAreInvalidatedOnUpdate() {
+        Release release = testDataSetup.createRelease(artist.getUserId(), "Before");
+        String path = basePath + "/public/" + release.getId();
+
+        given().when().get(path).then().statusCode(200).body("title", is("Before"));
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(Map.of("title", "After"))
+                .when()
+                .put(basePath + "/" + release.getId())
+                .then()
+                .statusCode(200);
+
+        given().when().get(path).then().statusCode(200).body("title", is("After"));
+    }
+
+    @Test
+    @TestSecurity(user = TestUtil.ARTIST_ID_STRING, roles = {"user"})
+    public void testImportReportsRejectedLinesAndKeepsTheRest() {
+        String artistId = artist.getUserId().toString();
+        String body = String.join("\n",
+                "{\"artistId\":\"" + artistId + "\",\"title\":\"Imported One\",\"releaseDate\":\"2020-01-01\","
+                        + "\"tracks\":[{\"title\":\"Side A\",\"duration\":200,\"filePath\":\"/a.flac\"},"
+                        + "{\"title\":\"Side B\",\"duration\":180,\"filePath\":\"/b.flac\"}]}",
+                "{\"artistId\":\"" + artistId + "\",\"releaseDate\":\"2020-01-01\"}",
+                "",
+                "{\"artistId\":\"" + UUID.randomUUID() + "\",\"title\":\"Nobody\",\"releaseDate\":\"2020-01-01\"}",
+                "not json",
+                "{\"artistId\":\"" + artistId + "\",\"title\":\"Imported Two\",\"releaseDate\":\"2021-01-01\"}");
+
+        given()
+                .contentType("application/x-ndjson")
+                .body(body)
+                .when()
+                .post(basePath + "/import")
+                .then()
+                .statusCode(200)
+                .body("releases", is(2))
+                .body("tracks", is(2))
+                .body("failed", is(3))
+                .body("errors.line", containsInAnyOrder(2, 4, 5))
+                .body("errors.find { it.line == 2 }.message", is("title is required"))
+                .body("errors.find { it.line == 4 }.message", is("Artist profile not found"));
+
+        List<String> titles = given()
+                .when()
+                .get(basePath + "/artist/" + artistId)
+                .then()
+                .statusCode(200)
+                .extract().jsonPath().getList("title");
+        assertTrue(titles.containsAll(List.of("Imported One", "Imported Two")));
+    }
+
+    @Test
+    @TestSecurity(user = TestUtil.ARTIST_ID_STRING, roles = {"user"})
+    public void testTracklistReordersUpdatesAndAddsTracks() {
+        Release release = testDataSetup.createRelease(artist.getUserId(), "Tracklist Release");
+        Track first = testDataSetup.createTrack(release, "First");
+        Track second = testDataSetup.createTrack(release, "Second");
+        String path = basePath + "/" + release.getId() + "/tracklist";
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(List.of(
+                        Map.of("id", second.getId(), "title", "Second (Remastered)"),
+                        Map.of("title", "Bonus", "duration", 120, "filePath", "/bonus.flac"),
+                        Map.of("id", first.getId())))
+                .when()
+                .put(path)
+                .then()
+                .statusCode(200)
+                .body("title", contains("Second (Remastered)", "Bonus", "First"))
+                .body("position", contains(1, 2, 3));
+
+        given()
+                .when()
+                .get(basePath + "/" + release.getId() + "/tracks?size=2")
+                .then()
+                .statusCode(200)
+                .body("items.title", contains("Second (Remastered)", "Bonus"))
+                .body("nextCursor", notNullValue());
+
+        // Every existing track has to be listed
+        given()
+                .contentType(ContentType.JSON)
+                .body(List.of(Map.of("id", first.getId())))
+                .when()
+                .put(path)
+                .then()
+                .statusCode(400)
+                .body(containsString("missing from the tracklist"));
+    }
+}
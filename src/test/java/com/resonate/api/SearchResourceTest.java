@@ -0,0 +1,70 @@
+package com.resonate.api;
+
+import com.resonate.domain.model.ArtistProfile;
+import com.resonate.domain.model.Release;
+import com.resonate.domain.model.Track;
+import com.resonate.util.TestDataSetup;
+import com.resonate.util.TestUtil;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.security.TestSecurity;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+
+@QuarkusTest
+public class SearchResourceTest {
+
+    private final String basePath = "/api/search";
+
+    @Inject
+    TestDataSetup testDataSetup;
+
+    @AfterEach
+    public void tearDown() {
+        testDataSetup.cleanupTestData();
+    }
+
+    @Test
+    @TestSecurity(user = TestUtil.ARTIST_ID_STRING, roles = {"user"})
+    public void testSearchFindsReleasesAndTracksByPrefix() {
+        ArtistProfile artist = testDataSetup.createArtistProfile(UUID.randomUUID());
+        Release release = testDataSetup.createRelease(artist.getUserId(), "Quixotic Cathedrals");
+        Track track = testDataSetup.createTrack(release, "Quixotic Drift");
+
+        given()
+                .queryParam("q", "quixot")
+                .when()
+                .get(basePath)
+                .then()
+                .statusCode(200)
+                .body("size()", is(2))
+                .body("type", hasItems("release", "track"))
+                .body("find { it.type == 'track' }.id", is(track.getId().intValue()))
+                .body("find { it.type == 'track' }.releaseId", is(release.getId().intValue()));
+
+        given()
+                .queryParam("q", "quixotic dri")
+                .when()
+                .get(basePath)
+                .then()
+                .statusCode(200)
+                .body("size()", is(1))
+                .body("[0].title", is("Quixotic Drift"));
+    }
+
+    @Test
+    @TestSecurity(user = TestUtil.ARTIST_ID_STRING, roles = {"user"})
+    public void testEmptyQueryIsRejected() {
+        given()
+                .queryParam("q", " -- ")
+                .when()
+                .get(basePath)
+                .then()
+                .statusCode(400);
+    }
+}
@@ -0,0 +1,71 @@
+package com.resonate.api;
+
+import com.resonate.api.dto.CreateTrackRequest;
+import com.resonate.domain.media.AudioFile;
+import com.resonate.domain.model.ArtistProfile;
+import com.resonate.domain.model.Release;
+import com.resonate.util.TestDataSetup;
+import com.resonate.util.TestUtil;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.security.TestSecurity;
+import io.restassured.http.ContentType;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.is;
+
+@QuarkusTest
+public class TrackResourceTest {
+
+    private final String basePath = "/api/tracks";
+
+    @Inject
+    TestDataSetup testDataSetup;
+
+    private ArtistProfile artist;
+
+    @BeforeEach
+    public void setUp() {
+        testDataSetup.cleanupTestData();
+        artist = testDataSetup.createArtistProfile();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        testDataSetup.cleanupTestData();
+    }
+
+    @Test
+    @TestSecurity(user = TestUtil.ARTIST_ID_STRING, roles = {"user"})
+    public void testTrackCarriesOnlyTheAudioFileId() {
+        Release release = testDataSetup.createRelease(artist.getUserId(), "With Audio");
+        AudioFile audioFile = testDataSetup.createAudioFile("track-master");
+
+        CreateTrackRequest request = new CreateTrackRequest();
+        request.setTitle("Linked Track");
+        request.setDuration(180);
+        request.setFilePath("tracks/linked.mp3");
+        request.setAudioFileId(audioFile.getId());
+
+        Integer trackId = given()
+                .contentType(ContentType.JSON)
+                .body(request)
+                .queryParam("releaseId", release.getId())
+                .when()
+                .post(basePath)
+                .then()
+                .statusCode(201)
+                .body("audioFileId", is(audioFile.getId().intValue()))
+                .extract().path("id");
+
+        given()
+                .when()
+                .get(basePath + "/" + trackId)
+                .then()
+                .statusCode(200)
+                .body("audioFileId", is(audioFile.getId().intValue()));
+    }
+}
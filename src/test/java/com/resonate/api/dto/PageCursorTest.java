@@ -0,0 +1,63 @@
+package com.resonate.api.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PageCursorTest {
+
+    @Test
+    public void testReleaseCursorRoundTrip() {
+        PageCursor cursor = new PageCursor(LocalDate.of(2024, 5, 17), 42L);
+
+        String token = cursor.encode();
+
+        assertFalse(token.contains("2024"), "token should be opaque");
+        assertEquals(cursor, PageCursor.decode(token));
+    }
+
+    @Test
+    public void testTrackCursorRoundTrip() {
+        PageCursor cursor = PageCursor.afterTrack(3, 7L);
+
+        PageCursor decoded = PageCursor.decode(cursor.encode());
+
+        assertNull(decoded.releaseDate());
+        assertEquals(3, decoded.position());
+        assertEquals(7L, decoded.id());
+    }
+
+    @Test
+    public void testReleaseCursorHasNoPosition() {
+        PageCursor decoded = PageCursor.decode(new PageCursor(LocalDate.of(2024, 5, 17), 42L).encode());
+
+        assertNull(decoded.position());
+    }
+
+    @Test
+    public void testBlankTokenMeansFirstPage() {
+        assertNull(PageCursor.decode(null));
+        assertNull(PageCursor.decode(""));
+    }
+
+    @Test
+    public void testMalformedTokenIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decode("not a cursor"));
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decode("MnwyMDI0LTAxLTAxfDE"));
+    }
+
+    @Test
+    public void testCursorOfAnotherListingIsRejected() {
+        String releaseToken = new PageCursor(LocalDate.of(2024, 5, 17), 42L).encode();
+        String trackToken = PageCursor.afterTrack(3, 7L).encode();
+
+        assertEquals(42L, PageCursor.decodeRelease(releaseToken).id());
+        assertEquals(7L, PageCursor.decodeTrack(trackToken).id());
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decodeRelease(trackToken));
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decodeTrack(releaseToken));
+        assertNull(PageCursor.decodeRelease(null));
+        assertNull(PageCursor.decodeTrack(""));
+    }
+}
@@ -0,0 +1,119 @@
+package com.resonate.auth;
+
+import com.resonate.auth.SupabaseAuthService.AuthResult;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.quarkus.security.UnauthorizedException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SupabaseAuthServiceTest {
+
+    private static final UUID USER_ID = UUID.fromString("4b1d2a6e-7a43-4a6f-9c1e-2f3a5b6c7d8e");
+
+    private HttpServer server;
+    private SupabaseAuthService authService;
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/auth/v1/token", exchange -> {
+            String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            if (body.contains("\"slow@example.com\"")) {
+                sleep(2000);
+            }
+            if (body.contains("\"password\":\"secret\"")) {
+                respond(exchange, 200, "{\"access_token\":\"token-123\",\"user\":{\"id\":\"" + USER_ID + "\"}}");
+            } else {
+                respond(exchange, 400, "{\"error\":\"invalid_grant\"}");
+            }
+        });
+        server.createContext("/auth/v1/admin/users/", exchange -> respond(exchange, 204, null));
+        server.start();
+
+        authService = new SupabaseAuthService();
+        authService.supabaseUrl = "http://localhost:" + server.getAddress().getPort();
+        authService.supabaseApiKey = "test-api-key";
+        authService.connectTimeout = Duration.ofSeconds(1);
+        authService.requestTimeout = Duration.ofMillis(500);
+        registry = new SimpleMeterRegistry();
+        authService.registry = registry;
+        authService.initClient();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    public void testSignInCompletesWithAuthResult() throws Exception {
+        AuthResult result = authService.signIn("user@example.com", "secret").get();
+
+        assertEquals(USER_ID, result.userId);
+        assertEquals("token-123", result.token);
+        assertEquals(1, registry.get("supabase.auth.requests")
+                .tags("operation", "signIn", "outcome", "success").timer().count());
+    }
+
+    @Test
+    public void testSignInWithInvalidCredentialsFailsTheFuture() {
+        CompletableFuture<AuthResult> future = authService.signIn("user@example.com", "wrong");
+
+        ExecutionException e = assertThrows(ExecutionException.class, future::get);
+        assertInstanceOf(UnauthorizedException.class, e.getCause());
+        assertEquals(1.0, registry.get("supabase.auth.errors")
+                .tags("operation", "signIn", "outcome", "client_error").counter().count());
+    }
+
+    @Test
+    public void testSlowResponseFailsAfterRequestTimeout() {
+        CompletableFuture<AuthResult> future = authService.signIn("slow@example.com", "secret");
+
+        ExecutionException e = assertThrows(ExecutionException.class, future::get);
+        assertInstanceOf(HttpTimeoutException.class, e.getCause());
+        assertEquals(1.0, registry.get("supabase.auth.errors")
+                .tags("operation", "signIn", "outcome", "timeout").counter().count());
+    }
+
+    @Test
+    public void testDeleteUserCompletes() throws Exception {
+        assertNull(authService.deleteUser(USER_ID).get());
+    }
+
+    private static void respond(com.sun.net.httpserver.HttpExchange exchange, int status, String body) throws IOException {
+        if (body == null) {
+            exchange.sendResponseHeaders(status, -1);
+        } else {
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        }
+        exchange.close();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.resonate.auth;
+
+import io.quarkus.security.UnauthorizedException;
+import io.smallrye.jwt.build.Jwt;
+import org.eclipse.microprofile.jwt.JsonWebToken;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SupabaseTokenVerifierTest {
+
+    private static final String SECRET = "test-jwt-secret-that-is-at-least-32-bytes-long";
+    private static final String ISSUER = "http://localhost:5432/auth/v1";
+
+    private SupabaseTokenVerifier verifier;
+
+    @BeforeEach
+    public void setUp() {
+        verifier = new SupabaseTokenVerifier();
+        verifier.secret = SECRET;
+        verifier.issuer = ISSUER;
+        verifier.cacheMaxSize = 100;
+        verifier.init();
+    }
+
+    @Test
+    public void testVerifiesAndCachesValidToken() {
+        UUID userId = UUID.randomUUID();
+        String token = sign(ISSUER, SECRET, userId, Instant.now().plusSeconds(3600));
+
+        JsonWebToken first = verifier.verify(token);
+        JsonWebToken second = verifier.verify(token);
+
+        assertEquals(userId.toString(), first.getSubject());
+        assertEquals("fan@example.com", first.getClaim("email"));
+        assertSame(first, second);
+        assertEquals(1, verifier.cachedTokenCount());
+    }
+
+    @Test
+    public void testFullCacheEvictsLeastRecentlyUsedToken() {
+        verifier.cacheMaxSize = 2;
+        verifier.init();
+        String first = sign(ISSUER, SECRET, UUID.randomUUID(), Instant.now().plusSeconds(3600));
+        String second = sign(ISSUER, SECRET, UUID.randomUUID(), Instant.now().plusSeconds(3600));
+        String third = sign(ISSUER, SECRET, UUID.randomUUID(), Instant.now().plusSeconds(3600));
+
+        JsonWebToken firstPrincipal = verifier.verify(first);
+        verifier.verify(second);
+        verifier.verify(first);
+        JsonWebToken thirdPrincipal = verifier.verify(third);
+
+        assertEquals(2, verifier.cachedTokenCount());
+        assertSame(thirdPrincipal, verifier.verify(third), "a new token is cached even when the cache is full");
+        assertSame(firstPrincipal, verifier.verify(first), "the recently used token is kept");
+    }
+
+    @Test
+    public void testRejectsTokenSignedWithAnotherSecret() {
+        String token = sign(ISSUER, "another-secret-that-is-also-32-bytes-long!", UUID.randomUUID(),
+                Instant.now().plusSeconds(3600));
+
+        assertThrows(UnauthorizedException.class, () -> verifier.verify(token));
+        assertEquals(0, verifier.cachedTokenCount());
+    }
+
+    @Test
+    public void testRejectsTokenFromAnotherIssuer() {
+        String token = sign("https://evil.example.com/auth/v1", SECRET, UUID.randomUUID(),
+                Instant.now().plusSeconds(3600));
+
+        assertThrows(UnauthorizedException.class, () -> verifier.verify(token));
+    }
+
+    @Test
+    public void testRejectsExpiredToken() {
+        String token = sign(ISSUER, SECRET, UUID.randomUUID(), Instant.now().minusSeconds(3600));
+
+        assertThrows(UnauthorizedException.class, () -> verifier.verify(token));
+    }
+
+    @Test
+    public void testRejectsMissingToken() {
+        assertThrows(UnauthorizedException.class, () -> verifier.verify(null));
+        assertThrows(UnauthorizedException.class, () -> verifier.verify(" "));
+    }
+
+    static String sign(String issuer, String secret, UUID userId, Instant expiresAt) {
+        return Jwt.issuer(issuer)
+                .subject(userId.toString())
+                .claim("email", "fan@example.com")
+                .claim("role", "authenticated")
+                .issuedAt(expiresAt.minusSeconds(7200))
+                .expiresAt(expiresAt)
+                .jws()
+                .algorithm(io.smallrye.jwt.algorithm.SignatureAlgorithm.HS256)
+                .sign(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+    }
+}
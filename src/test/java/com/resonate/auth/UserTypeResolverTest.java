@@ -0,0 +1,81 @@
+package com.resonate.auth;
+
+import com.resonate.infrastructure.repository.ArtistProfileRepository;
+import com.resonate.util.TestDataSetup;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.enterprise.event.Event;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@QuarkusTest
+public class UserTypeResolverTest {
+
+    @Inject
+    UserTypeResolver userTypeResolver;
+
+    @Inject
+    TestDataSetup testDataSetup;
+
+    @Inject
+    ArtistProfileRepository artistProfileRepository;
+
+    @Inject
+    Event<UserProfileChanged> userProfileChanged;
+
+    @AfterEach
+    public void tearDown() {
+        testDataSetup.cleanupTestData();
+    }
+
+    @Test
+    public void testResolvesArtistAndFan() {
+        UUID artistId = testDataSetup.createArtistProfile().getUserId();
+        UUID fanId = testDataSetup.createFanProfile().getUserId();
+
+        assertEquals(UserTypeResolver.ARTIST, userTypeResolver.resolve(artistId));
+        assertEquals(UserTypeResolver.FAN, userTypeResolver.resolve(fanId));
+        assertNull(userTypeResolver.resolve(UUID.randomUUID()));
+    }
+
+    @Test
+    public void testCachedTypeIsKeptUntilInvalidated() {
+        UUID artistId = testDataSetup.createArtistProfile().getUserId();
+        assertEquals(UserTypeResolver.ARTIST, userTypeResolver.resolve(artistId));
+
+        // Remove the profile behind the resolver's back, the cached type is still served
+        QuarkusTransaction.requiringNew().run(() -> artistProfileRepository.delete("userId", artistId));
+        assertEquals(UserTypeResolver.ARTIST, userTypeResolver.resolve(artistId));
+
+        userTypeResolver.invalidate(artistId);
+        assertNull(userTypeResolver.resolve(artistId));
+    }
+
+    @Test
+    public void testProfileChangeInvalidatesOnlyAfterCommit() {
+        UUID artistId = testDataSetup.createArtistProfile().getUserId();
+        assertEquals(UserTypeResolver.ARTIST, userTypeResolver.resolve(artistId));
+
+        QuarkusTransaction.requiringNew().run(() -> {
+            artistProfileRepository.delete("userId", artistId);
+            userProfileChanged.fire(new UserProfileChanged(artistId));
+            assertEquals(UserTypeResolver.ARTIST, userTypeResolver.resolve(artistId));
+        });
+
+        assertNull(userTypeResolver.resolve(artistId));
+    }
+
+    @Test
+    public void testUserWithoutProfileIsNotCached() {
+        UUID userId = UUID.randomUUID();
+        assertNull(userTypeResolver.resolve(userId));
+
+        testDataSetup.createFanProfile(userId);
+        assertEquals(UserTypeResolver.FAN, userTypeResolver.resolve(userId));
+    }
+}
@@ -0,0 +1,42 @@
+package com.resonate.catalogue;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.resonate.api.dto.ReleaseSummary;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CatalogueExporterTest {
+
+    @Test
+    public void testLinesAreNotSeparatedByExtraWhitespace() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        ObjectWriter writer = CatalogueExporter.lineWriter(objectMapper);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(output)) {
+            CatalogueExporter.writeLine(writer, generator, release(1L, "One"));
+            CatalogueExporter.writeLine(writer, generator, release(2L, "Two"));
+            CatalogueExporter.writeLine(writer, generator, release(3L, "Three"));
+        }
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n", -1);
+        assertEquals(4, lines.length);
+        assertTrue(lines[0].startsWith("{\"id\":1,"), lines[0]);
+        assertTrue(lines[1].startsWith("{\"id\":2,"), lines[1]);
+        assertTrue(lines[2].startsWith("{\"id\":3,"), lines[2]);
+        assertEquals("", lines[3]);
+    }
+
+    private static ReleaseSummary release(long id, String title) {
+        ReleaseSummary release = new ReleaseSummary();
+        release.setId(id);
+        release.setTitle(title);
+        return release;
+    }
+}
@@ -0,0 +1,62 @@
+package com.resonate.catalogue;
+
+import com.resonate.catalogue.ReleaseJsonCache.CachedRelease;
+import com.resonate.domain.model.ArtistProfile;
+import com.resonate.domain.model.Release;
+import com.resonate.util.TestDataSetup;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@QuarkusTest
+public class ReleaseChangeListenerTest {
+
+    @Inject
+    TestDataSetup testDataSetup;
+
+    @Inject
+    ReleaseReadModel releaseReadModel;
+
+    @Inject
+    EntityManager entityManager;
+
+    @AfterEach
+    public void tearDown() {
+        testDataSetup.cleanupTestData();
+    }
+
+    private CachedRelease find(Long releaseId) {
+        return QuarkusTransaction.requiringNew().call(() -> releaseReadModel.find(releaseId));
+    }
+
+    @Test
+    public void testChangeMadeOutsideTheApplicationEvictsCachedRelease() throws InterruptedException {
+        ArtistProfile artist = testDataSetup.createArtistProfile(UUID.randomUUID());
+        Release release = testDataSetup.createRelease(artist.getUserId(), "Before");
+        CachedRelease cached = find(release.getId());
+        assertTrue(new String(cached.json(), StandardCharsets.UTF_8).contains("\"Before\""));
+
+        // Bypasses ReleaseChanged, as another instance would: only the NOTIFY reaches this one
+        QuarkusTransaction.requiringNew().run(() -> entityManager
+                .createNativeQuery("UPDATE releases SET title = 'After' WHERE id = :id")
+                .setParameter("id", release.getId())
+                .executeUpdate());
+
+        CachedRelease current = cached;
+        for (int attempt = 0; attempt < 50 && current.version() == cached.version(); attempt++) {
+            Thread.sleep(100);
+            current = find(release.getId());
+        }
+
+        assertEquals(cached.version() + 1, current.version());
+        assertTrue(new String(current.json(), StandardCharsets.UTF_8).contains("\"After\""));
+    }
+}
@@ -0,0 +1,133 @@
+package com.resonate.catalogue;
+
+import com.resonate.catalogue.ReleaseJsonCache.CachedRelease;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReleaseJsonCacheTest {
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private CachedRelease load(long releaseId, int bytes) {
+        loads.incrementAndGet();
+        return new CachedRelease(1, new byte[bytes]);
+    }
+
+    @Test
+    public void testHitSkipsLoader() {
+        ReleaseJsonCache cache = new ReleaseJsonCache(1000, Duration.ofMinutes(5), new MutableClock());
+
+        CachedRelease first = cache.get(1, id -> load(id, 100));
+        CachedRelease second = cache.get(1, id -> load(id, 100));
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.hitCount());
+        assertEquals(1, cache.missCount());
+    }
+
+    @Test
+    public void testEvictsLeastRecentlyUsedByBytes() {
+        ReleaseJsonCache cache = new ReleaseJsonCache(250, Duration.ofMinutes(5), new MutableClock());
+
+        cache.get(1, id -> load(id, 100));
+        cache.get(2, id -> load(id, 100));
+        cache.get(1, id -> load(id, 100));
+        cache.get(3, id -> load(id, 100));
+
+        assertEquals(2, cache.size());
+        assertEquals(200, cache.cachedBytes());
+        assertEquals(1, cache.evictionCount());
+        cache.get(1, id -> load(id, 100));
+        assertEquals(3, loads.get());
+        cache.get(2, id -> load(id, 100));
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    public void testOversizedReleasesAreNotCached() {
+        ReleaseJsonCache cache = new ReleaseJsonCache(50, Duration.ofMinutes(5), new MutableClock());
+
+        assertNotNull(cache.get(1, id -> load(id, 100)));
+
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.cachedBytes());
+    }
+
+    @Test
+    public void testEntriesExpire() {
+        MutableClock clock = new MutableClock();
+        ReleaseJsonCache cache = new ReleaseJsonCache(1000, Duration.ofMinutes(5), clock);
+
+        cache.get(1, id -> load(id, 100));
+        clock.advance(Duration.ofMinutes(5));
+        cache.get(1, id -> load(id, 100));
+
+        assertEquals(2, loads.get());
+        assertEquals(100, cache.cachedBytes());
+    }
+
+    @Test
+    public void testInvalidateDropsEntry() {
+        ReleaseJsonCache cache = new ReleaseJsonCache(1000, Duration.ofMinutes(5), new MutableClock());
+
+        cache.get(1, id -> load(id, 100));
+        cache.invalidate(1);
+
+        assertEquals(0, cache.cachedBytes());
+        cache.get(1, id -> load(id, 100));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void testLoadOverlappingInvalidationIsNotCached() {
+        ReleaseJsonCache cache = new ReleaseJsonCache(1000, Duration.ofMinutes(5), new MutableClock());
+
+        CachedRelease stale = cache.get(1, id -> {
+            // The release changes and is invalidated while this copy is being read
+            cache.invalidate(id);
+            return load(id, 100);
+        });
+
+        assertNotNull(stale);
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testMissingReleasesAreNotCached() {
+        ReleaseJsonCache cache = new ReleaseJsonCache(1000, Duration.ofMinutes(5), new MutableClock());
+
+        assertNull(cache.get(1, id -> null));
+        assertEquals(0, cache.size());
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now = Instant.parse("2025-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneId.of("UTC");
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
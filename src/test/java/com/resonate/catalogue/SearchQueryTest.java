@@ -0,0 +1,43 @@
+package com.resonate.catalogue;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SearchQueryTest {
+
+    @Test
+    public void testWordsMatchAsPrefixes() {
+        assertEquals("midnight:* & cat:*", SearchQuery.toTsQuery("Midnight Cat"));
+    }
+
+    @Test
+    public void testSingleLettersMatchWholeWordsOnly() {
+        assertEquals("a & tribe:*", SearchQuery.toTsQuery("A Tribe"));
+    }
+
+    @Test
+    public void testOperatorsAndPunctuationAreDropped() {
+        assertEquals("rock:* & roll:*", SearchQuery.toTsQuery("rock & !roll:*"));
+        assertEquals("gb:* & abc:* & 12:* & 34567:*", SearchQuery.toTsQuery("GB-ABC-12-34567"));
+    }
+
+    @Test
+    public void testNonLatinWordsAreKept() {
+        assertEquals("björk:* & 東京:*", SearchQuery.toTsQuery("Björk 東京"));
+    }
+
+    @Test
+    public void testDuplicateWordsAndExtraTermsAreDropped() {
+        assertEquals("la:*", SearchQuery.toTsQuery("la la la"));
+        assertEquals(SearchQuery.MAX_TERMS,
+                SearchQuery.toTsQuery("one two three four five six seven eight nine ten").split(" & ").length);
+    }
+
+    @Test
+    public void testBlankInputHasNoQuery() {
+        assertNull(SearchQuery.toTsQuery(null));
+        assertNull(SearchQuery.toTsQuery("   "));
+        assertNull(SearchQuery.toTsQuery("&|!"));
+    }
+}
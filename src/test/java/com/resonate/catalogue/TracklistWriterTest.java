@@ -0,0 +1,64 @@
+package com.resonate.catalogue;
+
+import com.resonate.api.dto.TracklistEntry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TracklistWriterTest {
+
+    @Test
+    public void testReorderWithNewTrackIsValid() {
+        List<TracklistEntry> entries = List.of(existing(2L), newTrack("Bonus"), existing(1L));
+
+        assertNull(TracklistWriter.validate(entries, Set.of(1L, 2L)));
+    }
+
+    @Test
+    public void testEveryExistingTrackMustBeListed() {
+        assertEquals("track 2 is missing from the tracklist",
+                TracklistWriter.validate(List.of(existing(1L)), Set.of(1L, 2L)));
+    }
+
+    @Test
+    public void testTracksOfOtherReleasesAndDuplicatesAreRejected() {
+        assertEquals("tracks[1]: track 9 is not on this release",
+                TracklistWriter.validate(List.of(existing(1L), existing(9L)), Set.of(1L)));
+        assertEquals("tracks[1]: track 1 is listed more than once",
+                TracklistWriter.validate(List.of(existing(1L), existing(1L)), Set.of(1L)));
+    }
+
+    @Test
+    public void testNewTracksNeedAllRequiredFields() {
+        TracklistEntry untitled = newTrack(null);
+
+        assertEquals("tracks[0]: title is required", TracklistWriter.validate(List.of(untitled), Set.of()));
+        assertEquals("tracks[0]: track is required", TracklistWriter.validate(Arrays.asList((TracklistEntry) null), Set.of()));
+    }
+
+    @Test
+    public void testUpdatesMayNotBlankFields() {
+        TracklistEntry entry = existing(1L);
+        entry.setDuration(0);
+
+        assertEquals("tracks[0]: duration must be greater than 0", TracklistWriter.validate(List.of(entry), Set.of(1L)));
+    }
+
+    private static TracklistEntry existing(long id) {
+        TracklistEntry entry = new TracklistEntry();
+        entry.setId(id);
+        return entry;
+    }
+
+    private static TracklistEntry newTrack(String title) {
+        TracklistEntry entry = new TracklistEntry();
+        entry.setTitle(title);
+        entry.setDuration(120);
+        entry.setFilePath("/bonus.flac");
+        return entry;
+    }
+}
@@ -71,8 +71,10 @@ class ReleaseTest {
         String upc = "123456789012";
         List<Track> tracks = Arrays.asList(mockTrack1, mockTrack2);
         OffsetDateTime createdAt = OffsetDateTime.now();
+        Long version = 3L;
+        OffsetDateTime updatedAt = createdAt.plusMinutes(5);
 
-        Release release = new Release(id, mockArtistId, title, releaseDate, upc, createdAt, tracks);
+        Release release = new Release(id, mockArtistId, title, releaseDate, upc, createdAt, version, updatedAt, tracks);
 
         assertNotNull(release);
         assertEquals(id, release.getId());
@@ -82,6 +84,8 @@ class ReleaseTest {
         assertEquals(upc, release.getUpc());
         assertEquals(tracks, release.getTracks());
         assertEquals(createdAt, release.getCreatedAt());
+        assertEquals(version, release.getVersion());
+        assertEquals(updatedAt, release.getUpdatedAt());
     }
 
     @Test
@@ -0,0 +1,162 @@
+package com.resonate.infrastructure.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BoundedCacheTest {
+
+    @Test
+    public void testReturnsCachedValueUntilExpired() {
+        MutableClock clock = new MutableClock();
+        BoundedCache<String, Integer> cache = BoundedCache.<String, Integer>builder(10)
+                .expireAfterWrite(Duration.ofMinutes(1))
+                .clock(clock)
+                .build();
+        AtomicInteger loads = new AtomicInteger();
+
+        assertEquals(1, cache.get("week", key -> loads.incrementAndGet()));
+        clock.advance(Duration.ofSeconds(59));
+        assertEquals(1, cache.get("week", key -> loads.incrementAndGet()));
+        clock.advance(Duration.ofSeconds(1));
+        assertEquals(2, cache.get("week", key -> loads.incrementAndGet()));
+
+        assertEquals(1, cache.hitCount());
+        assertEquals(2, cache.missCount());
+    }
+
+    @Test
+    public void testEvictsLeastRecentlyUsedEntry() {
+        List<String> evicted = new ArrayList<>();
+        BoundedCache<String, String> cache = BoundedCache.<String, String>builder(2)
+                .evictionListener((key, value) -> evicted.add(key))
+                .build();
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get("day", key -> key + loads.incrementAndGet());
+        cache.get("week", key -> key + loads.incrementAndGet());
+        cache.get("day", key -> key + loads.incrementAndGet());
+        cache.get("month", key -> key + loads.incrementAndGet());
+
+        assertEquals(2, cache.size());
+        assertEquals(List.of("week"), evicted);
+        assertEquals(1, cache.evictionCount());
+        assertEquals("day1", cache.get("day", key -> key + loads.incrementAndGet()));
+        assertEquals("week4", cache.get("week", key -> key + loads.incrementAndGet()));
+    }
+
+    @Test
+    public void testEvictsByWeightAndSkipsOversizedValues() {
+        BoundedCache<String, String> cache = BoundedCache.<String, String>builder(10)
+                .weigher((key, value) -> value.length())
+                .build();
+
+        cache.put("a", "aaaa");
+        cache.put("b", "bbbb");
+        cache.put("c", "cccc");
+        cache.put("huge", "hhhhhhhhhhh");
+
+        assertNull(cache.getIfPresent("a"));
+        assertNull(cache.getIfPresent("huge"));
+        assertEquals("cccc", cache.getIfPresent("c"));
+        assertEquals(8, cache.weight());
+    }
+
+    @Test
+    public void testExpiresAtTimeTakenFromValue() {
+        MutableClock clock = new MutableClock();
+        BoundedCache<String, Instant> cache = BoundedCache.<String, Instant>builder(10)
+                .expireAt(expiry -> expiry)
+                .clock(clock)
+                .build();
+
+        cache.put("later", clock.instant().plusSeconds(10));
+        cache.put("past", clock.instant());
+
+        assertNotNull(cache.getIfPresent("later"));
+        assertNull(cache.getIfPresent("past"));
+        clock.advance(Duration.ofSeconds(10));
+        assertNull(cache.getIfPresent("later"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testLoadOverlappingInvalidationIsNotCached() {
+        BoundedCache<String, Integer> cache = BoundedCache.<String, Integer>builder(10).build();
+        AtomicInteger loads = new AtomicInteger();
+
+        assertEquals(1, cache.get("key", key -> {
+            cache.invalidate(key);
+            return loads.incrementAndGet();
+        }));
+        assertEquals(2, cache.get("key", key -> loads.incrementAndGet()));
+        assertEquals(2, cache.get("key", key -> loads.incrementAndGet()));
+    }
+
+    @Test
+    public void testNullIsNotCached() {
+        BoundedCache<String, Integer> cache = BoundedCache.<String, Integer>builder(10).build();
+        AtomicInteger loads = new AtomicInteger();
+
+        assertNull(cache.get("missing", key -> {
+            loads.incrementAndGet();
+            return null;
+        }));
+        cache.get("missing", key -> loads.incrementAndGet());
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void testInvalidateIfAndClearForceReload() {
+        BoundedCache<String, Integer> cache = BoundedCache.<String, Integer>builder(10).build();
+        cache.put("audio/a.flac", 1);
+        cache.put("audio/a.flac.hls/0.ts", 2);
+        cache.put("audio/b.flac", 3);
+
+        cache.invalidateIf(key -> key.startsWith("audio/a.flac"));
+        assertEquals(1, cache.size());
+        assertEquals(3, cache.getIfPresent("audio/b.flac"));
+
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.weight());
+    }
+
+    @Test
+    public void testRejectsInvalidConfiguration() {
+        assertThrows(IllegalArgumentException.class, () -> BoundedCache.builder(0));
+        assertThrows(IllegalArgumentException.class, () -> BoundedCache.builder(10).expireAfterWrite(Duration.ZERO));
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now = Instant.parse("2025-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneId.of("UTC");
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
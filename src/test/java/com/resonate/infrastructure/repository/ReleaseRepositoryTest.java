@@ -0,0 +1,116 @@
+package com.resonate.infrastructure.repository;
+
+import com.resonate.api.dto.CursorPage;
+import com.resonate.api.dto.PageCursor;
+import com.resonate.api.dto.ReleaseSummary;
+import com.resonate.domain.media.AudioFile;
+import com.resonate.domain.model.ArtistProfile;
+import com.resonate.domain.model.Release;
+import com.resonate.domain.model.Track;
+import com.resonate.util.TestDataSetup;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@QuarkusTest
+public class ReleaseRepositoryTest {
+
+    @Inject
+    ReleaseRepository releaseRepository;
+
+    @Inject
+    TestDataSetup testDataSetup;
+
+    @Inject
+    SessionFactory sessionFactory;
+
+    @BeforeEach
+    public void setUp() {
+        testDataSetup.cleanupTestData();
+        ArtistProfile artist = testDataSetup.createArtistProfile();
+        for (int i = 0; i < 25; i++) {
+            Release release = testDataSetup.createRelease(artist.getUserId(), "Release " + i);
+            Track track = testDataSetup.createTrack(release, "Track A" + i);
+            testDataSetup.createTrack(release, "Track B" + i);
+            AudioFile audioFile = testDataSetup.createAudioFile("repository-test-" + i);
+            testDataSetup.linkTrackToAudioFile(track, audioFile);
+        }
+    }
+
+    @AfterEach
+    public void tearDown() {
+        testDataSetup.cleanupTestData();
+    }
+
+    @Test
+    @Transactional
+    public void testPublicPageStatementCountIsConstant() {
+        long smallPage = countStatements(() -> releaseRepository.findPublicPage(null, 5).getItems());
+        long largePage = countStatements(() -> releaseRepository.findPublicPage(null, 20).getItems());
+
+        assertEquals(2, smallPage);
+        assertEquals(smallPage, largePage);
+    }
+
+    @Test
+    @Transactional
+    public void testPublicPageIncludesTracksAndAudioFileIds() {
+        List<ReleaseSummary> page = releaseRepository.findPublicPage(null, 20).getItems();
+
+        assertEquals(20, page.size());
+        for (ReleaseSummary release : page) {
+            assertEquals(2, release.getTracks().size());
+            assertTrue(release.getTracks().stream().anyMatch(t -> t.getAudioFileId() != null));
+        }
+    }
+
+    @Test
+    @Transactional
+    public void testKeysetPagesDoNotOverlap() {
+        Set<Long> seen = new HashSet<>();
+        PageCursor cursor = null;
+        int pages = 0;
+        do {
+            CursorPage<ReleaseSummary> page = releaseRepository.findPublicPage(cursor, 7);
+            for (ReleaseSummary release : page.getItems()) {
+                assertTrue(seen.add(release.getId()), "release returned twice: " + release.getId());
+            }
+            cursor = PageCursor.decode(page.getNextCursor());
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(releaseRepository.count(), seen.size());
+        assertTrue(pages >= 4);
+    }
+
+    @Test
+    @Transactional
+    public void testKeysetPageStatementCountIsConstantForDeepPages() {
+        CursorPage<ReleaseSummary> first = releaseRepository.findPublicPage(null, 10);
+        PageCursor cursor = PageCursor.decode(first.getNextCursor());
+
+        long deepPage = countStatements(() -> releaseRepository.findPublicPage(cursor, 10).getItems());
+
+        assertEquals(2, deepPage);
+    }
+
+    private long countStatements(Supplier<List<ReleaseSummary>> query) {
+        Statistics statistics = sessionFactory.getStatistics();
+        statistics.clear();
+        List<ReleaseSummary> result = query.get();
+        assertFalse(result.isEmpty());
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,74 @@
+package com.resonate.media;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AudioAnalyzerTest {
+
+    private static final int SAMPLE_RATE = 48000;
+
+    /**
+     * Builds a mono 32-bit float WAV the way ffmpeg writes it to a pipe: placeholder chunk sizes
+     * and a LIST chunk before the data.
+     */
+    private static byte[] wav(float[] samples) {
+        byte[] list = "INFOISFT".getBytes();
+        ByteBuffer buffer = ByteBuffer.allocate(12 + 8 + 18 + 8 + list.length + 8 + samples.length * 4)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        buffer.put("RIFF".getBytes()).putInt(-1).put("WAVE".getBytes());
+        buffer.put("fmt ".getBytes()).putInt(18)
+                .putShort((short) 3).putShort((short) 1).putInt(SAMPLE_RATE).putInt(SAMPLE_RATE * 4)
+                .putShort((short) 4).putShort((short) 32).putShort((short) 0);
+        buffer.put("LIST".getBytes()).putInt(list.length).put(list);
+        buffer.put("data".getBytes()).putInt(-1);
+        for (float sample : samples) {
+            buffer.putFloat(sample);
+        }
+        return buffer.array();
+    }
+
+    @Test
+    public void testAnalysesDurationPeaksAndLoudness() throws IOException {
+        // 4 s: a full-scale 997 Hz tone for the first half, silence for the second
+        float[] samples = new float[SAMPLE_RATE * 4];
+        for (int i = 0; i < SAMPLE_RATE * 2; i++) {
+            samples[i] = (float) Math.sin(2 * Math.PI * 997 * i / SAMPLE_RATE);
+        }
+
+        AudioAnalyzer.Result result = new AudioAnalyzer(100).analyze(new ByteArrayInputStream(wav(samples)));
+
+        assertEquals(4000, result.durationMs());
+        assertEquals(SAMPLE_RATE, result.sampleRate());
+        assertEquals(1, result.channels());
+        assertEquals(100, result.peaks().length);
+        assertEquals(255, Byte.toUnsignedInt(result.peaks()[0]));
+        assertEquals(255, Byte.toUnsignedInt(result.peaks()[49]));
+        assertEquals(0, Byte.toUnsignedInt(result.peaks()[50]));
+        // 17 full-tone blocks plus three partial ones at the edge: -3.01 + 10 log10(18.5 / 20)
+        assertEquals(-3.35, result.integratedLoudness(), 0.05);
+    }
+
+    @Test
+    public void testShortFilesHaveFewerPeaks() throws IOException {
+        float[] samples = new float[SAMPLE_RATE / 20]; // 50 ms = 5 windows of 10 ms
+
+        AudioAnalyzer.Result result = new AudioAnalyzer(1024).analyze(new ByteArrayInputStream(wav(samples)));
+
+        assertEquals(5, result.peaks().length);
+        assertNull(result.integratedLoudness());
+    }
+
+    @Test
+    public void testRejectsIntegerPcm() {
+        byte[] data = wav(new float[16]);
+        data[20] = 1; // audio format: integer PCM
+
+        assertThrows(IOException.class, () -> new AudioAnalyzer(10).analyze(new ByteArrayInputStream(data)));
+    }
+}
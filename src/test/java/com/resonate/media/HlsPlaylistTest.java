@@ -0,0 +1,49 @@
+package com.resonate.media;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HlsPlaylistTest {
+
+    private static final String PLAYLIST = """
+            #EXTM3U
+            #EXT-X-VERSION:3
+            #EXT-X-TARGETDURATION:6
+            #EXT-X-MEDIA-SEQUENCE:0
+            #EXT-X-PLAYLIST-TYPE:VOD
+            #EXTINF:6.000000,
+            segment_00000.ts
+            #EXTINF:6.000000,
+            segment_00001.ts
+            #EXTINF:2.500000,
+            segment_00002.ts
+            #EXT-X-ENDLIST
+            """;
+
+    @Test
+    public void testSegmentUrisAreListedInOrder() {
+        assertEquals(List.of("segment_00000.ts", "segment_00001.ts", "segment_00002.ts"),
+                HlsPlaylist.segmentUris(PLAYLIST));
+    }
+
+    @Test
+    public void testRewriteReplacesOnlySegmentUris() {
+        String rewritten = HlsPlaylist.rewrite(PLAYLIST, uri -> "https://cdn.example/" + uri + "?sig=1");
+
+        assertTrue(rewritten.contains("\nhttps://cdn.example/segment_00001.ts?sig=1\n"));
+        assertTrue(rewritten.contains("#EXTINF:2.500000,\n"));
+        assertTrue(rewritten.endsWith("#EXT-X-ENDLIST\n"));
+        assertEquals(3, HlsPlaylist.segmentUris(rewritten).size());
+    }
+
+    @Test
+    public void testWindowsLineEndingsAreAccepted() {
+        String playlist = PLAYLIST.replace("\n", "\r\n");
+
+        assertEquals(3, HlsPlaylist.segmentUris(playlist).size());
+        assertFalse(HlsPlaylist.rewrite(playlist, uri -> uri).contains("\r"));
+    }
+}
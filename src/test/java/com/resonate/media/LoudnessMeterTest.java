@@ -0,0 +1,82 @@
+package com.resonate.media;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LoudnessMeterTest {
+
+    private static final int SAMPLE_RATE = 48000;
+
+    private static float[] sine(double frequency, double amplitude, double seconds, int channels, boolean[] active) {
+        int frames = (int) (SAMPLE_RATE * seconds);
+        float[] samples = new float[frames * channels];
+        for (int i = 0; i < frames; i++) {
+            float value = (float) (amplitude * Math.sin(2 * Math.PI * frequency * i / SAMPLE_RATE));
+            for (int c = 0; c < channels; c++) {
+                samples[i * channels + c] = active[c] ? value : 0f;
+            }
+        }
+        return samples;
+    }
+
+    private static double measure(float[] samples, int channels, int sampleRate) {
+        LoudnessMeter meter = new LoudnessMeter(sampleRate, channels);
+        meter.process(samples, samples.length / channels);
+        return meter.integratedLoudness();
+    }
+
+    @Test
+    public void testFullScaleSineOnOneChannelReadsMinusThreeLufs() {
+        // BS.1770 reference: a 0 dBFS 997 Hz sine on one channel measures -3.01 LKFS
+        float[] samples = sine(997, 1.0, 10, 2, new boolean[]{true, false});
+
+        assertEquals(-3.01, measure(samples, 2, SAMPLE_RATE), 0.05);
+    }
+
+    @Test
+    public void testSameSineOnBothChannelsIsThreeDecibelsLouder() {
+        float[] samples = sine(997, 1.0, 10, 2, new boolean[]{true, true});
+
+        assertEquals(0.0, measure(samples, 2, SAMPLE_RATE), 0.05);
+    }
+
+    @Test
+    public void testHalvingTheAmplitudeLowersLoudnessBySixDecibels() {
+        float[] samples = sine(997, 0.5, 10, 1, new boolean[]{true});
+
+        assertEquals(-3.01 - 6.02, measure(samples, 1, SAMPLE_RATE), 0.05);
+    }
+
+    @Test
+    public void testCoefficientsAreDerivedForTheSampleRate() {
+        int sampleRate = 44100;
+        int frames = sampleRate * 10;
+        float[] samples = new float[frames];
+        for (int i = 0; i < frames; i++) {
+            samples[i] = (float) Math.sin(2 * Math.PI * 997 * i / sampleRate);
+        }
+
+        assertEquals(-3.01, measure(samples, 1, sampleRate), 0.05);
+    }
+
+    @Test
+    public void testQuietPassagesAreGatedOut() {
+        // 5 s of tone followed by 5 s at -80 dBFS: the quiet part falls under the absolute gate
+        float[] loud = sine(997, 1.0, 5, 1, new boolean[]{true});
+        float[] quiet = sine(997, 1e-4, 5, 1, new boolean[]{true});
+        float[] samples = new float[loud.length + quiet.length];
+        System.arraycopy(loud, 0, samples, 0, loud.length);
+        System.arraycopy(quiet, 0, samples, loud.length, quiet.length);
+
+        // 47 full-tone blocks plus the three overlapping the edge at 3/4, 1/2 and 1/4 power pass the gates:
+        // -3.01 + 10 log10(48.5 / 50) = -3.14, where the ungated mean would be -6.02
+        assertEquals(-3.14, measure(samples, 1, SAMPLE_RATE), 0.05);
+    }
+
+    @Test
+    public void testSilenceAndShortProgrammesHaveNoLoudness() {
+        assertEquals(Double.NEGATIVE_INFINITY, measure(new float[SAMPLE_RATE * 2], 1, SAMPLE_RATE));
+        assertEquals(Double.NEGATIVE_INFINITY, measure(sine(997, 1.0, 0.3, 1, new boolean[]{true}), 1, SAMPLE_RATE));
+    }
+}
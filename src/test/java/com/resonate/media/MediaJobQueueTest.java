@@ -0,0 +1,109 @@
+package com.resonate.media;
+
+import com.resonate.domain.media.AudioFile;
+import com.resonate.domain.media.MediaJob;
+import com.resonate.infrastructure.repository.AudioFileRepository;
+import com.resonate.infrastructure.repository.MediaJobRepository;
+import com.resonate.util.TestDataSetup;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@QuarkusTest
+public class MediaJobQueueTest {
+
+    @Inject
+    MediaJobQueue mediaJobQueue;
+
+    @Inject
+    MediaJobRepository jobRepository;
+
+    @Inject
+    AudioFileRepository audioFileRepository;
+
+    @Inject
+    TestDataSetup testDataSetup;
+
+    @AfterEach
+    public void tearDown() {
+        QuarkusTransaction.requiringNew().run(() -> jobRepository.deleteAll());
+        testDataSetup.cleanupTestData();
+    }
+
+    private Long registerAudioFile(String fileKey) {
+        Long id = testDataSetup.createAudioFile(fileKey).getId();
+        QuarkusTransaction.requiringNew().run(() -> mediaJobQueue.enqueue(audioFileRepository.findById(id)));
+        return id;
+    }
+
+    @Test
+    public void testRegistrationQueuesOneTranscodeJobPerQuality() {
+        Long id = registerAudioFile("queued-file-key");
+
+        List<MediaJob> jobs = QuarkusTransaction.requiringNew().call(() -> jobRepository.list("audioFileId", id));
+        assertEquals(3, jobs.size());
+        assertTrue(jobs.stream().allMatch(job -> job.getType() == MediaJob.Type.TRANSCODE
+                && job.getStatus() == MediaJob.Status.QUEUED));
+        // HLS packaging is disabled in tests
+        AudioFile audioFile = QuarkusTransaction.requiringNew().call(() -> audioFileRepository.findById(id));
+        assertNull(audioFile.getHlsStatus());
+    }
+
+    @Test
+    public void testClaimMarksJobsRunningAndNeverHandsOutAJobTwice() {
+        registerAudioFile("claimed-file-key");
+
+        List<MediaJob> first = QuarkusTransaction.requiringNew().call(() -> jobRepository.claim(2));
+        List<MediaJob> second = QuarkusTransaction.requiringNew().call(() -> jobRepository.claim(10));
+        List<MediaJob> third = QuarkusTransaction.requiringNew().call(() -> jobRepository.claim(10));
+
+        assertEquals(2, first.size());
+        assertEquals(1, second.size());
+        assertTrue(third.isEmpty());
+        assertTrue(first.stream().noneMatch(job -> job.getId().equals(second.get(0).getId())));
+        assertTrue(first.stream().allMatch(job -> job.getStatus() == MediaJob.Status.RUNNING && job.getAttempts() == 1));
+    }
+
+    @Test
+    public void testStaleJobsAreRequeuedUntilTheyRunOutOfAttempts() {
+        registerAudioFile("stale-file-key");
+        List<MediaJob> claimed = QuarkusTransaction.requiringNew().call(() -> jobRepository.claim(2));
+        Long exhausted = claimed.get(0).getId();
+        Long retried = claimed.get(1).getId();
+        OffsetDateTime lockedLongAgo = OffsetDateTime.now().minusHours(1);
+        QuarkusTransaction.requiringNew().run(() -> {
+            jobRepository.update("lockedAt = ?1 where id in ?2", lockedLongAgo, List.of(exhausted, retried));
+            jobRepository.update("attempts = 3 where id = ?1", exhausted);
+        });
+
+        OffsetDateTime lockedBefore = OffsetDateTime.now().minusMinutes(5);
+        List<MediaJob> failed = QuarkusTransaction.requiringNew().call(() -> jobRepository.failStale(lockedBefore, 3));
+        int requeued = QuarkusTransaction.requiringNew().call(() -> jobRepository.requeueStale(lockedBefore, 3));
+
+        assertEquals(List.of(exhausted), failed.stream().map(MediaJob::getId).toList());
+        assertEquals(1, requeued);
+        MediaJob requeuedJob = QuarkusTransaction.requiringNew().call(() -> jobRepository.findById(retried));
+        assertEquals(MediaJob.Status.QUEUED, requeuedJob.getStatus());
+    }
+
+    @Test
+    public void testHeartbeatKeepsRunningJobsFromGoingStale() {
+        registerAudioFile("heartbeat-file-key");
+        Long jobId = QuarkusTransaction.requiringNew().call(() -> jobRepository.claim(1)).get(0).getId();
+        QuarkusTransaction.requiringNew().run(() ->
+                jobRepository.update("lockedAt = ?1 where id = ?2", OffsetDateTime.now().minusHours(1), jobId));
+
+        QuarkusTransaction.requiringNew().run(() -> jobRepository.heartbeat(List.of(jobId)));
+        int requeued = QuarkusTransaction.requiringNew().call(
+                () -> jobRepository.requeueStale(OffsetDateTime.now().minusMinutes(5), 3));
+
+        assertEquals(0, requeued);
+    }
+}
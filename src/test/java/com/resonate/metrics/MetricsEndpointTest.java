@@ -0,0 +1,29 @@
+package com.resonate.metrics;
+
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.Test;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.containsString;
+
+@QuarkusTest
+public class MetricsEndpointTest {
+
+    @Test
+    public void testEndpointTimersAreExposedAsHistograms() {
+        given()
+                .when()
+                .get("/api/releases/public")
+                .then()
+                .statusCode(200);
+
+        given()
+                .when()
+                .get("/q/metrics")
+                .then()
+                .statusCode(200)
+                .body(containsString("http_server_requests_seconds_bucket"))
+                .body(containsString("uri=\"/api/releases/public\""))
+                .body(containsString("hibernate_statements_total"));
+    }
+}
@@ -0,0 +1,68 @@
+package com.resonate.plays;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PlayEventBufferTest {
+
+    private static PlayEvent play(long trackId) {
+        return new PlayEvent(trackId, null, null, Instant.now());
+    }
+
+    @Test
+    public void testRejectsEventsWhenFull() {
+        PlayEventBuffer buffer = new PlayEventBuffer(2);
+
+        assertTrue(buffer.offer(play(1)));
+        assertTrue(buffer.offer(play(2)));
+        assertFalse(buffer.offer(play(3)));
+
+        assertEquals(2, buffer.size());
+        assertEquals(2, buffer.acceptedCount());
+        assertEquals(1, buffer.rejectedCount());
+    }
+
+    @Test
+    public void testDrainsOldestFirstInBatches() {
+        PlayEventBuffer buffer = new PlayEventBuffer(10);
+        for (long trackId = 1; trackId <= 5; trackId++) {
+            buffer.offer(play(trackId));
+        }
+
+        List<PlayEvent> first = buffer.drain(3);
+        List<PlayEvent> second = buffer.drain(3);
+
+        assertEquals(List.of(1L, 2L, 3L), first.stream().map(PlayEvent::trackId).toList());
+        assertEquals(List.of(4L, 5L), second.stream().map(PlayEvent::trackId).toList());
+        assertTrue(buffer.drain(3).isEmpty());
+        assertEquals(10, buffer.capacity());
+    }
+
+    @Test
+    public void testDrainingFreesCapacity() {
+        PlayEventBuffer buffer = new PlayEventBuffer(1);
+        buffer.offer(play(1));
+        buffer.drain(1);
+
+        assertTrue(buffer.offer(play(2)));
+    }
+
+    @Test
+    public void testRequeuesWhatFitsWithoutCountingItAgain() {
+        PlayEventBuffer buffer = new PlayEventBuffer(3);
+        buffer.offer(play(1));
+        buffer.offer(play(2));
+        List<PlayEvent> failed = buffer.drain(2);
+        buffer.offer(play(3));
+        buffer.offer(play(4));
+
+        assertEquals(1, buffer.requeue(failed));
+
+        assertEquals(List.of(3L, 4L, 1L), buffer.drain(3).stream().map(PlayEvent::trackId).toList());
+        assertEquals(4, buffer.acceptedCount());
+    }
+}
@@ -0,0 +1,63 @@
+package com.resonate.plays;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.eclipse.microprofile.context.ManagedExecutor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class PlayEventServiceTest {
+
+    private ManagedExecutor managedExecutor;
+    private PlayEventService service;
+
+    @BeforeEach
+    public void setUp() {
+        managedExecutor = mock(ManagedExecutor.class);
+        service = new PlayEventService();
+        service.capacity = 100;
+        service.batchSize = 2;
+        service.managedExecutor = managedExecutor;
+        service.registry = new SimpleMeterRegistry();
+        service.init();
+    }
+
+    private static PlayEvent play(long trackId) {
+        return new PlayEvent(trackId, null, null, Instant.now());
+    }
+
+    @Test
+    public void testSchedulesOneFlushForAFullBatch() {
+        for (long trackId = 1; trackId <= 10; trackId++) {
+            service.record(play(trackId));
+        }
+
+        verify(managedExecutor, times(1)).execute(any());
+    }
+
+    @Test
+    public void testSchedulesAgainOnceTheFlushHasRun() {
+        service.record(play(1));
+        service.record(play(2));
+        // Emptied first, there is no database to write to here
+        service.getBuffer().drain(2);
+        service.flushIfIdle();
+        service.record(play(3));
+        service.record(play(4));
+
+        verify(managedExecutor, times(2)).execute(any());
+    }
+
+    @Test
+    public void testOnlyTransientFailuresAreRetried() {
+        assertTrue(PlayEventService.isTransient(new RuntimeException(new SQLException("gone", "08006"))));
+        assertTrue(PlayEventService.isTransient(new SQLException("deadlock", "40P01")));
+        assertFalse(PlayEventService.isTransient(new SQLException("bad value", "22P02")));
+        assertFalse(PlayEventService.isTransient(new IllegalStateException("no state")));
+    }
+}
@@ -0,0 +1,108 @@
+package com.resonate.storage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AudioChunkCacheTest {
+
+    private static final int CHUNK_SIZE = 100;
+
+    @TempDir
+    Path directory;
+
+    private byte[] object;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    public void setUp() {
+        object = new byte[450];
+        for (int i = 0; i < object.length; i++) {
+            object[i] = (byte) i;
+        }
+        loads = new AtomicInteger();
+    }
+
+    private AudioChunkCache cache(long maxBytes) throws IOException {
+        return new AudioChunkCache(directory, CHUNK_SIZE, maxBytes, (key, start, end) -> {
+            loads.incrementAndGet();
+            return Arrays.copyOfRange(object, (int) start, (int) end + 1);
+        });
+    }
+
+    private byte[] read(AudioChunkCache cache, long start, long end) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        cache.transferTo("track.flac", start, end, object.length, Channels.newChannel(out));
+        return out.toByteArray();
+    }
+
+    @Test
+    public void testRangeSpanningChunksIsServedCorrectly() throws IOException {
+        AudioChunkCache cache = cache(10_000);
+
+        assertArrayEquals(Arrays.copyOfRange(object, 50, 251), read(cache, 50, 250));
+        assertEquals(3, loads.get());
+        assertEquals(3, cache.chunkCount());
+    }
+
+    @Test
+    public void testLastChunkIsShort() throws IOException {
+        AudioChunkCache cache = cache(10_000);
+
+        assertArrayEquals(Arrays.copyOfRange(object, 420, 450), read(cache, 420, 449));
+        assertEquals(50, cache.cachedBytes());
+    }
+
+    @Test
+    public void testCachedChunksAreNotLoadedAgain() throws IOException {
+        AudioChunkCache cache = cache(10_000);
+
+        read(cache, 0, 449);
+        read(cache, 120, 130);
+        read(cache, 0, 449);
+
+        assertEquals(5, loads.get());
+        assertEquals(5, cache.missCount());
+        assertTrue(cache.hitCount() >= 6);
+    }
+
+    @Test
+    public void testLeastRecentlyUsedChunkIsEvicted() throws IOException {
+        AudioChunkCache cache = cache(2 * CHUNK_SIZE);
+
+        read(cache, 0, 0);     // chunk 0
+        read(cache, 100, 100); // chunk 1
+        read(cache, 0, 0);     // chunk 0 becomes most recent
+        read(cache, 200, 200); // chunk 2 evicts chunk 1
+
+        assertEquals(2, cache.chunkCount());
+        assertEquals(1, cache.evictionCount());
+        assertEquals(3, loads.get());
+
+        read(cache, 0, 0);
+        assertEquals(3, loads.get());
+        read(cache, 100, 100);
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    public void testLeftoverChunksAreRemovedOnStartup() throws IOException {
+        Files.write(directory.resolve("stale-0.chunk"), new byte[10]);
+
+        cache(10_000);
+
+        try (var files = Files.list(directory)) {
+            assertEquals(0, files.count());
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.resonate.storage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class AudioStreamingServiceTest {
+
+    private BackblazeStorageService storageService;
+    private AudioStreamingService streamingService;
+
+    @BeforeEach
+    public void setUp() {
+        storageService = mock(BackblazeStorageService.class);
+        when(storageService.getObjectLength(anyString())).thenReturn(1000L);
+        streamingService = new AudioStreamingService();
+        streamingService.storageService = storageService;
+    }
+
+    @Test
+    public void testObjectLengthIsAskedOnce() {
+        assertEquals(1000L, streamingService.objectLength("audio/a.flac"));
+        assertEquals(1000L, streamingService.objectLength("audio/a.flac"));
+
+        verify(storageService, times(1)).getObjectLength("audio/a.flac");
+    }
+
+    @Test
+    public void testForgetDropsLengthsOfFileAndDerivedObjects() {
+        streamingService.objectLength("audio/a.flac");
+        streamingService.objectLength("audio/a.flac.renditions/high.m4a");
+        streamingService.objectLength("audio/b.flac");
+
+        streamingService.forget("audio/a.flac");
+        streamingService.objectLength("audio/a.flac");
+        streamingService.objectLength("audio/a.flac.renditions/high.m4a");
+        streamingService.objectLength("audio/b.flac");
+
+        verify(storageService, times(2)).getObjectLength("audio/a.flac");
+        verify(storageService, times(2)).getObjectLength("audio/a.flac.renditions/high.m4a");
+        verify(storageService, times(1)).getObjectLength("audio/b.flac");
+    }
+}
@@ -0,0 +1,47 @@
+package com.resonate.storage;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ByteRangeTest {
+
+    @Test
+    public void testClosedRange() {
+        ByteRange range = ByteRange.parse("bytes=0-99", 1000);
+        assertEquals(new ByteRange(0, 99), range);
+        assertEquals(100, range.length());
+        assertEquals("bytes 0-99/1000", range.contentRange(1000));
+    }
+
+    @Test
+    public void testOpenEndedRange() {
+        assertEquals(new ByteRange(500, 999), ByteRange.parse("bytes=500-", 1000));
+    }
+
+    @Test
+    public void testSuffixRange() {
+        assertEquals(new ByteRange(900, 999), ByteRange.parse("bytes=-100", 1000));
+        assertEquals(new ByteRange(0, 999), ByteRange.parse("bytes=-5000", 1000));
+    }
+
+    @Test
+    public void testEndIsClampedToLength() {
+        assertEquals(new ByteRange(990, 999), ByteRange.parse("bytes=990-2000", 1000));
+    }
+
+    @Test
+    public void testMissingOrUnsupportedHeaderServesWholeResource() {
+        assertNull(ByteRange.parse(null, 1000));
+        assertNull(ByteRange.parse("items=0-10", 1000));
+        assertNull(ByteRange.parse("bytes=0-10,20-30", 1000));
+        assertNull(ByteRange.parse("bytes=abc-10", 1000));
+        assertNull(ByteRange.parse("bytes=50-10", 1000));
+    }
+
+    @Test
+    public void testRangeOutsideResourceIsUnsatisfiable() {
+        assertThrows(IllegalArgumentException.class, () -> ByteRange.parse("bytes=1000-", 1000));
+        assertThrows(IllegalArgumentException.class, () -> ByteRange.parse("bytes=-0", 1000));
+    }
+}
@@ -0,0 +1,104 @@
+package com.resonate.storage;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PresignedUrlCacheTest {
+
+    @Test
+    public void testReturnsCachedUrlWithinTtl() {
+        MutableClock clock = new MutableClock();
+        PresignedUrlCache cache = new PresignedUrlCache(10, Duration.ofMinutes(45), clock);
+        AtomicInteger signatures = new AtomicInteger();
+
+        String first = cache.get("track.mp3", key -> key + "?sig=" + signatures.incrementAndGet());
+        clock.advance(Duration.ofMinutes(44));
+        String second = cache.get("track.mp3", key -> key + "?sig=" + signatures.incrementAndGet());
+
+        assertEquals(first, second);
+        assertEquals(1, signatures.get());
+        assertEquals(1, cache.hitCount());
+        assertEquals(1, cache.missCount());
+    }
+
+    @Test
+    public void testResignsOnceTtlHasElapsed() {
+        MutableClock clock = new MutableClock();
+        PresignedUrlCache cache = new PresignedUrlCache(10, Duration.ofMinutes(45), clock);
+        AtomicInteger signatures = new AtomicInteger();
+
+        String first = cache.get("track.mp3", key -> key + "?sig=" + signatures.incrementAndGet());
+        clock.advance(Duration.ofMinutes(45));
+        String second = cache.get("track.mp3", key -> key + "?sig=" + signatures.incrementAndGet());
+
+        assertNotEquals(first, second);
+        assertEquals(2, cache.missCount());
+        assertEquals(0, cache.hitCount());
+    }
+
+    @Test
+    public void testEvictsLeastRecentlyUsedEntry() {
+        PresignedUrlCache cache = new PresignedUrlCache(2, Duration.ofMinutes(45), new MutableClock());
+
+        cache.get("a", key -> key);
+        cache.get("b", key -> key);
+        cache.get("a", key -> key);
+        cache.get("c", key -> key);
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.evictionCount());
+
+        AtomicInteger signatures = new AtomicInteger();
+        cache.get("a", key -> key + signatures.incrementAndGet());
+        cache.get("b", key -> key + signatures.incrementAndGet());
+        assertEquals(1, signatures.get(), "only the evicted key should be re-signed");
+    }
+
+    @Test
+    public void testInvalidateForcesResign() {
+        PresignedUrlCache cache = new PresignedUrlCache(10, Duration.ofMinutes(45), new MutableClock());
+        AtomicInteger signatures = new AtomicInteger();
+
+        cache.get("track.mp3", key -> key + signatures.incrementAndGet());
+        cache.invalidate("track.mp3");
+        cache.get("track.mp3", key -> key + signatures.incrementAndGet());
+
+        assertEquals(2, signatures.get());
+    }
+
+    @Test
+    public void testRejectsInvalidConfiguration() {
+        assertThrows(IllegalArgumentException.class, () -> new PresignedUrlCache(0, Duration.ofMinutes(1)));
+        assertThrows(IllegalArgumentException.class, () -> new PresignedUrlCache(10, Duration.ZERO));
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now = Instant.parse("2025-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneId.of("UTC");
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -3,13 +3,54 @@ package com.resonate.util;
 import com.resonate.storage.BackblazeStorageService;
 import io.quarkus.test.Mock;
 import jakarta.enterprise.context.ApplicationScoped;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Mock
 @ApplicationScoped
 public class MockBackblazeStorageService extends BackblazeStorageService {
 
+    private final Map<String, byte[]> contents = new ConcurrentHashMap<>();
+
+    /**
+     * Stores content under a key as if it had been uploaded. Keys without content hold their own name.
+     */
+    public void putContent(String fileKey, byte[] content) {
+        contents.put(fileKey, content);
+    }
+
+    /**
+     * @return the checksum a client would send for this content
+     */
+    public static String checksumOf(byte[] content) {
+        return "sha256:" + sha256Hex(content);
+    }
+
+    /**
+     * @return the checksum of the content stored under a key nothing was put under
+     */
+    public static String checksumOf(String fileKey) {
+        return checksumOf(fileKey.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String sha256Hex(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public String sha256(String fileKey) {
+        return sha256Hex(contents.getOrDefault(fileKey, fileKey.getBytes(StandardCharsets.UTF_8)));
+    }
+
     @Override
     public Map<String, String> generateUploadUrl(String fileName, String contentType) {
         Map<String, String> mockResult = new HashMap<>();
@@ -23,4 +64,37 @@ public class MockBackblazeStorageService extends BackblazeStorageService {
     public String generateDownloadUrl(String fileKey) {
         return "https://test-bucket.backblaze.com/file/" + fileKey;
     }
+
+    @Override
+    public Map<String, String> createMultipartUpload(String fileName, String contentType) {
+        Map<String, String> mockResult = new HashMap<>();
+        mockResult.put("fileKey", "mock-key-" + fileName);
+        mockResult.put("uploadId", "mock-upload-" + fileName);
+        return mockResult;
+    }
+
+    @Override
+    public String presignUploadPart(String fileKey, String uploadId, int partNumber) {
+        return "https://test-bucket.backblaze.com/file/" + fileKey + "?uploadId=" + uploadId + "&partNumber=" + partNumber;
+    }
+
+    @Override
+    public void completeMultipartUpload(String fileKey, String uploadId, Map<Integer, String> partETags) {
+        // Nothing to assemble in tests
+    }
+
+    @Override
+    public void abortMultipartUpload(String fileKey, String uploadId) {
+        // Nothing to discard in tests
+    }
+
+    @Override
+    public void deleteFile(String fileKey) {
+        contents.remove(fileKey);
+    }
+
+    @Override
+    public int deleteFilesWithPrefix(String prefix) {
+        return 0;
+    }
 }